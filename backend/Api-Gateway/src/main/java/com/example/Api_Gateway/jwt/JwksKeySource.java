@@ -0,0 +1,147 @@
+package com.example.Api_Gateway.jwt;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.discovery.ReactiveDiscoveryClient;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigInteger;
+import java.net.URI;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Locally cached copy of Usermicroservice's JWK set. Keys are looked up in memory;
+ * the set is only re-fetched when a token carries an unknown kid (i.e. after a rotation).
+ * A refresh asks every registered instance and merges their sets, so a key one instance has
+ * just rotated in is found even before its peers have picked it up.
+ */
+@Component
+public class JwksKeySource {
+
+    private static final Logger log = LoggerFactory.getLogger(JwksKeySource.class);
+
+    private final WebClient directClient;
+    private final WebClient loadBalancedClient;
+    private final ReactiveDiscoveryClient discovery;
+    private final String jwksUri;
+    private final String jwksPath;
+    private final String serviceId;
+    private final long minRefreshIntervalMillis;
+    private final AtomicReference<Mono<Void>> inFlight = new AtomicReference<>();
+    private volatile Map<String, PublicKey> keys = Map.of();
+    private volatile long lastRefreshMillis;
+
+    @Autowired
+    public JwksKeySource(
+            WebClient.Builder webClientBuilder,
+            ReactiveDiscoveryClient discovery,
+            @Value("${auth.jwt.jwks-uri:http://usermicroservice/.well-known/jwks.json}") String jwksUri,
+            @Value("${auth.jwt.jwks-path:/.well-known/jwks.json}") String jwksPath,
+            @Value("${auth.jwt.jwks-service-id:usermicroservice}") String serviceId,
+            @Value("${auth.jwt.jwks-min-refresh-interval:PT30S}") Duration minRefreshInterval) {
+        // Instance URIs are already resolved, so they must not go through the load balancer
+        this(WebClient.create(), webClientBuilder.build(), discovery, jwksUri, jwksPath, serviceId, minRefreshInterval);
+    }
+
+    JwksKeySource(
+            WebClient directClient,
+            WebClient loadBalancedClient,
+            ReactiveDiscoveryClient discovery,
+            String jwksUri,
+            String jwksPath,
+            String serviceId,
+            Duration minRefreshInterval) {
+        this.directClient = directClient;
+        this.loadBalancedClient = loadBalancedClient;
+        this.discovery = discovery;
+        this.jwksUri = jwksUri;
+        this.jwksPath = jwksPath;
+        this.serviceId = serviceId;
+        this.minRefreshIntervalMillis = minRefreshInterval.toMillis();
+    }
+
+    /** Public key for a kid, or null if not (yet) known. */
+    public PublicKey get(String kid) {
+        return kid == null ? null : keys.get(kid);
+    }
+
+    /**
+     * Completes once the key set has been refreshed if the kid is unknown.
+     * Refreshes are shared between concurrent callers and rate limited, so a flood of
+     * forged kids cannot turn into a flood of JWKS requests.
+     */
+    public Mono<Void> ensureKey(String kid) {
+        if (kid == null || keys.containsKey(kid)) {
+            return Mono.empty();
+        }
+        if (System.currentTimeMillis() - lastRefreshMillis < minRefreshIntervalMillis) {
+            return Mono.empty();
+        }
+        Mono<Void> running = inFlight.get();
+        if (running != null) {
+            return running;
+        }
+        Mono<Void> fetch = discovery.getInstances(serviceId)
+                .map(instance -> instance.getUri().resolve(jwksPath))
+                .collectList()
+                .onErrorReturn(List.of())
+                .flatMap(uris -> uris.isEmpty()
+                        ? fetchMerged(loadBalancedClient, List.of(URI.create(jwksUri)))
+                        : fetchMerged(directClient, uris))
+                .doOnNext(merged -> keys = Map.copyOf(merged))
+                .then()
+                .doFinally(signal -> {
+                    lastRefreshMillis = System.currentTimeMillis();
+                    inFlight.set(null);
+                })
+                .cache();
+        return inFlight.compareAndSet(null, fetch) ? fetch : ensureKey(kid);
+    }
+
+    /** Union of the key sets served at the uris; empty if none answered, so the old keys stay. */
+    private Mono<Map<String, PublicKey>> fetchMerged(WebClient client, List<URI> uris) {
+        return Flux.fromIterable(uris)
+                .flatMap(uri -> client.get()
+                        .uri(uri)
+                        .retrieve()
+                        .bodyToMono(JsonNode.class)
+                        .map(JwksKeySource::parseKeys)
+                        .doOnError(ex -> log.warn("JWKS refresh from {} failed: {}", uri, ex.getMessage()))
+                        .onErrorResume(ex -> Mono.empty()))
+                .reduce((merged, more) -> {
+                    merged.putAll(more);
+                    return merged;
+                });
+    }
+
+    private static Map<String, PublicKey> parseKeys(JsonNode jwks) {
+        Map<String, PublicKey> fresh = new HashMap<>();
+        for (JsonNode jwk : jwks.path("keys")) {
+            if (!"RSA".equals(jwk.path("kty").asText()) || !jwk.hasNonNull("kid")) {
+                continue;
+            }
+            try {
+                BigInteger n = new BigInteger(1, Base64.getUrlDecoder().decode(jwk.path("n").asText()));
+                BigInteger e = new BigInteger(1, Base64.getUrlDecoder().decode(jwk.path("e").asText()));
+                fresh.put(jwk.get("kid").asText(), KeyFactory.getInstance("RSA").generatePublic(new RSAPublicKeySpec(n, e)));
+            } catch (Exception ex) {
+                log.warn("Skipping malformed JWK {}: {}", jwk.path("kid").asText(), ex.getMessage());
+            }
+        }
+        return fresh;
+    }
+}
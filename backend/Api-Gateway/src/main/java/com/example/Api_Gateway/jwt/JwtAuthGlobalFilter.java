@@ -0,0 +1,111 @@
+package com.example.Api_Gateway.jwt;
+
+import io.jsonwebtoken.JwtException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+/**
+ * Verifies bearer tokens at the edge and forwards the caller identity as trusted headers,
+ * so downstream services never need to call /api/auth/validate or check signatures themselves.
+ */
+@Component
+public class JwtAuthGlobalFilter implements GlobalFilter, Ordered {
+
+    public static final String SUBJECT_HEADER = "X-Auth-Subject";
+    public static final String ROLE_HEADER = "X-Auth-Role";
+
+    private final JwtVerifier verifier;
+    private final VerifiedTokenCache cache;
+    private final String[] publicPaths;
+    private final AntPathMatcher matcher = new AntPathMatcher();
+
+    public JwtAuthGlobalFilter(
+            JwtVerifier verifier,
+            VerifiedTokenCache cache,
+            @Value("${auth.jwt.public-paths:/usermicroservice/api/auth/**}") String[] publicPaths) {
+        this.verifier = verifier;
+        this.cache = cache;
+        this.publicPaths = publicPaths;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        String header = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        String path = exchange.getRequest().getPath().value();
+
+        // Public endpoints (login/register) and anonymous calls pass through without identity
+        if (isPublic(path) || !StringUtils.hasText(header) || !header.startsWith("Bearer ")) {
+            return chain.filter(withIdentity(exchange, null));
+        }
+
+        String token = header.substring(7);
+        VerifiedToken cached = cache.get(token);
+        if (cached != null) {
+            return chain.filter(withIdentity(exchange, cached));
+        }
+
+        return verifier.verifyAsync(token)
+                .map(verified -> {
+                    cache.put(token, verified);
+                    return Optional.of(verified);
+                })
+                .onErrorResume(ex -> ex instanceof JwtException || ex instanceof IllegalArgumentException,
+                        ex -> Mono.just(Optional.empty()))
+                .flatMap(verified -> verified.isPresent()
+                        ? chain.filter(withIdentity(exchange, verified.get()))
+                        : unauthorized(exchange.getResponse()));
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 10;
+    }
+
+    private boolean isPublic(String path) {
+        for (String pattern : publicPaths) {
+            if (matcher.match(pattern.trim(), path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Always drop client-supplied identity headers; only the gateway may set them. */
+    private static ServerWebExchange withIdentity(ServerWebExchange exchange, VerifiedToken verified) {
+        return exchange.mutate()
+                .request(r -> r.headers(h -> {
+                    h.remove(SUBJECT_HEADER);
+                    h.remove(ROLE_HEADER);
+                    if (verified != null) {
+                        if (verified.getSubject() != null) h.set(SUBJECT_HEADER, verified.getSubject());
+                        if (verified.getRole() != null) h.set(ROLE_HEADER, verified.getRole());
+                    }
+                }))
+                .build();
+    }
+
+    private static Mono<Void> unauthorized(ServerHttpResponse response) {
+        response.setStatusCode(HttpStatus.UNAUTHORIZED);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        byte[] body = """
+            {"status":401,"error":"Unauthorized","message":"Invalid token"}
+        """.getBytes(StandardCharsets.UTF_8);
+        DataBuffer buffer = response.bufferFactory().wrap(body);
+        return response.writeWith(Mono.just(buffer));
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.Api_Gateway.jwt;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.*;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Mono;
+
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * Verifies tokens issued by Usermicroservice without calling it.
+ * RS256 tokens are checked against the locally cached JWK set (or a configured public key),
+ * legacy HS256 tokens against the shared secret.
+ */
+@Component
+public class JwtVerifier {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final JwksKeySource jwks;
+    private final JwtParser parser;
+
+    public JwtVerifier(
+            JwksKeySource jwks,
+            @Value("${auth.jwt.secret}") String secret,
+            @Value("${auth.jwt.public-key:}") String publicKeyPem) {
+        this.jwks = jwks;
+        Key hmacKey = Keys.hmacShaKeyFor(secret.getBytes());
+        PublicKey rsaKey = StringUtils.hasText(publicKeyPem) ? readRsaPublicKey(publicKeyPem) : null;
+
+        // Built once: the parser is immutable and thread-safe
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        String alg = header.getAlgorithm();
+                        if (SignatureAlgorithm.HS256.getValue().equals(alg)) {
+                            return hmacKey;
+                        }
+                        if (SignatureAlgorithm.RS256.getValue().equals(alg)) {
+                            Key key = jwks.get(header.getKeyId());
+                            if (key == null) key = rsaKey;
+                            if (key != null) return key;
+                        }
+                        throw new UnsupportedJwtException("No verification key for alg " + alg + ", kid " + header.getKeyId());
+                    }
+                })
+                .build();
+    }
+
+    /** Like {@link #verify(String)}, but first refreshes the JWK set if the token's kid is new. */
+    public Mono<VerifiedToken> verifyAsync(String token) {
+        return jwks.ensureKey(peekKeyId(token))
+                .then(Mono.fromCallable(() -> verify(token)));
+    }
+
+    /** Validate signature/expiry and extract the identity. Throws on invalid. */
+    public VerifiedToken verify(String token) throws JwtException {
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        Date exp = claims.getExpiration();
+        if (exp == null) {
+            throw new MalformedJwtException("Token has no expiry");
+        }
+        return new VerifiedToken(claims.getSubject(), claims.get("role", String.class), exp.getTime());
+    }
+
+    /** Reads the unverified "kid" header; null if absent or the token is malformed. */
+    private static String peekKeyId(String token) {
+        int dot = token.indexOf('.');
+        if (dot <= 0) return null;
+        try {
+            byte[] header = Base64.getUrlDecoder().decode(token.substring(0, dot));
+            return JSON.readTree(header).path("kid").textValue();
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static PublicKey readRsaPublicKey(String pem) {
+        String base64 = pem
+                .replace("-----BEGIN PUBLIC KEY-----", "")
+                .replace("-----END PUBLIC KEY-----", "")
+                .replaceAll("\\s", "");
+        try {
+            return KeyFactory.getInstance("RSA")
+                    .generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(base64)));
+        } catch (Exception e) {
+            throw new IllegalStateException("Invalid auth.jwt.public-key", e);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.Api_Gateway.jwt;
+
+/** Identity extracted from a token whose signature and expiry have been checked. */
+public class VerifiedToken {
+
+    private final String subject;
+    private final String role;
+    private final long expiresAtMillis;
+
+    public VerifiedToken(String subject, String role, long expiresAtMillis) {
+        this.subject = subject;
+        this.role = role;
+        this.expiresAtMillis = expiresAtMillis;
+    }
+
+    public boolean isExpired(long nowMillis) {
+        return nowMillis >= expiresAtMillis;
+    }
+
+    // getters
+    public String getSubject() { return subject; }
+    public String getRole() { return role; }
+    public long getExpiresAtMillis() { return expiresAtMillis; }
+}
@@ -0,0 +1,84 @@
+package com.example.Api_Gateway.jwt;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded cache of already verified tokens, keyed by the SHA-256 of the raw token
+ * so the cache never holds bearer credentials. Entries live until the token's own expiry.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final ConcurrentHashMap<String, VerifiedToken> entries = new ConcurrentHashMap<>();
+    private final int maxSize;
+
+    public VerifiedTokenCache(@Value("${auth.jwt.cache.max-size:10000}") int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /** Returns the cached identity for a token, or null when absent or expired. */
+    public VerifiedToken get(String token) {
+        String key = keyFor(token);
+        VerifiedToken cached = entries.get(key);
+        if (cached == null) {
+            return null;
+        }
+        if (cached.isExpired(System.currentTimeMillis())) {
+            entries.remove(key, cached);
+            return null;
+        }
+        return cached;
+    }
+
+    public void put(String token, VerifiedToken verified) {
+        if (entries.size() >= maxSize) {
+            evict();
+        }
+        entries.put(keyFor(token), verified);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Runs when the cache is full. Expired tokens go first; if that is not enough, the tokens
+     * closest to their own expiry are dropped, as they have the least cache lifetime left.
+     * Frees a tenth of the capacity so the next puts do not land straight back here.
+     */
+    private synchronized void evict() {
+        if (entries.size() < maxSize) {
+            return; // another thread already made room
+        }
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(t -> t.isExpired(now));
+
+        int overflow = entries.size() - (maxSize - Math.max(1, maxSize / 10));
+        if (overflow > 0) {
+            entries.entrySet().stream()
+                    .sorted(Map.Entry.comparingByValue(Comparator.comparingLong(VerifiedToken::getExpiresAtMillis)))
+                    .limit(overflow)
+                    .map(Map.Entry::getKey)
+                    .toList()
+                    .forEach(entries::remove);
+        }
+    }
+
+    private static String keyFor(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.Api_Gateway.jwt;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.ReactiveDiscoveryClient;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class JwksKeySourceTest {
+
+    @Test
+    void tokenSignedByTheSecondInstancesKeyVerifies() throws Exception {
+        KeyPair a = rsaKeyPair();
+        KeyPair b = rsaKeyPair();
+        // user-a has not picked up the key user-b just rotated in
+        WebClient instances = stub(Map.of("user-a", jwks("a", a), "user-b", jwks("a", a) + "," + jwks("b", b)));
+        JwksKeySource source = new JwksKeySource(instances, failing(), discovery("user-a", "user-b"),
+                "http://usermicroservice/.well-known/jwks.json", "/.well-known/jwks.json", "usermicroservice",
+                Duration.ofSeconds(30));
+        JwtVerifier verifier = new JwtVerifier(source, JwtVerifierTest.SECRET, "");
+
+        String token = Jwts.builder().setHeaderParam("kid", "b").setSubject("b@example.com").claim("role", "USER")
+                .setExpiration(Date.from(Instant.now().plusSeconds(300)))
+                .signWith(b.getPrivate(), SignatureAlgorithm.RS256).compact();
+
+        assertEquals("b@example.com", verifier.verifyAsync(token).block().getSubject());
+        assertNotNull(source.get("a"));
+    }
+
+    @Test
+    void anUnreachableInstanceDoesNotDropTheOthersKeys() throws Exception {
+        KeyPair a = rsaKeyPair();
+        WebClient instances = stub(Map.of("user-a", jwks("a", a)));
+        JwksKeySource source = new JwksKeySource(instances, failing(), discovery("user-a", "user-down"),
+                "http://usermicroservice/.well-known/jwks.json", "/.well-known/jwks.json", "usermicroservice",
+                Duration.ZERO);
+
+        source.ensureKey("a").block();
+
+        assertNotNull(source.get("a"));
+        assertNull(source.get("b"));
+    }
+
+    @Test
+    void fallsBackToTheLoadBalancedUriWithoutRegisteredInstances() throws Exception {
+        KeyPair a = rsaKeyPair();
+        JwksKeySource source = new JwksKeySource(failing(), stub(Map.of("usermicroservice", jwks("a", a))),
+                discovery(), "http://usermicroservice/.well-known/jwks.json", "/.well-known/jwks.json",
+                "usermicroservice", Duration.ZERO);
+
+        source.ensureKey("a").block();
+
+        assertNotNull(source.get("a"));
+    }
+
+    /** Key source for tests that only use HS256 or a static key: any JWKS fetch fails. */
+    static JwksKeySource unreachable() {
+        return new JwksKeySource(failing(), failing(), discovery(),
+                "http://usermicroservice/.well-known/jwks.json", "/.well-known/jwks.json", "usermicroservice",
+                Duration.ofSeconds(30));
+    }
+
+    /** Answers with {"keys":[...]} for the hosts given, 503 for any other. */
+    private static WebClient stub(Map<String, String> keysByHost) {
+        return WebClient.builder()
+                .exchangeFunction(request -> {
+                    String keys = keysByHost.get(request.url().getHost());
+                    if (keys == null) {
+                        return Mono.just(ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build());
+                    }
+                    return Mono.just(ClientResponse.create(HttpStatus.OK)
+                            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                            .body("{\"keys\":[" + keys + "]}")
+                            .build());
+                })
+                .build();
+    }
+
+    private static WebClient failing() {
+        return stub(Map.of());
+    }
+
+    private static ReactiveDiscoveryClient discovery(String... hosts) {
+        return new ReactiveDiscoveryClient() {
+            @Override
+            public String description() {
+                return "stub";
+            }
+
+            @Override
+            public Flux<ServiceInstance> getInstances(String serviceId) {
+                return Flux.fromArray(hosts)
+                        .map(host -> new DefaultServiceInstance(host, serviceId, host, 8085, false));
+            }
+
+            @Override
+            public Flux<String> getServices() {
+                return Flux.fromIterable(List.of("usermicroservice"));
+            }
+        };
+    }
+
+    private static String jwks(String kid, KeyPair pair) {
+        RSAPublicKey key = (RSAPublicKey) pair.getPublic();
+        return "{\"kty\":\"RSA\",\"kid\":\"" + kid + "\",\"n\":\"" + base64Url(key.getModulus())
+                + "\",\"e\":\"" + base64Url(key.getPublicExponent()) + "\"}";
+    }
+
+    private static String base64Url(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static KeyPair rsaKeyPair() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        return generator.generateKeyPair();
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.Api_Gateway.jwt;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class JwtAuthGlobalFilterTest {
+
+    private final JwksKeySource jwks = JwksKeySourceTest.unreachable();
+    private final VerifiedTokenCache cache = new VerifiedTokenCache(100);
+    private final JwtAuthGlobalFilter filter = new JwtAuthGlobalFilter(
+            new JwtVerifier(jwks, JwtVerifierTest.SECRET, ""), cache, new String[] { "/usermicroservice/api/auth/**" });
+
+    @Test
+    void validTokenIsForwardedAsIdentityHeadersAndCached() {
+        String token = JwtVerifierTest.hs256("a@example.com", "ADMIN", Duration.ofMinutes(5));
+
+        ServerHttpRequest forwarded = run(MockServerHttpRequest.get("/tenantsmicroservice/tenants")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+
+        assertEquals("a@example.com", forwarded.getHeaders().getFirst(JwtAuthGlobalFilter.SUBJECT_HEADER));
+        assertEquals("ADMIN", forwarded.getHeaders().getFirst(JwtAuthGlobalFilter.ROLE_HEADER));
+        assertNotNull(cache.get(token));
+    }
+
+    @Test
+    void cachedTokenIsUsedWithoutVerifyingAgain() {
+        // Not a parseable JWT: only a cache hit can let it through
+        cache.put("opaque", new VerifiedToken("c@example.com", "USER", System.currentTimeMillis() + 60_000));
+
+        ServerHttpRequest forwarded = run(MockServerHttpRequest.get("/roomsmicroservice/rooms")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer opaque"));
+
+        assertEquals("c@example.com", forwarded.getHeaders().getFirst(JwtAuthGlobalFilter.SUBJECT_HEADER));
+    }
+
+    @Test
+    void invalidTokenIsRejectedWith401() {
+        String expired = JwtVerifierTest.hs256("a@example.com", "USER", Duration.ofMinutes(-1));
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/tenantsmicroservice/tenants")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + expired));
+        AtomicReference<ServerWebExchange> passed = new AtomicReference<>();
+
+        filter.filter(exchange, capture(passed)).block();
+
+        assertNull(passed.get());
+        assertEquals(HttpStatus.UNAUTHORIZED, exchange.getResponse().getStatusCode());
+    }
+
+    @Test
+    void clientSuppliedIdentityHeadersAreAlwaysStripped() {
+        ServerHttpRequest anonymous = run(MockServerHttpRequest.get("/tenantsmicroservice/tenants")
+                .header(JwtAuthGlobalFilter.SUBJECT_HEADER, "admin@example.com")
+                .header(JwtAuthGlobalFilter.ROLE_HEADER, "ADMIN"));
+        assertNull(anonymous.getHeaders().getFirst(JwtAuthGlobalFilter.SUBJECT_HEADER));
+        assertNull(anonymous.getHeaders().getFirst(JwtAuthGlobalFilter.ROLE_HEADER));
+
+        // Public paths pass even with a bad token, but never with a forged identity
+        ServerHttpRequest login = run(MockServerHttpRequest.post("/usermicroservice/api/auth/login")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer not-a-jwt")
+                .header(JwtAuthGlobalFilter.SUBJECT_HEADER, "admin@example.com"));
+        assertNull(login.getHeaders().getFirst(JwtAuthGlobalFilter.SUBJECT_HEADER));
+    }
+
+    private ServerHttpRequest run(MockServerHttpRequest.BaseBuilder<?> request) {
+        AtomicReference<ServerWebExchange> passed = new AtomicReference<>();
+        filter.filter(MockServerWebExchange.from(request), capture(passed)).block();
+        assertNotNull(passed.get(), "request was not forwarded");
+        return passed.get().getRequest();
+    }
+
+    private static GatewayFilterChain capture(AtomicReference<ServerWebExchange> passed) {
+        return exchange -> {
+            passed.set(exchange);
+            return Mono.empty();
+        };
+    }
+}
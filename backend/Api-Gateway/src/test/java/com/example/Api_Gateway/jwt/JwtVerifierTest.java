@@ -0,0 +1,83 @@
+package com.example.Api_Gateway.jwt;
+
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JwtVerifierTest {
+
+    static final String SECRET = "test-secret-that-is-long-enough-for-hmac-sha-256-signatures";
+
+    private final JwksKeySource jwks = JwksKeySourceTest.unreachable();
+
+    @Test
+    void acceptsLegacyHs256TokensSignedWithTheSharedSecret() {
+        JwtVerifier verifier = new JwtVerifier(jwks, SECRET, "");
+
+        VerifiedToken verified = verifier.verifyAsync(hs256("a@example.com", "ADMIN", Duration.ofMinutes(5))).block();
+
+        assertEquals("a@example.com", verified.getSubject());
+        assertEquals("ADMIN", verified.getRole());
+    }
+
+    @Test
+    void rejectsExpiredTamperedAndExpiryLessTokens() {
+        JwtVerifier verifier = new JwtVerifier(jwks, SECRET, "");
+
+        String expired = hs256("a@example.com", "USER", Duration.ofMinutes(-1));
+        assertThrows(JwtException.class, () -> verifier.verify(expired));
+
+        String token = hs256("a@example.com", "USER", Duration.ofMinutes(5));
+        String tampered = token.substring(0, token.lastIndexOf('.') + 1) + "AAAA" + token.substring(token.lastIndexOf('.') + 5);
+        assertThrows(JwtException.class, () -> verifier.verify(tampered));
+
+        Key otherKey = Keys.hmacShaKeyFor("another-secret-that-is-long-enough-for-hmac-sha-256".getBytes());
+        String foreign = Jwts.builder().setSubject("a@example.com")
+                .setExpiration(Date.from(Instant.now().plusSeconds(300)))
+                .signWith(otherKey, SignatureAlgorithm.HS256).compact();
+        assertThrows(JwtException.class, () -> verifier.verify(foreign));
+
+        String noExpiry = Jwts.builder().setSubject("a@example.com")
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes()), SignatureAlgorithm.HS256).compact();
+        assertThrows(JwtException.class, () -> verifier.verify(noExpiry));
+    }
+
+    @Test
+    void acceptsRs256TokensAgainstAConfiguredPublicKey() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair pair = generator.generateKeyPair();
+        String pem = "-----BEGIN PUBLIC KEY-----\n"
+                + Base64.getMimeEncoder().encodeToString(pair.getPublic().getEncoded())
+                + "\n-----END PUBLIC KEY-----";
+        JwtVerifier verifier = new JwtVerifier(jwks, SECRET, pem);
+
+        String token = Jwts.builder().setSubject("r@example.com").claim("role", "USER")
+                .setExpiration(Date.from(Instant.now().plusSeconds(300)))
+                .signWith(pair.getPrivate(), SignatureAlgorithm.RS256).compact();
+
+        assertEquals("r@example.com", verifier.verifyAsync(token).block().getSubject());
+    }
+
+    static String hs256(String subject, String role, Duration ttl) {
+        return Jwts.builder()
+                .setSubject(subject)
+                .claim("role", role)
+                .setExpiration(Date.from(Instant.now().plus(ttl)))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes()), SignatureAlgorithm.HS256)
+                .compact();
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.Api_Gateway.jwt;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VerifiedTokenCacheTest {
+
+    @Test
+    void returnsLiveEntriesAndDropsExpiredOnes() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+        long now = System.currentTimeMillis();
+        cache.put("live", new VerifiedToken("a@example.com", "USER", now + 60_000));
+        cache.put("expired", new VerifiedToken("b@example.com", "USER", now - 1));
+
+        assertEquals("a@example.com", cache.get("live").getSubject());
+        assertNull(cache.get("expired"));
+        assertNull(cache.get("unknown"));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void staysBoundedAndEvictsTheTokensClosestToExpiry() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 10; i++) {
+            cache.put("t" + i, new VerifiedToken("u" + i, "USER", now + 60_000 + i * 1000L));
+        }
+
+        cache.put("newest", new VerifiedToken("n", "USER", now + 600_000));
+
+        assertTrue(cache.size() <= 10, "size " + cache.size());
+        assertNull(cache.get("t0"), "soonest-expiring token should be evicted first");
+        assertNotNull(cache.get("t9"));
+        assertNotNull(cache.get("newest"));
+    }
+
+    @Test
+    void expiredEntriesAreEvictedBeforeLiveOnes() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(4);
+        long now = System.currentTimeMillis();
+        cache.put("old", new VerifiedToken("o", "USER", now + 50));
+        for (int i = 0; i < 3; i++) {
+            cache.put("t" + i, new VerifiedToken("u" + i, "USER", now + 60_000));
+        }
+        sleep(100);
+
+        cache.put("t3", new VerifiedToken("u3", "USER", now + 60_000));
+
+        for (int i = 0; i < 4; i++) {
+            assertNotNull(cache.get("t" + i), "t" + i);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
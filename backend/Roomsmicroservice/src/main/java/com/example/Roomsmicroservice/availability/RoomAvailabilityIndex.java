@@ -0,0 +1,161 @@
+package com.example.Roomsmicroservice.availability;
+
+import com.example.Roomsmicroservice.event.RoomChangedEvent;
+import com.example.Roomsmicroservice.model.Room;
+import com.example.Roomsmicroservice.repository.RoomRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory view of rooms with free seats, bucketed by type and price band
+ * (price / rooms.availability.price-band), so GET /rooms/available never touches the database.
+ *
+ * Reads are lock-free. Writes for a room are serialized on one of a fixed set of striped
+ * locks chosen by room id, and a snapshot older than the one already indexed (by @Version)
+ * is ignored, so out-of-order commit events cannot resurrect stale seat counts. A deleted
+ * room leaves a tombstone with its last version, so a late update cannot bring it back.
+ * Built from the database on startup and kept current from committed RoomChangedEvents.
+ */
+@Component
+public class RoomAvailabilityIndex {
+
+    private static final int STRIPES = 32;
+
+    private final RoomRepository repo;
+    private final int priceBand;
+    private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+
+    /** Last indexed snapshot per room (including full rooms, to track versions). */
+    private final ConcurrentHashMap<Long, Room> rooms = new ConcurrentHashMap<>();
+    /** Deleted room id -> version at deletion. Ids are never reused, and rooms are few. */
+    private final ConcurrentHashMap<Long, Long> tombstones = new ConcurrentHashMap<>();
+    /** lower-cased type -> price band -> rooms with at least one free seat */
+    private final ConcurrentHashMap<String, ConcurrentSkipListMap<Integer, Bucket>> buckets = new ConcurrentHashMap<>();
+
+    public RoomAvailabilityIndex(
+            RoomRepository repo,
+            @Value("${rooms.availability.price-band:1000}") int priceBand) {
+        this.repo = repo;
+        this.priceBand = priceBand;
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        repo.findAll().forEach(r -> apply(r.snapshot(), false));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRoomChanged(RoomChangedEvent event) {
+        apply(event.getRoom(), event.getType() == RoomChangedEvent.Type.DELETED);
+    }
+
+    /**
+     * Rooms of the given type (any type when null) priced at most maxPrice (any when null)
+     * with at least {@code seats} free seats, cheapest first.
+     */
+    public List<Room> find(String type, Integer maxPrice, int seats, int limit) {
+        List<ConcurrentSkipListMap<Integer, Bucket>> byType;
+        if (type == null || type.isBlank()) {
+            byType = new ArrayList<>(buckets.values());
+        } else {
+            ConcurrentSkipListMap<Integer, Bucket> m = buckets.get(key(type));
+            byType = m == null ? List.of() : List.of(m);
+        }
+
+        List<Room> result = new ArrayList<>();
+        for (ConcurrentSkipListMap<Integer, Bucket> bands : byType) {
+            ConcurrentNavigableMap<Integer, Bucket> eligible =
+                    maxPrice == null ? bands : bands.headMap(band(maxPrice), true);
+            for (Bucket bucket : eligible.values()) {
+                if (bucket.freeSeats.sum() < seats) {
+                    continue; // no single room in here can have enough
+                }
+                for (Room r : bucket.rooms.values()) {
+                    if (r.getFreeSeats() >= seats && (maxPrice == null || r.getPrice() <= maxPrice)) {
+                        result.add(r);
+                    }
+                }
+            }
+        }
+        result.sort(Comparator.comparingInt(Room::getPrice).thenComparing(Room::getId));
+        return result.size() > limit ? result.subList(0, limit) : result;
+    }
+
+    private void apply(Room snapshot, boolean deleted) {
+        ReentrantLock lock = locks[Math.floorMod(snapshot.getId().hashCode(), STRIPES)];
+        lock.lock();
+        try {
+            Long deletedAt = tombstones.get(snapshot.getId());
+            if (deletedAt != null && deletedAt >= snapshot.getVersion()) {
+                return; // a write committed before the delete, arriving after it
+            }
+            Room current = rooms.get(snapshot.getId());
+            if (current != null && current.getVersion() > snapshot.getVersion()) {
+                return; // an older commit arriving late
+            }
+            if (current != null) {
+                unbucket(current);
+            }
+            if (deleted) {
+                rooms.remove(snapshot.getId());
+                tombstones.put(snapshot.getId(), snapshot.getVersion());
+                return;
+            }
+            rooms.put(snapshot.getId(), snapshot);
+            if (snapshot.getFreeSeats() > 0) {
+                buckets.computeIfAbsent(key(snapshot.getType()), k -> new ConcurrentSkipListMap<>())
+                        .computeIfAbsent(band(snapshot.getPrice()), k -> new Bucket())
+                        .add(snapshot);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void unbucket(Room r) {
+        ConcurrentSkipListMap<Integer, Bucket> bands = buckets.get(key(r.getType()));
+        if (bands != null) {
+            Bucket bucket = bands.get(band(r.getPrice()));
+            if (bucket != null) {
+                bucket.remove(r);
+            }
+        }
+    }
+
+    private int band(int price) {
+        return Math.max(0, price) / priceBand;
+    }
+
+    private static String key(String type) {
+        return type == null ? "" : type.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Bucket {
+        final ConcurrentHashMap<Long, Room> rooms = new ConcurrentHashMap<>();
+        final LongAdder freeSeats = new LongAdder();
+
+        void add(Room r) {
+            rooms.put(r.getId(), r);
+            freeSeats.add(r.getFreeSeats());
+        }
+
+        void remove(Room r) {
+            if (rooms.remove(r.getId(), r)) {
+                freeSeats.add(-r.getFreeSeats());
+            }
+        }
+    }
+}
@@ -1,15 +1,23 @@
 package com.example.Roomsmicroservice.controller;
 
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import com.example.Roomsmicroservice.availability.RoomAvailabilityIndex;
+import com.example.Roomsmicroservice.dto.AllocationRequest;
+import com.example.Roomsmicroservice.dto.AllocationResponse;
+import com.example.Roomsmicroservice.dto.OccupancyForecastResponse;
+import com.example.Roomsmicroservice.dto.OccupancyPoint;
 import com.example.Roomsmicroservice.dto.RoomRequest;
 import com.example.Roomsmicroservice.dto.RoomResponse;
 import com.example.Roomsmicroservice.model.Room;
+import com.example.Roomsmicroservice.service.OccupancyService;
 import com.example.Roomsmicroservice.service.RoomService;
 
 import java.net.URI;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -18,9 +26,13 @@ import java.util.List;
 public class RoomController {
 
     private final RoomService service;
+    private final RoomAvailabilityIndex availability;
+    private final OccupancyService occupancy;
 
-    public RoomController(RoomService service) {
+    public RoomController(RoomService service, RoomAvailabilityIndex availability, OccupancyService occupancy) {
         this.service = service;
+        this.availability = availability;
+        this.occupancy = occupancy;
     }
 
     // GET /api/rooms?q=...
@@ -29,6 +41,39 @@ public class RoomController {
         return service.getAll(q).stream().map(RoomResponse::from).toList();
     }
 
+    // GET /api/rooms/available?type=...&maxPrice=...&seats=...  (answered from memory, cheapest first)
+    @GetMapping("/available")
+    public List<RoomResponse> available(
+            @RequestParam(value = "type", required = false) String type,
+            @RequestParam(value = "maxPrice", required = false) Integer maxPrice,
+            @RequestParam(value = "seats", defaultValue = "1") int seats,
+            @RequestParam(value = "limit", defaultValue = "50") int limit) {
+        if (seats < 1 || limit < 1) {
+            throw new IllegalArgumentException("seats and limit must be positive");
+        }
+        return availability.find(type, maxPrice, seats, Math.min(limit, 500)).stream()
+                .map(RoomResponse::from).toList();
+    }
+
+    // GET /api/rooms/occupancy?from=2024-01-01&to=2024-12-31&granularity=day|week|month[&roomId=]
+    @GetMapping("/occupancy")
+    public List<OccupancyPoint> occupancy(
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "granularity", defaultValue = "day") String granularity,
+            @RequestParam(value = "roomId", required = false) Long roomId) {
+        return occupancy.series(from, to, granularity, roomId);
+    }
+
+    // GET /api/rooms/occupancy/forecast?days=30&history=90[&roomId=]
+    @GetMapping("/occupancy/forecast")
+    public OccupancyForecastResponse forecast(
+            @RequestParam(value = "days", defaultValue = "30") int days,
+            @RequestParam(value = "history", defaultValue = "90") int history,
+            @RequestParam(value = "roomId", required = false) Long roomId) {
+        return occupancy.forecast(history, days, roomId);
+    }
+
     // GET /api/rooms/{id}
     @GetMapping("/{id}")
     public RoomResponse get(@PathVariable Long id) {
@@ -68,6 +113,12 @@ public class RoomController {
         return RoomResponse.from(service.allocate(id));
     }
 
+    // POST /api/rooms/allocations  { "allocations": [{roomId, seats}], "releases": [{roomId, seats}] }
+    @PostMapping("/allocations")
+    public AllocationResponse allocations(@RequestBody AllocationRequest req) {
+        return AllocationResponse.from(service.applyAllocations(req));
+    }
+
     // DELETE /api/rooms/{id}
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(@PathVariable Long id) {
@@ -0,0 +1,26 @@
+package com.example.Roomsmicroservice.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** Body of POST /rooms/allocations: seats to take and seats to give back, applied all-or-nothing. */
+public class AllocationRequest {
+
+    private List<Item> allocations = new ArrayList<>();
+    private List<Item> releases = new ArrayList<>();
+
+    public List<Item> getAllocations() { return allocations; }
+    public void setAllocations(List<Item> allocations) { this.allocations = allocations; }
+    public List<Item> getReleases() { return releases; }
+    public void setReleases(List<Item> releases) { this.releases = releases; }
+
+    public static class Item {
+        private Long roomId;
+        private int seats;
+
+        public Long getRoomId() { return roomId; }
+        public void setRoomId(Long roomId) { this.roomId = roomId; }
+        public int getSeats() { return seats; }
+        public void setSeats(int seats) { this.seats = seats; }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.Roomsmicroservice.dto;
+
+import com.example.Roomsmicroservice.model.Room;
+
+import java.util.List;
+
+public class AllocationResponse {
+
+    private List<RoomCapacity> rooms;
+
+    public static AllocationResponse from(List<Room> rooms) {
+        AllocationResponse res = new AllocationResponse();
+        res.rooms = rooms.stream().map(RoomCapacity::from).toList();
+        return res;
+    }
+
+    public List<RoomCapacity> getRooms() { return rooms; }
+
+    public static class RoomCapacity {
+        private Long roomId;
+        private int capacity;
+        private int occupied;
+        private int remaining;
+
+        static RoomCapacity from(Room r) {
+            RoomCapacity c = new RoomCapacity();
+            c.roomId = r.getId();
+            c.capacity = r.getCapacity();
+            c.occupied = r.getOccupied();
+            c.remaining = r.getFreeSeats();
+            return c;
+        }
+
+        public Long getRoomId() { return roomId; }
+        public int getCapacity() { return capacity; }
+        public int getOccupied() { return occupied; }
+        public int getRemaining() { return remaining; }
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.Roomsmicroservice.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class OccupancyForecastResponse {
+
+    private final LocalDate asOf;
+    private final double slopePerDay;   // seats per day, from the linear fit
+    private final long capacity;
+    private final List<Point> points;
+    private final LocalDate fullOn;     // first projected day at or above capacity, null if none
+
+    public OccupancyForecastResponse(LocalDate asOf, double slopePerDay, long capacity,
+                                     List<Point> points, LocalDate fullOn) {
+        this.asOf = asOf;
+        this.slopePerDay = slopePerDay;
+        this.capacity = capacity;
+        this.points = points;
+        this.fullOn = fullOn;
+    }
+
+    // getters
+    public LocalDate getAsOf() { return asOf; }
+    public double getSlopePerDay() { return slopePerDay; }
+    public long getCapacity() { return capacity; }
+    public List<Point> getPoints() { return points; }
+    public LocalDate getFullOn() { return fullOn; }
+
+    public static class Point {
+        private final LocalDate date;
+        private final long occupied;
+
+        public Point(LocalDate date, long occupied) {
+            this.date = date;
+            this.occupied = occupied;
+        }
+
+        public LocalDate getDate() { return date; }
+        public long getOccupied() { return occupied; }
+    }
+}
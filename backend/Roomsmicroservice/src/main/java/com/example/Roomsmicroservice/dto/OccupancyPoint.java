@@ -0,0 +1,47 @@
+package com.example.Roomsmicroservice.dto;
+
+import java.time.LocalDate;
+
+/** Occupancy over one period (day, week or month) of GET /rooms/occupancy. */
+public class OccupancyPoint {
+
+    private LocalDate periodStart;
+    private long allocations;   // seats taken during the period
+    private long releases;      // seats given back during the period
+    private long occupied;      // at the end of the period
+    private long peakOccupied;  // highest end-of-day value in the period
+    private long capacity;      // at the end of the period
+    private double utilization; // occupied / capacity at the end of the period
+
+    // getters
+    public LocalDate getPeriodStart() { return periodStart; }
+    public long getAllocations() { return allocations; }
+    public long getReleases() { return releases; }
+    public long getOccupied() { return occupied; }
+    public long getPeakOccupied() { return peakOccupied; }
+    public long getCapacity() { return capacity; }
+    public double getUtilization() { return utilization; }
+
+    /** Accumulates consecutive days of one period. */
+    public static class Builder {
+        private final OccupancyPoint p = new OccupancyPoint();
+
+        public Builder(LocalDate periodStart) {
+            p.periodStart = periodStart;
+            p.peakOccupied = Long.MIN_VALUE;
+        }
+
+        public void addDay(int allocations, int releases, long occupiedAtEnd, long capacityAtEnd) {
+            p.allocations += allocations;
+            p.releases += releases;
+            p.occupied = occupiedAtEnd;
+            p.capacity = capacityAtEnd;
+            p.peakOccupied = Math.max(p.peakOccupied, occupiedAtEnd);
+        }
+
+        public OccupancyPoint build() {
+            p.utilization = p.capacity > 0 ? (double) p.occupied / p.capacity : 0;
+            return p;
+        }
+    }
+}
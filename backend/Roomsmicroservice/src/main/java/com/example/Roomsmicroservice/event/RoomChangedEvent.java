@@ -0,0 +1,36 @@
+package com.example.Roomsmicroservice.event;
+
+import com.example.Roomsmicroservice.model.Room;
+
+/**
+ * Published by RoomService for every room write. Listeners use
+ * {@code @TransactionalEventListener} so they only see committed changes.
+ */
+public class RoomChangedEvent {
+
+    public enum Type { CREATED, UPDATED, DELETED }
+
+    private final Type type;
+    private final Room room;
+
+    private RoomChangedEvent(Type type, Room room) {
+        this.type = type;
+        this.room = room.snapshot();
+    }
+
+    public static RoomChangedEvent created(Room r) {
+        return new RoomChangedEvent(Type.CREATED, r);
+    }
+
+    public static RoomChangedEvent updated(Room r) {
+        return new RoomChangedEvent(Type.UPDATED, r);
+    }
+
+    public static RoomChangedEvent deleted(Room r) {
+        return new RoomChangedEvent(Type.DELETED, r);
+    }
+
+    public Type getType() { return type; }
+    /** Room as written (for DELETED: as it was before removal). */
+    public Room getRoom() { return room; }
+}
@@ -0,0 +1,83 @@
+package com.example.Roomsmicroservice.model;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Per room, per day rollup of OccupancyEvent, maintained with atomic increments. Occupancy at
+ * the end of a day is the running sum of (allocations - releases) up to that day, so range
+ * queries read one small row per room-day instead of the raw event log. The room's occupied
+ * seats and capacity at the end of the day are stored too, so the state before a range is the
+ * room's latest earlier row rather than a sum over its whole history.
+ */
+@Entity
+@Table(name = "occupancy_daily", indexes = {
+    @Index(name = "idx_occupancy_daily_room", columnList = "room_id, rollup_date")
+})
+@IdClass(OccupancyDaily.Key.class)
+public class OccupancyDaily {
+
+    @Id
+    @Column(name = "rollup_date")
+    private LocalDate rollupDate;
+
+    @Id
+    @Column(name = "room_id")
+    private Long roomId;
+
+    /** Seats taken that day */
+    @Column(nullable = false)
+    private int allocations;
+
+    /** Seats given back that day */
+    @Column(nullable = false)
+    private int releases;
+
+    /** Net capacity added (room created / resized) or removed (resized / deleted) that day */
+    @Column(name = "capacity_change", nullable = false)
+    private int capacityChange;
+
+    /** Seats occupied in the room after its last change that day */
+    @Column(name = "occupied_end", nullable = false)
+    private int occupiedEnd;
+
+    /** Capacity of the room after its last change that day (0 once deleted) */
+    @Column(name = "capacity_end", nullable = false)
+    private int capacityEnd;
+
+    protected OccupancyDaily() { }
+
+    // --- getters ---
+    public LocalDate getRollupDate() { return rollupDate; }
+    public Long getRoomId() { return roomId; }
+    public int getAllocations() { return allocations; }
+    public int getReleases() { return releases; }
+    public int getCapacityChange() { return capacityChange; }
+    public int getOccupiedEnd() { return occupiedEnd; }
+    public int getCapacityEnd() { return capacityEnd; }
+
+    public static class Key implements Serializable {
+        private LocalDate rollupDate;
+        private Long roomId;
+
+        public Key() { }
+
+        public Key(LocalDate rollupDate, Long roomId) {
+            this.rollupDate = rollupDate;
+            this.roomId = roomId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key k && Objects.equals(rollupDate, k.rollupDate) && Objects.equals(roomId, k.roomId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(rollupDate, roomId);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.Roomsmicroservice.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/** Append-only log of occupancy/capacity changes; written in the same transaction as the change. */
+@Entity
+@Table(name = "occupancy_events", indexes = {
+    @Index(name = "idx_occupancy_events_occurred_at", columnList = "occurred_at"),
+    @Index(name = "idx_occupancy_events_room", columnList = "room_id, occurred_at")
+})
+public class OccupancyEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "room_id", nullable = false)
+    private Long roomId;
+
+    @Column(name = "seat_delta", nullable = false)
+    private int seatDelta;
+
+    @Column(name = "capacity_delta", nullable = false)
+    private int capacityDelta;
+
+    @Column(name = "occupied_after", nullable = false)
+    private int occupiedAfter;
+
+    @Column(name = "capacity_after", nullable = false)
+    private int capacityAfter;
+
+    @Column(name = "occurred_at", nullable = false)
+    private Instant occurredAt;
+
+    protected OccupancyEvent() { }
+
+    public OccupancyEvent(Long roomId, int seatDelta, int capacityDelta, int occupiedAfter, int capacityAfter,
+                          Instant occurredAt) {
+        this.roomId = roomId;
+        this.seatDelta = seatDelta;
+        this.capacityDelta = capacityDelta;
+        this.occupiedAfter = occupiedAfter;
+        this.capacityAfter = capacityAfter;
+        this.occurredAt = occurredAt;
+    }
+
+    // --- getters ---
+    public Long getId() { return id; }
+    public Long getRoomId() { return roomId; }
+    public int getSeatDelta() { return seatDelta; }
+    public int getCapacityDelta() { return capacityDelta; }
+    public int getOccupiedAfter() { return occupiedAfter; }
+    public int getCapacityAfter() { return capacityAfter; }
+    public Instant getOccurredAt() { return occurredAt; }
+}
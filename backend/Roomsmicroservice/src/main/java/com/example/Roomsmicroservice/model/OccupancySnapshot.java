@@ -0,0 +1,32 @@
+package com.example.Roomsmicroservice.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+
+/**
+ * Occupied seats and capacity over all rooms at the end of a closed day, written once by
+ * OccupancyService.closeDays. Hotel-wide history starts from the latest snapshot before the
+ * range instead of summing every earlier rollup.
+ */
+@Entity
+@Table(name = "occupancy_snapshot")
+public class OccupancySnapshot {
+
+    @Id
+    @Column(name = "snapshot_date")
+    private LocalDate snapshotDate;
+
+    @Column(nullable = false)
+    private long occupied;
+
+    @Column(nullable = false)
+    private long capacity;
+
+    protected OccupancySnapshot() { }
+
+    // --- getters ---
+    public LocalDate getSnapshotDate() { return snapshotDate; }
+    public long getOccupied() { return occupied; }
+    public long getCapacity() { return capacity; }
+}
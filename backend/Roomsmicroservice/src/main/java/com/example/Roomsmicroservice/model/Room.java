@@ -2,7 +2,14 @@ package com.example.Roomsmicroservice.model;
 
 import jakarta.persistence.*;
 
+import java.util.Locale;
+
 @Entity
+@Table(name = "room", indexes = {
+    @Index(name = "idx_room_name_lc", columnList = "name_lc"), // name prefix search
+    @Index(name = "idx_room_type_lc", columnList = "type_lc"), // type prefix search
+    @Index(name = "idx_room_status", columnList = "status")
+})
 public class Room {
 
     @Id
@@ -15,6 +22,13 @@ public class Room {
     @Column(nullable = false, length = 50)
     private String type; // e.g., "3-sharing"
 
+    /** Lower-cased copies kept in sync on write, so search can use plain indexed prefix scans */
+    @Column(name = "name_lc", nullable = false, length = 20)
+    private String nameLc;
+
+    @Column(name = "type_lc", nullable = false, length = 50)
+    private String typeLc;
+
     @Column(nullable = false)
     private int capacity;
 
@@ -29,11 +43,41 @@ public class Room {
     @Column(nullable = false, length = 12)
     private RoomStatus status;
 
+    /** Bumped on every write (including the allocate UPDATE) so listeners can drop stale snapshots. */
+    @Version
+    @Column(nullable = false)
+    private long version;
+
     // --- helpers ---
     public void recomputeStatus() {
         this.status = (occupied >= capacity) ? RoomStatus.FULL : RoomStatus.AVAILABLE;
     }
 
+    @PrePersist
+    @PreUpdate
+    public void normalizeSearchColumns() {
+        this.nameLc = name == null ? null : name.toLowerCase(Locale.ROOT);
+        this.typeLc = type == null ? null : type.toLowerCase(Locale.ROOT);
+    }
+
+    /** Detached copy of the current field values, safe to hand to other threads after commit. */
+    public Room snapshot() {
+        Room copy = new Room();
+        copy.roomId = roomId;
+        copy.name = name;
+        copy.type = type;
+        copy.capacity = capacity;
+        copy.occupied = occupied;
+        copy.price = price;
+        copy.status = status;
+        copy.version = version;
+        return copy;
+    }
+
+    public int getFreeSeats() {
+        return Math.max(0, capacity - occupied);
+    }
+
     // --- getters & setters ---
     public Long getId() { return roomId; }
     public void setId(Long id) { this.roomId = id; }
@@ -55,5 +99,7 @@ public class Room {
 
     public RoomStatus getStatus() { return status; }
     public void setStatus(RoomStatus status) { this.status = status; }
+
+    public long getVersion() { return version; }
 }
 
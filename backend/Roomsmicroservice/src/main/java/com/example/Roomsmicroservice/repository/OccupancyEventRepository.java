@@ -0,0 +1,8 @@
+package com.example.Roomsmicroservice.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.example.Roomsmicroservice.model.OccupancyEvent;
+
+public interface OccupancyEventRepository extends JpaRepository<OccupancyEvent, Long> {
+}
@@ -1,7 +1,9 @@
 package com.example.Roomsmicroservice.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.example.Roomsmicroservice.model.Room;
 import com.example.Roomsmicroservice.model.RoomStatus;
@@ -12,11 +14,30 @@ public interface RoomRepository extends JpaRepository<Room, Long> {
 
     List<Room> findByStatus(RoomStatus status);
 
+    // --- search; arguments must already be lower-cased (see RoomService.search) ---
+
+    /** Range scan on idx_room_name_lc. */
+    List<Room> findByNameLcStartingWithOrderByNameLc(String prefix);
+
+    /** Range scan on idx_room_type_lc. */
+    List<Room> findByTypeLcStartingWithOrderByNameLc(String prefix);
+
+    /** Substring fallback: still a scan, but without per-row lower(). */
+    List<Room> findByNameLcContainingOrTypeLcContainingOrderByNameLc(String name, String type);
+
+    /**
+     * Takes one seat only if one is free, in a single statement, so concurrent allocations
+     * cannot overbook. Returns 0 when the room is full or does not exist.
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
     @Query("""
-           select r from Room r
-           where lower(r.name) like lower(concat('%', :q, '%'))
-              or lower(r.type) like lower(concat('%', :q, '%'))
-              or lower(r.status) = lower(:q)
+           update Room r
+              set r.occupied = r.occupied + 1,
+                  r.version = r.version + 1,
+                  r.status = case when r.occupied + 1 >= r.capacity
+                                  then com.example.Roomsmicroservice.model.RoomStatus.FULL
+                                  else com.example.Roomsmicroservice.model.RoomStatus.AVAILABLE end
+            where r.roomId = :id and r.occupied < r.capacity
            """)
-    List<Room> search(String q);
+    int allocateSeat(@Param("id") Long id);
 }
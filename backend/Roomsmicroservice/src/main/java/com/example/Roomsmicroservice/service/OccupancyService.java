@@ -0,0 +1,264 @@
+package com.example.Roomsmicroservice.service;
+
+import com.example.Roomsmicroservice.dto.OccupancyForecastResponse;
+import com.example.Roomsmicroservice.dto.OccupancyPoint;
+import com.example.Roomsmicroservice.model.OccupancyEvent;
+import com.example.Roomsmicroservice.repository.OccupancyEventRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.*;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Records every occupancy/capacity change (raw event + daily rollup) and answers
+ * history and forecast queries from the rollup and the end-of-day snapshots only.
+ * Days are UTC dates.
+ */
+@Service
+public class OccupancyService {
+
+    public enum Granularity { DAY, WEEK, MONTH }
+
+    public static final int MAX_RANGE_DAYS = 3660;
+
+    /** Days before yesterday are closed: no transaction still in flight records into them. */
+    private static final int OPEN_DAYS = 2;
+
+    private static final String INCREMENT_SQL = """
+            UPDATE occupancy_daily
+               SET allocations = allocations + ?, releases = releases + ?, capacity_change = capacity_change + ?,
+                   occupied_end = ?, capacity_end = ?
+             WHERE rollup_date = ? AND room_id = ?
+            """;
+
+    private static final String SEED_SQL = """
+            INSERT INTO occupancy_daily
+                   (rollup_date, room_id, allocations, releases, capacity_change, occupied_end, capacity_end)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final OccupancyEventRepository log;
+    private final JdbcTemplate jdbc;
+    private final Clock clock = Clock.systemUTC();
+
+    public OccupancyService(OccupancyEventRepository log, JdbcTemplate jdbc) {
+        this.log = log;
+        this.jdbc = jdbc;
+    }
+
+    /**
+     * Appends the change to the event log and folds it into today's rollup, in the caller's
+     * transaction. Callers must already have written the room row: that row lock serializes all
+     * writers of the room, so the first-of-the-day insert below cannot race another insert.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Long roomId, int seatDelta, int capacityDelta, int occupiedAfter, int capacityAfter) {
+        if (seatDelta == 0 && capacityDelta == 0) {
+            return;
+        }
+        Instant now = clock.instant();
+        log.save(new OccupancyEvent(roomId, seatDelta, capacityDelta, occupiedAfter, capacityAfter, now));
+
+        LocalDate day = LocalDate.ofInstant(now, ZoneOffset.UTC);
+        int allocated = Math.max(seatDelta, 0);
+        int released = Math.max(-seatDelta, 0);
+        if (jdbc.update(INCREMENT_SQL, allocated, released, capacityDelta, occupiedAfter, capacityAfter,
+                day, roomId) == 0) {
+            jdbc.update(SEED_SQL, day, roomId, allocated, released, capacityDelta, occupiedAfter, capacityAfter);
+        }
+    }
+
+    /**
+     * Writes the hotel-wide snapshot for every closed day after the latest one, each the previous
+     * snapshot plus that day's rollups. Runs at startup and shortly after midnight. Each row is
+     * committed on its own, so an interrupted run leaves a correct prefix to continue from.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${rooms.occupancy.snapshot-cron:0 10 0 * * *}", zone = "UTC")
+    public synchronized void closeDays() {
+        LocalDate through = LocalDate.now(clock).minusDays(OPEN_DAYS);
+        LocalDate last = jdbc.queryForObject("SELECT MAX(snapshot_date) FROM occupancy_snapshot", LocalDate.class);
+        LocalDate first = last != null
+                ? last.plusDays(1)
+                : jdbc.queryForObject("SELECT MIN(rollup_date) FROM occupancy_daily", LocalDate.class);
+        if (first == null || first.isAfter(through)) {
+            return;
+        }
+        long[] running = last == null ? new long[2] : jdbc.queryForObject(
+                "SELECT occupied, capacity FROM occupancy_snapshot WHERE snapshot_date = ?",
+                (rs, i) -> new long[] { rs.getLong(1), rs.getLong(2) }, last);
+
+        int days = (int) ChronoUnit.DAYS.between(first, through) + 1;
+        int[] allocations = new int[days];
+        int[] releases = new int[days];
+        int[] capacityChange = new int[days];
+        loadDaily(first, through, null, allocations, releases, capacityChange);
+
+        List<Object[]> rows = new ArrayList<>(days);
+        for (int i = 0; i < days; i++) {
+            running[0] += allocations[i] - releases[i];
+            running[1] += capacityChange[i];
+            rows.add(new Object[] { first.plusDays(i), running[0], running[1] });
+        }
+        jdbc.batchUpdate("INSERT INTO occupancy_snapshot (snapshot_date, occupied, capacity) VALUES (?, ?, ?)", rows);
+    }
+
+    @Transactional(readOnly = true)
+    public List<OccupancyPoint> series(LocalDate from, LocalDate to, String granularity, Long roomId) {
+        Granularity g = parseGranularity(granularity);
+        int days = checkedRange(from, to);
+
+        long[] baseline = baseline(from, roomId);
+        int[] allocations = new int[days];
+        int[] releases = new int[days];
+        int[] capacityChange = new int[days];
+        loadDaily(from, to, roomId, allocations, releases, capacityChange);
+
+        List<OccupancyPoint> points = new ArrayList<>();
+        long occupied = baseline[0];
+        long capacity = baseline[1];
+        OccupancyPoint.Builder current = null;
+        LocalDate currentStart = null;
+        for (int i = 0; i < days; i++) {
+            LocalDate day = from.plusDays(i);
+            LocalDate start = periodStart(day, g);
+            if (!start.equals(currentStart)) {
+                if (current != null) {
+                    points.add(current.build());
+                }
+                currentStart = start;
+                current = new OccupancyPoint.Builder(start.isBefore(from) ? from : start);
+            }
+            occupied += allocations[i] - releases[i];
+            capacity += capacityChange[i];
+            current.addDay(allocations[i], releases[i], occupied, capacity);
+        }
+        if (current != null) {
+            points.add(current.build());
+        }
+        return points;
+    }
+
+    /**
+     * Least-squares line through the last {@code historyDays} daily occupancy values,
+     * projected {@code days} ahead, with the first projected day at or above capacity.
+     */
+    @Transactional(readOnly = true)
+    public OccupancyForecastResponse forecast(int historyDays, int days, Long roomId) {
+        if (historyDays < 2 || historyDays > MAX_RANGE_DAYS || days < 1 || days > 366) {
+            throw new IllegalArgumentException("history must be 2-" + MAX_RANGE_DAYS + " days and days 1-366");
+        }
+        LocalDate today = LocalDate.now(clock);
+        List<OccupancyPoint> history = series(today.minusDays(historyDays - 1L), today, "day", roomId);
+
+        int n = history.size();
+        double sumX = 0, sumY = 0, sumXY = 0, sumXX = 0;
+        for (int x = 0; x < n; x++) {
+            double y = history.get(x).getOccupied();
+            sumX += x;
+            sumY += y;
+            sumXY += x * y;
+            sumXX += (double) x * x;
+        }
+        double slope = (n * sumXY - sumX * sumY) / (n * sumXX - sumX * sumX);
+        double intercept = (sumY - slope * sumX) / n;
+        long capacity = history.get(n - 1).getCapacity();
+
+        List<OccupancyForecastResponse.Point> projected = new ArrayList<>(days);
+        LocalDate fullOn = null;
+        for (int d = 1; d <= days; d++) {
+            double value = Math.max(0, intercept + slope * (n - 1 + d));
+            LocalDate date = today.plusDays(d);
+            projected.add(new OccupancyForecastResponse.Point(date, Math.round(value)));
+            if (fullOn == null && capacity > 0 && value >= capacity) {
+                fullOn = date;
+            }
+        }
+        return new OccupancyForecastResponse(today, slope, capacity, projected, fullOn);
+    }
+
+    /**
+     * Occupied seats and capacity at the start of {@code from}. For one room that is the end of
+     * its latest earlier rollup; over all rooms, the latest earlier snapshot plus the rollups of
+     * the (at most a few) days after it that are not closed yet.
+     */
+    private long[] baseline(LocalDate from, Long roomId) {
+        if (roomId != null) {
+            List<long[]> end = jdbc.query("""
+                    SELECT occupied_end, capacity_end FROM occupancy_daily
+                     WHERE room_id = ? AND rollup_date < ? ORDER BY rollup_date DESC LIMIT 1
+                    """, (rs, i) -> new long[] { rs.getLong(1), rs.getLong(2) }, roomId, from);
+            return end.isEmpty() ? new long[2] : end.get(0);
+        }
+
+        List<Object[]> snapshot = jdbc.query("""
+                SELECT snapshot_date, occupied, capacity FROM occupancy_snapshot
+                 WHERE snapshot_date < ? ORDER BY snapshot_date DESC LIMIT 1
+                """, (rs, i) -> new Object[] { rs.getObject(1, LocalDate.class), rs.getLong(2), rs.getLong(3) }, from);
+        String tail = """
+                SELECT COALESCE(SUM(allocations - releases), 0), COALESCE(SUM(capacity_change), 0)
+                  FROM occupancy_daily WHERE rollup_date < ?
+                """;
+        if (snapshot.isEmpty()) {
+            return jdbc.queryForObject(tail, (rs, i) -> new long[] { rs.getLong(1), rs.getLong(2) }, from);
+        }
+        Object[] s = snapshot.get(0);
+        return jdbc.queryForObject(tail + " AND rollup_date > ?",
+                (rs, i) -> new long[] { (Long) s[1] + rs.getLong(1), (Long) s[2] + rs.getLong(2) }, from, s[0]);
+    }
+
+    private void loadDaily(LocalDate from, LocalDate to, Long roomId,
+                           int[] allocations, int[] releases, int[] capacityChange) {
+        String sql = """
+                SELECT rollup_date, SUM(allocations), SUM(releases), SUM(capacity_change)
+                  FROM occupancy_daily WHERE rollup_date BETWEEN ? AND ?
+                """ + (roomId == null ? "" : " AND room_id = ?") + " GROUP BY rollup_date";
+        Object[] args = roomId == null ? new Object[] { from, to } : new Object[] { from, to, roomId };
+        jdbc.query(sql, rs -> {
+            int i = (int) ChronoUnit.DAYS.between(from, rs.getObject(1, LocalDate.class));
+            allocations[i] = rs.getInt(2);
+            releases[i] = rs.getInt(3);
+            capacityChange[i] = rs.getInt(4);
+        }, args);
+    }
+
+    private static LocalDate periodStart(LocalDate day, Granularity g) {
+        return switch (g) {
+            case DAY -> day;
+            case WEEK -> day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> day.withDayOfMonth(1);
+        };
+    }
+
+    private static Granularity parseGranularity(String granularity) {
+        if (granularity == null || granularity.isBlank()) {
+            return Granularity.DAY;
+        }
+        try {
+            return Granularity.valueOf(granularity.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("granularity must be day, week or month");
+        }
+    }
+
+    private static int checkedRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new IllegalArgumentException("from and to are required and from must not be after to");
+        }
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        if (days > MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Range is limited to " + MAX_RANGE_DAYS + " days");
+        }
+        return (int) days;
+    }
+}
@@ -1,64 +1,190 @@
 package com.example.Roomsmicroservice.service;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import com.example.Roomsmicroservice.dto.AllocationRequest;
+import com.example.Roomsmicroservice.event.RoomChangedEvent;
 import com.example.Roomsmicroservice.model.*;
 import com.example.Roomsmicroservice.repository.RoomRepository;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
 
 @Service
 @Transactional
 public class RoomService {
 
+    public static final int MAX_ALLOCATION_ITEMS = 1000;
+    /** No room holds more; keeps every net delta and {@code occupied + delta} well inside an int. */
+    public static final int MAX_SEATS_PER_ITEM = 10_000;
+
+    /** Applies a signed seat delta only if the result stays within [0, capacity]. */
+    private static final String APPLY_DELTA_SQL = """
+            UPDATE room
+               SET occupied = occupied + ?,
+                   version = version + 1,
+                   status = CASE WHEN occupied + ? >= capacity THEN 'FULL' ELSE 'AVAILABLE' END
+             WHERE room_id = ? AND occupied + ? BETWEEN 0 AND capacity
+            """;
+
     private final RoomRepository repo;
+    private final JdbcTemplate jdbc;
+    private final ApplicationEventPublisher events;
+    private final OccupancyService occupancy;
 
-    public RoomService(RoomRepository repo) {
+    public RoomService(RoomRepository repo, JdbcTemplate jdbc, ApplicationEventPublisher events,
+                       OccupancyService occupancy) {
         this.repo = repo;
+        this.jdbc = jdbc;
+        this.events = events;
+        this.occupancy = occupancy;
     }
 
     public List<Room> getAll(String q) {
         if (StringUtils.hasText(q)) {
-            return repo.search(q.trim());
+            return search(q.trim().toLowerCase(Locale.ROOT));
         }
         return repo.findAll();
     }
 
+    /**
+     * "available"/"full" -> status lookup; otherwise rooms whose name or type starts with q
+     * (index range scans on the lower-cased columns), and only if there are none, rooms whose
+     * name or type contains q.
+     */
+    private List<Room> search(String q) {
+        for (RoomStatus status : RoomStatus.values()) {
+            if (status.name().equalsIgnoreCase(q)) {
+                return repo.findByStatus(status);
+            }
+        }
+
+        Map<Long, Room> hits = new LinkedHashMap<>();
+        repo.findByNameLcStartingWithOrderByNameLc(q).forEach(r -> hits.put(r.getId(), r));
+        repo.findByTypeLcStartingWithOrderByNameLc(q).forEach(r -> hits.putIfAbsent(r.getId(), r));
+        if (!hits.isEmpty()) {
+            return new ArrayList<>(hits.values());
+        }
+        return repo.findByNameLcContainingOrTypeLcContainingOrderByNameLc(q, q);
+    }
+
     public Room getById(Long id) {
         return repo.findById(id).orElseThrow(() -> new IllegalArgumentException("Room not found: " + id));
     }
 
     public Room create(Room r) {
         r.recomputeStatus();
-        return repo.save(r);
+        Room saved = repo.save(r);
+        occupancy.record(saved.getId(), saved.getOccupied(), saved.getCapacity(),
+                saved.getOccupied(), saved.getCapacity());
+        events.publishEvent(RoomChangedEvent.created(saved));
+        return saved;
     }
 
     public Room update(Long id, Room patch) {
         Room r = getById(id);
+        int occupiedBefore = r.getOccupied();
+        int capacityBefore = r.getCapacity();
         r.setName(patch.getName());
         r.setType(patch.getType());
         r.setCapacity(patch.getCapacity());
         r.setOccupied(patch.getOccupied());
         r.setPrice(patch.getPrice());
         r.recomputeStatus();
-        return repo.save(r);
+        Room saved = repo.saveAndFlush(r); // flush so the event carries the bumped version
+        occupancy.record(id, saved.getOccupied() - occupiedBefore, saved.getCapacity() - capacityBefore,
+                saved.getOccupied(), saved.getCapacity());
+        events.publishEvent(RoomChangedEvent.updated(saved));
+        return saved;
     }
 
-    /** Allocate one seat in the room and recompute status. */
+    /** Allocate one seat in the room; the conditional update also recomputes status. */
     public Room allocate(Long id) {
-        Room r = getById(id);
-        if (r.getOccupied() >= r.getCapacity()) {
+        if (repo.allocateSeat(id) == 0) {
+            getById(id); // 400 if the room does not exist
             throw new IllegalStateException("Room is already full");
         }
-        r.setOccupied(r.getOccupied() + 1);
-        r.recomputeStatus();
-        return repo.save(r);
+        Room r = getById(id);
+        occupancy.record(id, 1, 0, r.getOccupied(), r.getCapacity());
+        events.publishEvent(RoomChangedEvent.updated(r));
+        return r;
+    }
+
+    /**
+     * Applies every allocation and release in one transaction with one JDBC batch of conditional
+     * updates (one row per room, net of all its items). If any room is missing or would go below
+     * zero or above capacity, nothing is applied. Returns the touched rooms after the change.
+     */
+    public List<Room> applyAllocations(AllocationRequest req) {
+        // Net delta per room; sorted by id so concurrent batches lock rows in the same order
+        Map<Long, Integer> deltas = new TreeMap<>();
+        int items = addDeltas(deltas, req.getAllocations(), 1) + addDeltas(deltas, req.getReleases(), -1);
+        if (items == 0) {
+            throw new IllegalArgumentException("No allocations or releases given");
+        }
+        if (items > MAX_ALLOCATION_ITEMS) {
+            throw new IllegalArgumentException("At most " + MAX_ALLOCATION_ITEMS + " items per request");
+        }
+
+        List<Object[]> args = new ArrayList<>(deltas.size());
+        deltas.forEach((roomId, delta) -> args.add(new Object[] { delta, delta, roomId, delta }));
+        int[] counts = jdbc.batchUpdate(APPLY_DELTA_SQL, args);
+
+        List<Long> ids = new ArrayList<>(deltas.keySet());
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                // Throwing rolls back the whole batch
+                Long roomId = ids.get(i);
+                Room r = getById(roomId);
+                throw new IllegalStateException(deltas.get(roomId) > 0
+                        ? "Room " + r.getName() + " has only " + r.getFreeSeats() + " free seats"
+                        : "Room " + r.getName() + " has only " + r.getOccupied() + " occupied seats");
+            }
+        }
+
+        List<Room> rooms = repo.findAllById(ids);
+        for (Room r : rooms) {
+            occupancy.record(r.getId(), deltas.get(r.getId()), 0, r.getOccupied(), r.getCapacity());
+            events.publishEvent(RoomChangedEvent.updated(r));
+        }
+        return rooms;
+    }
+
+    private static int addDeltas(Map<Long, Integer> deltas, List<AllocationRequest.Item> items, int sign) {
+        if (items == null) {
+            return 0;
+        }
+        for (AllocationRequest.Item item : items) {
+            if (item.getRoomId() == null || item.getSeats() <= 0) {
+                throw new IllegalArgumentException("Each item needs a roomId and a positive seats count");
+            }
+            if (item.getSeats() > MAX_SEATS_PER_ITEM) {
+                throw new IllegalArgumentException("At most " + MAX_SEATS_PER_ITEM + " seats per item");
+            }
+            try {
+                deltas.merge(item.getRoomId(), sign * item.getSeats(), Math::addExact);
+            } catch (ArithmeticException e) {
+                throw new IllegalArgumentException("Seats for room " + item.getRoomId() + " are out of range");
+            }
+        }
+        return items.size();
     }
 
     public void delete(Long id) {
-        repo.deleteById(id);
+        repo.findById(id).ifPresent(r -> {
+            repo.delete(r);
+            repo.flush(); // take the row lock before recording, like every other occupancy writer
+            occupancy.record(id, -r.getOccupied(), -r.getCapacity(), 0, 0);
+            events.publishEvent(RoomChangedEvent.deleted(r));
+        });
     }
 }
 
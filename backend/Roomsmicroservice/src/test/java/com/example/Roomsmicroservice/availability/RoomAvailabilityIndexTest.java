@@ -0,0 +1,64 @@
+package com.example.Roomsmicroservice.availability;
+
+import com.example.Roomsmicroservice.event.RoomChangedEvent;
+import com.example.Roomsmicroservice.model.Room;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RoomAvailabilityIndexTest {
+
+    private final RoomAvailabilityIndex index = new RoomAvailabilityIndex(null, 1000);
+
+    @Test
+    void lateUpdateAfterADeleteDoesNotResurrectTheRoom() {
+        index.onRoomChanged(RoomChangedEvent.created(room(1L, 0, 1)));
+        index.onRoomChanged(RoomChangedEvent.deleted(room(1L, 1, 2)));
+
+        // Committed before the delete, delivered after it
+        index.onRoomChanged(RoomChangedEvent.updated(room(1L, 1, 1)));
+
+        assertTrue(index.find("double", null, 1, 10).isEmpty());
+    }
+
+    @Test
+    void olderSnapshotArrivingLateIsIgnored() {
+        index.onRoomChanged(RoomChangedEvent.created(room(2L, 0, 0)));
+        index.onRoomChanged(RoomChangedEvent.updated(room(2L, 2, 2)));
+        index.onRoomChanged(RoomChangedEvent.updated(room(2L, 1, 1)));
+
+        assertEquals(List.of(), ids(index.find("double", null, 1, 10)));
+    }
+
+    @Test
+    void roomsAreFoundByTypePriceAndFreeSeats() {
+        index.onRoomChanged(RoomChangedEvent.created(room(3L, 0, 0)));
+        index.onRoomChanged(RoomChangedEvent.created(room(4L, 1, 0)));
+
+        assertEquals(List.of(3L, 4L), ids(index.find("DOUBLE", 5000, 1, 10)));
+        assertEquals(List.of(3L), ids(index.find("double", null, 2, 10)));
+        assertEquals(List.of(), ids(index.find("single", null, 1, 10)));
+    }
+
+    /** A double room at 4000 with {@code occupied} of its 2 seats taken. */
+    private static Room room(Long id, int occupied, long version) {
+        Room r = new Room();
+        r.setId(id);
+        r.setName("Room " + id);
+        r.setType("Double");
+        r.setCapacity(2);
+        r.setOccupied(occupied);
+        r.setPrice(4000);
+        r.recomputeStatus();
+        ReflectionTestUtils.setField(r, "version", version);
+        return r;
+    }
+
+    private static List<Long> ids(List<Room> rooms) {
+        return rooms.stream().map(Room::getId).toList();
+    }
+}
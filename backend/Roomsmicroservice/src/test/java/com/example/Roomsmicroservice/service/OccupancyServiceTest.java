@@ -0,0 +1,182 @@
+package com.example.Roomsmicroservice.service;
+
+import com.example.Roomsmicroservice.dto.AllocationRequest;
+import com.example.Roomsmicroservice.dto.OccupancyForecastResponse;
+import com.example.Roomsmicroservice.dto.OccupancyPoint;
+import com.example.Roomsmicroservice.model.Room;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/** Rollups written by RoomService, period folding, baselines before a range, and the forecast fit. */
+@SpringBootTest(properties = {"eureka.client.enabled=false", "spring.jpa.show-sql=false"})
+class OccupancyServiceTest {
+
+    // Rollups for these ids are written directly; no room rows exist for them
+    private static final long ROOM = 900_001L;
+    private static final long OTHER_ROOM = 900_002L;
+
+    @Autowired
+    private OccupancyService occupancy;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @AfterEach
+    void cleanUp() {
+        jdbc.update("DELETE FROM occupancy_daily WHERE room_id >= 900000");
+        jdbc.update("DELETE FROM occupancy_snapshot");
+    }
+
+    @Test
+    void everyChangeIsFoldedIntoTodaysRollup() {
+        Room r = new Room();
+        r.setName("OCC-1");
+        r.setType("dorm");
+        r.setCapacity(4);
+        r.setPrice(3000);
+        Long id = roomService.create(r).getId();
+        roomService.allocate(id);
+        roomService.allocate(id);
+        AllocationRequest release = new AllocationRequest();
+        AllocationRequest.Item item = new AllocationRequest.Item();
+        item.setRoomId(id);
+        item.setSeats(1);
+        release.getReleases().add(item);
+        roomService.applyAllocations(release);
+
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        Map<String, Object> row = jdbc.queryForMap(
+                "SELECT * FROM occupancy_daily WHERE rollup_date = ? AND room_id = ?", today, id);
+        assertEquals(2, ((Number) row.get("ALLOCATIONS")).intValue());
+        assertEquals(1, ((Number) row.get("RELEASES")).intValue());
+        assertEquals(4, ((Number) row.get("CAPACITY_CHANGE")).intValue());
+        assertEquals(1, ((Number) row.get("OCCUPIED_END")).intValue());
+        assertEquals(4, ((Number) row.get("CAPACITY_END")).intValue());
+
+        List<OccupancyPoint> points = occupancy.series(today, today, "day", id);
+        assertEquals(1, points.size());
+        assertEquals(1, points.get(0).getOccupied());
+        assertEquals(4, points.get(0).getCapacity());
+        assertEquals(0.25, points.get(0).getUtilization(), 1e-9);
+    }
+
+    @Test
+    void weeksStartOnMondayAndTheFirstPeriodIsClippedToTheRange() {
+        seedWeekOfMarch2021();
+
+        // 2021-03-29 is a Monday; its 3 seats are the baseline
+        List<OccupancyPoint> weeks = occupancy.series(LocalDate.of(2021, 3, 31), LocalDate.of(2021, 4, 6), "week", ROOM);
+
+        assertEquals(2, weeks.size());
+        assertPoint(weeks.get(0), LocalDate.of(2021, 3, 31), 2, 4, 1, 5, 10);
+        assertPoint(weeks.get(1), LocalDate.of(2021, 4, 5), 6, 0, 7, 7, 10);
+    }
+
+    @Test
+    void monthsFoldEveryDayOfTheMonth() {
+        seedWeekOfMarch2021();
+
+        List<OccupancyPoint> months = occupancy.series(LocalDate.of(2021, 3, 31), LocalDate.of(2021, 4, 6), "month", ROOM);
+
+        assertEquals(2, months.size());
+        assertPoint(months.get(0), LocalDate.of(2021, 3, 31), 2, 0, 5, 5, 10);
+        assertPoint(months.get(1), LocalDate.of(2021, 4, 1), 6, 4, 7, 7, 10);
+    }
+
+    @Test
+    void roomBaselineIsTheEndOfItsLatestEarlierRollup() {
+        seedWeekOfMarch2021();
+
+        List<OccupancyPoint> quietDay = occupancy.series(LocalDate.of(2021, 4, 3), LocalDate.of(2021, 4, 3), "day", ROOM);
+
+        assertPoint(quietDay.get(0), LocalDate.of(2021, 4, 3), 0, 0, 1, 1, 10);
+    }
+
+    @Test
+    void hotelWideBaselineIsTheSameFromSnapshotsAsFromRollups() {
+        jdbc.update("DELETE FROM occupancy_snapshot");
+        rollup(LocalDate.of(2001, 1, 10), ROOM, 2, 0, 5, 2, 5);
+        rollup(LocalDate.of(2001, 1, 10), OTHER_ROOM, 2, 0, 5, 2, 5);
+        rollup(LocalDate.of(2001, 2, 1), OTHER_ROOM, 1, 0, 0, 3, 5);
+        LocalDate from = LocalDate.of(2001, 3, 1);
+
+        OccupancyPoint fromRollups = occupancy.series(from, from, "day", null).get(0);
+        occupancy.closeDays();
+        OccupancyPoint fromSnapshots = occupancy.series(from, from, "day", null).get(0);
+
+        assertEquals(5, fromRollups.getOccupied());
+        assertEquals(10, fromRollups.getCapacity());
+        assertEquals(fromRollups.getOccupied(), fromSnapshots.getOccupied());
+        assertEquals(fromRollups.getCapacity(), fromSnapshots.getCapacity());
+        assertEquals(5L, jdbc.queryForObject(
+                "SELECT occupied FROM occupancy_snapshot WHERE snapshot_date = ?", Long.class, from.minusDays(1)));
+
+        // A second run finds nothing left to close
+        long snapshots = jdbc.queryForObject("SELECT COUNT(*) FROM occupancy_snapshot", Long.class);
+        occupancy.closeDays();
+        assertEquals(snapshots, jdbc.queryForObject("SELECT COUNT(*) FROM occupancy_snapshot", Long.class));
+    }
+
+    @Test
+    void forecastExtendsTheLeastSquaresLineToTheFirstFullDay() {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        for (int d = 0; d < 10; d++) {
+            rollup(today.minusDays(9 - d), ROOM, 1, 0, d == 0 ? 20 : 0, d + 1, 20);
+        }
+
+        OccupancyForecastResponse forecast = occupancy.forecast(10, 30, ROOM);
+
+        assertEquals(1.0, forecast.getSlopePerDay(), 1e-9);
+        assertEquals(20, forecast.getCapacity());
+        assertEquals(30, forecast.getPoints().size());
+        assertEquals(today.plusDays(1), forecast.getPoints().get(0).getDate());
+        assertEquals(11, forecast.getPoints().get(0).getOccupied());
+        assertEquals(today.plusDays(10), forecast.getFullOn());
+    }
+
+    @Test
+    void forecastNeedsAtLeastTwoDaysOfHistory() {
+        assertThrows(IllegalArgumentException.class, () -> occupancy.forecast(1, 30, ROOM));
+    }
+
+    /** Capacity 10 added on Mon 29 Mar 2021, then seats end the days at 3, 5 (31 Mar), 1 (2 Apr), 7 (5 Apr). */
+    private void seedWeekOfMarch2021() {
+        rollup(LocalDate.of(2021, 3, 29), ROOM, 3, 0, 10, 3, 10);
+        rollup(LocalDate.of(2021, 3, 31), ROOM, 2, 0, 0, 5, 10);
+        rollup(LocalDate.of(2021, 4, 2), ROOM, 0, 4, 0, 1, 10);
+        rollup(LocalDate.of(2021, 4, 5), ROOM, 6, 0, 0, 7, 10);
+    }
+
+    private void rollup(LocalDate day, long roomId, int allocations, int releases, int capacityChange,
+                        int occupiedEnd, int capacityEnd) {
+        jdbc.update("""
+                INSERT INTO occupancy_daily
+                       (rollup_date, room_id, allocations, releases, capacity_change, occupied_end, capacity_end)
+                VALUES (?, ?, ?, ?, ?, ?, ?)
+                """, day, roomId, allocations, releases, capacityChange, occupiedEnd, capacityEnd);
+    }
+
+    private static void assertPoint(OccupancyPoint p, LocalDate start, long allocations, long releases,
+                                    long occupied, long peak, long capacity) {
+        assertEquals(start, p.getPeriodStart());
+        assertEquals(allocations, p.getAllocations());
+        assertEquals(releases, p.getReleases());
+        assertEquals(occupied, p.getOccupied());
+        assertEquals(peak, p.getPeakOccupied());
+        assertEquals(capacity, p.getCapacity());
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.Roomsmicroservice.service;
+
+import com.example.Roomsmicroservice.model.Room;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/** POST /rooms/allocations: all-or-nothing batches, netting per room, and the error statuses. */
+@SpringBootTest(properties = {"eureka.client.enabled=false", "spring.jpa.show-sql=false"})
+@AutoConfigureMockMvc
+class RoomAllocationBatchTest {
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Test
+    void oneFailingItemRollsBackTheWholeBatchWith409() throws Exception {
+        Long a = room("BATCH-A", 4, 0);
+        Long b = room("BATCH-B", 2, 2);
+
+        send("""
+                {"allocations": [{"roomId": %d, "seats": 2}, {"roomId": %d, "seats": 1}]}
+                """.formatted(a, b))
+                .andExpect(status().isConflict());
+
+        assertEquals(0, roomService.getById(a).getOccupied());
+        assertEquals(2, roomService.getById(b).getOccupied());
+    }
+
+    @Test
+    void unknownRoomRollsBackTheWholeBatchWith400() throws Exception {
+        Long a = room("BATCH-C", 4, 0);
+
+        send("""
+                {"allocations": [{"roomId": %d, "seats": 1}, {"roomId": %d, "seats": 1}]}
+                """.formatted(a, Long.MAX_VALUE))
+                .andExpect(status().isBadRequest());
+
+        assertEquals(0, roomService.getById(a).getOccupied());
+    }
+
+    @Test
+    void releaseCannotTakeOccupancyBelowZero() throws Exception {
+        Long a = room("BATCH-D", 4, 1);
+
+        send("""
+                {"releases": [{"roomId": %d, "seats": 2}]}
+                """.formatted(a))
+                .andExpect(status().isConflict());
+
+        assertEquals(1, roomService.getById(a).getOccupied());
+    }
+
+    @Test
+    void itemsForOneRoomAreNettedBeforeTheCapacityCheck() throws Exception {
+        Long a = room("BATCH-E", 2, 2);
+
+        // +2 alone would overflow a full room, but with the -2 release the net change is zero
+        send("""
+                {"allocations": [{"roomId": %d, "seats": 1}, {"roomId": %d, "seats": 1}],
+                 "releases": [{"roomId": %d, "seats": 2}]}
+                """.formatted(a, a, a))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rooms.length()").value(1))
+                .andExpect(jsonPath("$.rooms[0].occupied").value(2));
+
+        send("""
+                {"allocations": [{"roomId": %d, "seats": 1}], "releases": [{"roomId": %d, "seats": 2}]}
+                """.formatted(a, a))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rooms[0].occupied").value(1))
+                .andExpect(jsonPath("$.rooms[0].remaining").value(1));
+    }
+
+    @Test
+    void emptyBatchAndNonPositiveSeatsAreRejected() throws Exception {
+        Long a = room("BATCH-F", 2, 0);
+
+        send("{}").andExpect(status().isBadRequest());
+        send("""
+                {"allocations": [{"roomId": %d, "seats": 0}]}
+                """.formatted(a))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void oversizedSeatCountsAreRejectedInsteadOfWrappingAround() throws Exception {
+        Long a = room("BATCH-G", 4, 2);
+
+        // Two of these used to net to -2 and release seats
+        send("""
+                {"allocations": [{"roomId": %d, "seats": %d}, {"roomId": %d, "seats": %d}]}
+                """.formatted(a, Integer.MAX_VALUE, a, Integer.MAX_VALUE))
+                .andExpect(status().isBadRequest());
+        send("""
+                {"allocations": [{"roomId": %d, "seats": %d}]}
+                """.formatted(a, RoomService.MAX_SEATS_PER_ITEM + 1))
+                .andExpect(status().isBadRequest());
+
+        assertEquals(2, roomService.getById(a).getOccupied());
+    }
+
+    private ResultActions send(String body) throws Exception {
+        return mvc.perform(post("/rooms/allocations").contentType(MediaType.APPLICATION_JSON).content(body));
+    }
+
+    private Long room(String name, int capacity, int occupied) {
+        Room r = new Room();
+        r.setName(name);
+        r.setType("dorm");
+        r.setCapacity(capacity);
+        r.setOccupied(occupied);
+        r.setPrice(3000);
+        return roomService.create(r).getId();
+    }
+}
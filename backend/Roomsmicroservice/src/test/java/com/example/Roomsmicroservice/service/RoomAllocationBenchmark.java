@@ -0,0 +1,144 @@
+package com.example.Roomsmicroservice.service;
+
+import com.example.Roomsmicroservice.RoomsmicroserviceApplication;
+import com.example.Roomsmicroservice.dto.AllocationRequest;
+import com.example.Roomsmicroservice.model.Room;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Onboarding a group of groupSize tenants spread over 10 rooms: one POST /rooms/allocations
+ * batch vs one allocate() per seat; and allocate() throughput with 64 threads on one room.
+ *
+ * Run with:
+ *   mvn test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=com.example.Roomsmicroservice.service.RoomAllocationBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class RoomAllocationBenchmark {
+
+    private static final int ROOMS = 10;
+
+    @State(Scope.Benchmark)
+    public static class Group {
+
+        @Param({"1", "20", "100"})
+        public int groupSize;
+
+        private ConfigurableApplicationContext context;
+        private RoomService rooms;
+        private JdbcTemplate jdbc;
+        private List<Long> roomIds;
+        private AllocationRequest batch;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            context = start();
+            rooms = context.getBean(RoomService.class);
+            jdbc = context.getBean(JdbcTemplate.class);
+
+            roomIds = new ArrayList<>();
+            for (int i = 0; i < ROOMS; i++) {
+                Room r = new Room();
+                r.setName("BENCH-" + i);
+                r.setType("dorm");
+                r.setCapacity(groupSize);
+                r.setPrice(4000);
+                roomIds.add(rooms.create(r).getId());
+            }
+
+            batch = new AllocationRequest();
+            for (int i = 0; i < groupSize; i++) {
+                AllocationRequest.Item item = new AllocationRequest.Item();
+                item.setRoomId(roomIds.get(i % ROOMS));
+                item.setSeats(1);
+                batch.getAllocations().add(item);
+            }
+        }
+
+        /** Empty the rooms again so every invocation allocates into the same state. */
+        @Setup(Level.Invocation)
+        public void resetOccupancy() {
+            jdbc.update("UPDATE room SET occupied = 0, status = 'AVAILABLE'");
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            context.close();
+        }
+    }
+
+    /** One room too big to fill during a run, so every call is a successful conditional update. */
+    @State(Scope.Benchmark)
+    public static class Contended {
+
+        private ConfigurableApplicationContext context;
+        private RoomService rooms;
+        private Long roomId;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            context = start();
+            rooms = context.getBean(RoomService.class);
+            Room r = new Room();
+            r.setName("BENCH-HOT");
+            r.setType("dorm");
+            r.setCapacity(1_000_000_000);
+            r.setPrice(4000);
+            roomId = rooms.create(r).getId();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public List<Room> batch(Group g) {
+        return g.rooms.applyAllocations(g.batch);
+    }
+
+    @Benchmark
+    public int perSeatLoop(Group g) {
+        for (int i = 0; i < g.groupSize; i++) {
+            g.rooms.allocate(g.roomIds.get(i % ROOMS));
+        }
+        return g.groupSize;
+    }
+
+    @Benchmark
+    @Threads(64)
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public Room contendedAllocate(Contended c) {
+        return c.rooms.allocate(c.roomId);
+    }
+
+    private static ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(RoomsmicroserviceApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("eureka.client.enabled=false", "spring.jpa.show-sql=false")
+                .run();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RoomAllocationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.Roomsmicroservice.service;
+
+import com.example.Roomsmicroservice.model.Room;
+import com.example.Roomsmicroservice.model.RoomStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/** Correctness under contention; allocate() throughput is measured by {@link RoomAllocationBenchmark}. */
+@SpringBootTest(properties = {"eureka.client.enabled=false", "spring.jpa.show-sql=false"})
+class RoomAllocationStressTest {
+
+    private static final int THREADS = 64;
+    private static final int ATTEMPTS_PER_THREAD = 50;
+    private static final int CAPACITY = 1000;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Test
+    void sixtyFourThreadsNeverOverbookOneRoom() throws Exception {
+        Room room = new Room();
+        room.setName("STRESS-1");
+        room.setType("dorm");
+        room.setCapacity(CAPACITY);
+        room.setPrice(5000);
+        Long id = roomService.create(room).getId();
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger allocated = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    try {
+                        roomService.allocate(id);
+                        allocated.incrementAndGet();
+                    } catch (IllegalStateException full) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> f : futures) {
+            f.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        int attempts = THREADS * ATTEMPTS_PER_THREAD;
+        Room after = roomService.getById(id);
+        assertEquals(CAPACITY, allocated.get());
+        assertEquals(attempts - CAPACITY, rejected.get());
+        assertEquals(CAPACITY, after.getOccupied());
+        assertEquals(RoomStatus.FULL, after.getStatus());
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.Roomsmicroservice.service;
+
+import com.example.Roomsmicroservice.RoomsmicroserviceApplication;
+import com.example.Roomsmicroservice.model.Room;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GET /rooms?q= with {@code rooms} rooms loaded: a name prefix (index range scan), a status
+ * lookup, and the substring fallback.
+ *
+ * Run with:
+ *   mvn test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=com.example.Roomsmicroservice.service.RoomSearchBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class RoomSearchBenchmark {
+
+    private static final String[] TYPES = {"single", "2-sharing", "3-sharing", "4-sharing", "dorm"};
+
+    @Param({"10000", "100000"})
+    public int rooms;
+
+    private ConfigurableApplicationContext context;
+    private RoomService roomService;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = new SpringApplicationBuilder(RoomsmicroserviceApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("eureka.client.enabled=false", "spring.jpa.show-sql=false")
+                .run();
+        roomService = context.getBean(RoomService.class);
+
+        List<Object[]> rows = new ArrayList<>(rooms);
+        for (int i = 0; i < rooms; i++) {
+            String name = String.format("P%06d", i);
+            String type = TYPES[i % TYPES.length];
+            rows.add(new Object[] { name, name.toLowerCase(Locale.ROOT), type, type, 3, i % 4 == 0 ? 3 : 1,
+                    4000 + (i % 10) * 500, i % 4 == 0 ? "FULL" : "AVAILABLE" });
+        }
+        context.getBean(JdbcTemplate.class).batchUpdate("""
+                INSERT INTO room (name, name_lc, type, type_lc, capacity, occupied, price, status, version)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0)
+                """, rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Room> namePrefix() {
+        return roomService.getAll("P01234");
+    }
+
+    @Benchmark
+    public List<Room> status() {
+        return roomService.getAll("full");
+    }
+
+    @Benchmark
+    public List<Room> substringFallback() {
+        return roomService.getAll("9999");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RoomSearchBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
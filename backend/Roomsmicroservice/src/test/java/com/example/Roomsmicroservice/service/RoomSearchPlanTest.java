@@ -0,0 +1,128 @@
+package com.example.Roomsmicroservice.service;
+
+import com.example.Roomsmicroservice.model.Room;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Query plans and results of GET /rooms?q= over a seeded table. Latency is measured by
+ * {@link RoomSearchBenchmark}.
+ */
+@SpringBootTest(properties = {
+        "eureka.client.enabled=false",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.example.Roomsmicroservice.service.RoomSearchPlanTest$CapturedSql"})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class RoomSearchPlanTest {
+
+    private static final int ROOMS = 20_000;
+    private static final String[] TYPES = {"single", "2-sharing", "3-sharing", "4-sharing", "dorm"};
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @BeforeAll
+    void seed() {
+        List<Object[]> rows = new ArrayList<>(ROOMS);
+        for (int i = 0; i < ROOMS; i++) {
+            String name = String.format("P%06d", i);
+            String type = TYPES[i % TYPES.length];
+            rows.add(new Object[] { name, name.toLowerCase(Locale.ROOT), type, type, 3, i % 4 == 0 ? 3 : 1,
+                    4000 + (i % 10) * 500, i % 4 == 0 ? "FULL" : "AVAILABLE" });
+        }
+        jdbc.batchUpdate("""
+                INSERT INTO room (name, name_lc, type, type_lc, capacity, occupied, price, status, version)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0)
+                """, rows);
+    }
+
+    /** The context is cached and shared with the other tests; don't leave the seeded rows behind. */
+    @AfterAll
+    void removeSeed() {
+        jdbc.update("DELETE FROM room WHERE name LIKE 'P%'");
+    }
+
+    @Test
+    void prefixSearchesUseTheLowerCaseIndexes() {
+        CapturedSql.STATEMENTS.clear();
+        roomService.getAll("P01234");
+
+        // The statements Hibernate actually sends: a bound pattern with an escape clause
+        String byName = captured("name_lc like ?");
+        String byType = captured("type_lc like ?");
+        assertTrue(byName.contains("escape"), byName);
+
+        String namePlan = plan(byName, "p01234%");
+        String typePlan = plan(byType, "dor%");
+        assertTrue(namePlan.toUpperCase(Locale.ROOT).contains("IDX_ROOM_NAME_LC"), namePlan);
+        assertTrue(typePlan.toUpperCase(Locale.ROOT).contains("IDX_ROOM_TYPE_LC"), typePlan);
+    }
+
+    @Test
+    void prefixSearchReturnsOnlyMatchingRoomsInNameOrder() {
+        List<Room> byPrefix = roomService.getAll("p01234");
+
+        assertEquals(List.of("P012340", "P012341", "P012342", "P012343", "P012344",
+                "P012345", "P012346", "P012347", "P012348", "P012349"),
+                byPrefix.stream().map(Room::getName).toList());
+    }
+
+    @Test
+    void substringSearchRunsOnlyWhenNoPrefixMatches() {
+        List<Room> bySubstring = roomService.getAll("9999");
+
+        assertFalse(bySubstring.isEmpty());
+        assertTrue(bySubstring.stream().allMatch(r -> r.getName().contains("9999")));
+    }
+
+    @Test
+    void statusSearchReturnsFullRooms() {
+        List<Room> full = roomService.getAll("FULL");
+
+        assertTrue(full.size() >= ROOMS / 4);
+        assertTrue(full.stream().allMatch(r -> r.getOccupied() >= r.getCapacity()));
+    }
+
+    private static String captured(String fragment) {
+        return CapturedSql.STATEMENTS.stream()
+                .filter(sql -> sql.toLowerCase(Locale.ROOT).contains(fragment))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("no statement containing '" + fragment + "' in "
+                        + CapturedSql.STATEMENTS));
+    }
+
+    private String plan(String sql, String pattern) {
+        return String.join("\n", jdbc.queryForList("EXPLAIN " + sql, String.class, pattern));
+    }
+
+    /** Records the SQL Hibernate prepares so the plans are taken for the real statements. */
+    public static class CapturedSql implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -6,17 +6,34 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.example.Tenantsmicroservice.dto.DuesSummaryResponse;
+import com.example.Tenantsmicroservice.dto.ImportReport;
+import com.example.Tenantsmicroservice.dto.LedgerEntryRequest;
+import com.example.Tenantsmicroservice.dto.LedgerEntryResponse;
 import com.example.Tenantsmicroservice.dto.TenantRequest;
 import com.example.Tenantsmicroservice.dto.TenantResponse;
+import com.example.Tenantsmicroservice.dues.DuesAggregates;
+import com.example.Tenantsmicroservice.model.LedgerEntry;
 import com.example.Tenantsmicroservice.model.Tenants;
+import com.example.Tenantsmicroservice.service.LedgerService;
+import com.example.Tenantsmicroservice.service.TenantImportService;
 import com.example.Tenantsmicroservice.service.TenantService;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/tenants")
@@ -25,11 +42,39 @@ public class TenantController {
 	@Autowired
     private TenantService service;
 
+    @Autowired
+    private TenantImportService importer;
 
-    // GET /api/tenants?q=
+    @Autowired
+    private LedgerService ledger;
+
+    @Autowired
+    private DuesAggregates dues;
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+
+    // GET /api/tenants?cursor=...&limit=...&fields=name,room,due  (by id; next page cursor in X-Next-Cursor)
+    // GET /api/tenants?q=...&page=0&size=20  (q: phone digits, room code or name words; ranked; blank q lists)
     @GetMapping
-    public List<TenantResponse> list(@RequestParam(value = "q", required = false) String q) {
-        return service.getAll(q).stream().map(TenantResponse::from).toList();
+    public ResponseEntity<List<?>> list(
+            @RequestParam(value = "q", required = false) String q,
+            @RequestParam(value = "page", required = false) Integer page,
+            @RequestParam(value = "size", required = false) Integer size,
+            @RequestParam(value = "cursor", required = false) Long cursor,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "fields", required = false) List<String> fields) {
+        if (StringUtils.hasText(q)) {
+            return ResponseEntity.ok(service.search(q, page, size).stream().map(TenantResponse::from).toList());
+        }
+        List<Map<String, Object>> rows = service.getPage(cursor, limit, fields);
+        int pageSize = limit == null ? TenantService.DEFAULT_PAGE_SIZE
+                : Math.max(1, Math.min(limit, TenantService.MAX_PAGE_SIZE));
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok();
+        if (rows.size() == pageSize) {
+            ok.header(NEXT_CURSOR_HEADER, String.valueOf(rows.get(pageSize - 1).get("id")));
+        }
+        return ok.body(rows);
     }
 
     // GET /api/tenants/{id}
@@ -66,6 +111,36 @@ public class TenantController {
         return TenantResponse.from(service.update(id, patch));
     }
 
+    // GET /api/tenants/dues/summary  (portfolio totals, served from memory)
+    @GetMapping("/dues/summary")
+    public DuesSummaryResponse duesSummary() {
+        return DuesSummaryResponse.from(dues);
+    }
+
+    // GET /api/tenants/{id}/ledger?cursor=...&limit=...  (newest first; next page cursor in X-Next-Cursor)
+    @GetMapping("/{id}/ledger")
+    public ResponseEntity<List<LedgerEntryResponse>> ledger(
+            @PathVariable Long id,
+            @RequestParam(value = "cursor", required = false) Long cursor,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        List<LedgerEntry> page = ledger.statement(id, cursor, limit);
+        int size = limit == null ? LedgerService.DEFAULT_PAGE_SIZE
+                : Math.max(1, Math.min(limit, LedgerService.MAX_PAGE_SIZE));
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok();
+        if (page.size() == size) {
+            ok.header(NEXT_CURSOR_HEADER, String.valueOf(page.get(size - 1).getId()));
+        }
+        return ok.body(page.stream().map(LedgerEntryResponse::from).toList());
+    }
+
+    // POST /api/tenants/{id}/ledger  { "type": "PAYMENT", "amount": 5000, "note": "..." }
+    @PostMapping("/{id}/ledger")
+    public ResponseEntity<LedgerEntryResponse> post(@PathVariable Long id, @Valid @RequestBody LedgerEntryRequest req) {
+        LedgerEntry saved = ledger.post(id, req.getType(), req.getAmount(), req.getNote());
+        return ResponseEntity.created(URI.create("/tenants/" + id + "/ledger/" + saved.getId()))
+                             .body(LedgerEntryResponse.from(saved));
+    }
+
     // DELETE /api/tenants/{id}
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(@PathVariable Long id) {
@@ -73,31 +148,33 @@ public class TenantController {
         return ResponseEntity.noContent().build();
     }
 
-    // GET /api/tenants/export (CSV)
-    @GetMapping(value = "/export", produces = "text/csv")
-    public ResponseEntity<byte[]> exportCsv(@RequestParam(value = "q", required = false) String q) {
-        List<TenantResponse> rows = list(q);
-        String header = "TenantId,Name,Phone,Room,CheckIn,Due";
-        String body = rows.stream()
-                .map(r -> String.join(",",
-                        safe(r.getTenantId()),
-                        safe(r.getName()),
-                        safe(r.getPhone()),
-                        safe(r.getRoom()),
-                        safe(r.getCheckIn()),
-                        String.valueOf(r.getDue())))
-                .collect(Collectors.joining("\n"));
-        String csv = header + "\n" + body;
-
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=tenants.csv")
-                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
-                .body(csv.getBytes(StandardCharsets.UTF_8));
+    // POST /api/tenants/import  (text/csv with the export header, or application/x-ndjson of TenantRequest)
+    @PostMapping(value = "/import", consumes = { "text/csv", "application/x-ndjson", "application/ndjson" })
+    public ImportReport importTenants(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                      InputStream body) throws IOException {
+        return contentType.contains("ndjson") ? importer.importNdjson(body) : importer.importCsv(body);
     }
 
-    private static String safe(String s) {
-        if (s == null) return "";
-        String escaped = s.replace("\"", "\"\"");
-        return "\"" + escaped + "\"";
+    // GET /api/tenants/export?q=...&gzip=true  (CSV, streamed row by row)
+    @GetMapping(value = "/export", produces = "text/csv")
+    public ResponseEntity<StreamingResponseBody> exportCsv(
+            @RequestParam(value = "q", required = false) String q,
+            @RequestParam(value = "gzip", defaultValue = "false") boolean gzip) {
+        StreamingResponseBody body = out -> {
+            OutputStream target = gzip ? new GZIPOutputStream(out, 8192) : out;
+            Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), 16 * 1024);
+            service.exportCsv(q, writer);
+            if (target instanceof GZIPOutputStream gz) {
+                gz.finish();
+            }
+        };
+
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=tenants.csv")
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8));
+        if (gzip) {
+            ok.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return ok.body(body);
     }
 }
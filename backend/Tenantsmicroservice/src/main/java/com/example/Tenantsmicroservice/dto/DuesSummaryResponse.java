@@ -0,0 +1,43 @@
+package com.example.Tenantsmicroservice.dto;
+
+import com.example.Tenantsmicroservice.dues.DuesAggregates;
+
+import java.util.List;
+
+public class DuesSummaryResponse {
+
+    private long totalDue;
+    private long overdueTenants;
+    private List<RoomDues> byRoom;
+
+    public static DuesSummaryResponse from(DuesAggregates aggregates) {
+        DuesSummaryResponse r = new DuesSummaryResponse();
+        r.totalDue = aggregates.getTotalDue();
+        r.overdueTenants = aggregates.getOverdueTenants();
+        r.byRoom = aggregates.byRoom().entrySet().stream()
+                .map(e -> new RoomDues(e.getKey(), e.getValue()[0], e.getValue()[1]))
+                .toList();
+        return r;
+    }
+
+    // getters
+    public long getTotalDue() { return totalDue; }
+    public long getOverdueTenants() { return overdueTenants; }
+    public List<RoomDues> getByRoom() { return byRoom; }
+
+    public static class RoomDues {
+        private final String room;
+        private final long totalDue;
+        private final long overdueTenants;
+
+        public RoomDues(String room, long totalDue, long overdueTenants) {
+            this.room = room;
+            this.totalDue = totalDue;
+            this.overdueTenants = overdueTenants;
+        }
+
+        public String getRoom() { return room; }
+        public long getTotalDue() { return totalDue; }
+        public long getOverdueTenants() { return overdueTenants; }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.Tenantsmicroservice.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** Result of POST /tenants/import. Line numbers are 1-based lines of the upload. */
+public class ImportReport {
+
+    /** Only the first errors are listed in full; the counters are always exact. */
+    public static final int MAX_LISTED_ERRORS = 1000;
+
+    private long received;
+    private long imported;
+    private long failed;
+    private final List<RowError> errors = new ArrayList<>();
+
+    public void received() { received++; }
+    public void imported(int count) { imported += count; }
+
+    public void failed(long line, String tenantId, String message) {
+        failed++;
+        if (errors.size() < MAX_LISTED_ERRORS) {
+            errors.add(new RowError(line, tenantId, message));
+        }
+    }
+
+    // getters
+    public long getReceived() { return received; }
+    public long getImported() { return imported; }
+    public long getFailed() { return failed; }
+    public List<RowError> getErrors() { return errors; }
+
+    public static class RowError {
+        private final long line;
+        private final String tenantId;
+        private final String message;
+
+        public RowError(long line, String tenantId, String message) {
+            this.line = line;
+            this.tenantId = tenantId;
+            this.message = message;
+        }
+
+        public long getLine() { return line; }
+        public String getTenantId() { return tenantId; }
+        public String getMessage() { return message; }
+    }
+}
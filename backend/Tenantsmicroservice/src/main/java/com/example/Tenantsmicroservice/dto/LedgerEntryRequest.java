@@ -0,0 +1,26 @@
+package com.example.Tenantsmicroservice.dto;
+
+import com.example.Tenantsmicroservice.model.LedgerEntry;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+public class LedgerEntryRequest {
+
+    @NotNull
+    private LedgerEntry.Type type;
+
+    /** CHARGE/PAYMENT: positive INR amount; ADJUSTMENT: signed */
+    private int amount;
+
+    @Size(max = 200)
+    private String note;
+
+    // getters/setters
+    public LedgerEntry.Type getType() { return type; }
+    public void setType(LedgerEntry.Type type) { this.type = type; }
+    public int getAmount() { return amount; }
+    public void setAmount(int amount) { this.amount = amount; }
+    public String getNote() { return note; }
+    public void setNote(String note) { this.note = note; }
+}
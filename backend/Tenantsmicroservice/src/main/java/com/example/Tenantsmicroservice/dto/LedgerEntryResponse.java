@@ -0,0 +1,32 @@
+package com.example.Tenantsmicroservice.dto;
+
+import com.example.Tenantsmicroservice.model.LedgerEntry;
+
+public class LedgerEntryResponse {
+
+    private Long id;
+    private String type;
+    private int amount;
+    private int balanceAfter;
+    private String note;
+    private String createdAt; // ISO instant
+
+    public static LedgerEntryResponse from(LedgerEntry e) {
+        LedgerEntryResponse r = new LedgerEntryResponse();
+        r.id = e.getId();
+        r.type = e.getType().name();
+        r.amount = e.getAmount();
+        r.balanceAfter = e.getBalanceAfter();
+        r.note = e.getNote();
+        r.createdAt = e.getCreatedAt().toString();
+        return r;
+    }
+
+    // getters
+    public Long getId() { return id; }
+    public String getType() { return type; }
+    public int getAmount() { return amount; }
+    public int getBalanceAfter() { return balanceAfter; }
+    public String getNote() { return note; }
+    public String getCreatedAt() { return createdAt; }
+}
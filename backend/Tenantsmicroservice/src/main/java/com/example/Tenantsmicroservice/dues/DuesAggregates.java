@@ -0,0 +1,136 @@
+package com.example.Tenantsmicroservice.dues;
+
+import com.example.Tenantsmicroservice.event.TenantDuesChangedEvent;
+import com.example.Tenantsmicroservice.repository.TenantRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Portfolio-wide dues totals (overall and per room), maintained incrementally from committed
+ * ledger writes so GET /tenants/dues/summary never scans tenants. A tenant counts as overdue
+ * while its balance is above zero. Seeded with one GROUP BY on startup.
+ *
+ * Ledger postings, room moves and deletes in TenantService, and import batches each publish a
+ * TenantDuesChangedEvent whose deltas go into the per-room due/overdue adders after commit.
+ * A rebuild replaces the whole Totals, so a delta landing on the old object while the GROUP BY
+ * runs would be lost, and one committed before the query but applied after the swap would be
+ * counted twice. To prevent both, such a transaction keeps a shared hold from BEFORE_COMMIT
+ * until its delta is in the adders, and rebuild() waits for those holds to drain and blocks
+ * new ones while it reads and installs the fresh Totals.
+ */
+@Component
+public class DuesAggregates {
+
+    private final TenantRepository repo;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile Totals totals = new Totals();
+
+    public DuesAggregates(TenantRepository repo) {
+        this.repo = repo;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            Totals fresh = new Totals();
+            for (Object[] row : repo.sumDuesByRoom()) {
+                String room = (String) row[0];
+                long due = ((Number) row[1]).longValue();
+                long overdue = ((Number) row[2]).longValue();
+                fresh.room(room).add(due, overdue);
+                fresh.totalDue.add(due);
+                fresh.overdueTenants.add(overdue);
+            }
+            totals = fresh;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Takes the shared lock once per writing transaction; released after completion, i.e. after onDuesChanged. */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void holdUntilApplied(TenantDuesChangedEvent e) {
+        if (TransactionSynchronizationManager.hasResource(lock)) {
+            return;
+        }
+        lock.readLock().lock();
+        TransactionSynchronizationManager.bindResource(lock, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(lock);
+                lock.readLock().unlock();
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDuesChanged(TenantDuesChangedEvent e) {
+        lock.readLock().lock(); // re-entrant: a committing transaction already holds it
+        try {
+            Totals t = totals;
+            if (e.getOldRoom() != null) {
+                apply(t, e.getOldRoom(), -e.getOldDue(), e.getOldDue() > 0 ? -1 : 0);
+            }
+            if (e.getNewRoom() != null) {
+                apply(t, e.getNewRoom(), e.getNewDue(), e.getNewDue() > 0 ? 1 : 0);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long getTotalDue() { return totals.totalDue.sum(); }
+    public long getOverdueTenants() { return totals.overdueTenants.sum(); }
+
+    /** room -> [totalDue, overdueTenants], rooms with nothing outstanding omitted, sorted by room. */
+    public Map<String, long[]> byRoom() {
+        Map<String, long[]> result = new TreeMap<>();
+        totals.rooms.forEach((room, r) -> {
+            long due = r.due.sum();
+            long overdue = r.overdue.sum();
+            if (due != 0 || overdue != 0) {
+                result.put(room, new long[] { due, overdue });
+            }
+        });
+        return result;
+    }
+
+    private static void apply(Totals t, String room, long dueDelta, long overdueDelta) {
+        t.room(room).add(dueDelta, overdueDelta);
+        t.totalDue.add(dueDelta);
+        t.overdueTenants.add(overdueDelta);
+    }
+
+    private static final class Totals {
+        final LongAdder totalDue = new LongAdder();
+        final LongAdder overdueTenants = new LongAdder();
+        final ConcurrentHashMap<String, RoomTotals> rooms = new ConcurrentHashMap<>();
+
+        RoomTotals room(String room) {
+            return rooms.computeIfAbsent(room, k -> new RoomTotals());
+        }
+    }
+
+    private static final class RoomTotals {
+        final LongAdder due = new LongAdder();
+        final LongAdder overdue = new LongAdder();
+
+        void add(long dueDelta, long overdueDelta) {
+            due.add(dueDelta);
+            overdue.add(overdueDelta);
+        }
+    }
+}
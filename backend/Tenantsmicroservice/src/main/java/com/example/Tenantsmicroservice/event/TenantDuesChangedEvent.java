@@ -0,0 +1,25 @@
+package com.example.Tenantsmicroservice.event;
+
+/**
+ * A tenant's balance and/or room changed. oldRoom is null for a new tenant, newRoom is null for a
+ * removed one. Listeners use {@code @TransactionalEventListener} so they only see committed changes.
+ */
+public class TenantDuesChangedEvent {
+
+    private final String oldRoom;
+    private final int oldDue;
+    private final String newRoom;
+    private final int newDue;
+
+    public TenantDuesChangedEvent(String oldRoom, int oldDue, String newRoom, int newDue) {
+        this.oldRoom = oldRoom;
+        this.oldDue = oldDue;
+        this.newRoom = newRoom;
+        this.newDue = newDue;
+    }
+
+    public String getOldRoom() { return oldRoom; }
+    public int getOldDue() { return oldDue; }
+    public String getNewRoom() { return newRoom; }
+    public int getNewDue() { return newDue; }
+}
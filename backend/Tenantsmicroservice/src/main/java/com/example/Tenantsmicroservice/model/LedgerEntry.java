@@ -0,0 +1,62 @@
+package com.example.Tenantsmicroservice.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * One charge, payment or adjustment on a tenant's account. Append-only: Tenants.due is the
+ * balanceAfter of the tenant's latest entry.
+ */
+@Entity
+@Table(name = "tenant_ledger", indexes = {
+    @Index(name = "idx_tenant_ledger_tenant", columnList = "tenant_ref, id") // statement paging
+})
+public class LedgerEntry {
+
+    public enum Type { CHARGE, PAYMENT, ADJUSTMENT }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** Tenants.id (numeric PK) */
+    @Column(name = "tenant_ref", nullable = false)
+    private Long tenantRef;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entry_type", nullable = false, length = 12)
+    private Type type;
+
+    /** Signed change to the balance (INR): charges are positive, payments negative */
+    @Column(nullable = false)
+    private int amount;
+
+    @Column(name = "balance_after", nullable = false)
+    private int balanceAfter;
+
+    @Column(length = 200)
+    private String note;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    protected LedgerEntry() { }
+
+    public LedgerEntry(Long tenantRef, Type type, int amount, int balanceAfter, String note) {
+        this.tenantRef = tenantRef;
+        this.type = type;
+        this.amount = amount;
+        this.balanceAfter = balanceAfter;
+        this.note = note;
+        this.createdAt = Instant.now();
+    }
+
+    // getters
+    public Long getId() { return id; }
+    public Long getTenantRef() { return tenantRef; }
+    public Type getType() { return type; }
+    public int getAmount() { return amount; }
+    public int getBalanceAfter() { return balanceAfter; }
+    public String getNote() { return note; }
+    public Instant getCreatedAt() { return createdAt; }
+}
@@ -0,0 +1,60 @@
+package com.example.Tenantsmicroservice.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * A keyset slice (afterId, lastId] of tenants with dues, processed by one worker in one
+ * transaction together with the outbox rows it produces.
+ */
+@Entity
+@Table(name = "reminder_chunk", indexes = {
+    @Index(name = "idx_reminder_chunk_run", columnList = "run_id, status")
+})
+public class ReminderChunk {
+
+    public enum Status { PENDING, DONE }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "run_id", nullable = false)
+    private Long runId;
+
+    /** Exclusive lower bound on Tenants.id */
+    @Column(name = "after_id", nullable = false)
+    private long afterId;
+
+    /** Inclusive upper bound on Tenants.id */
+    @Column(name = "last_id", nullable = false)
+    private long lastId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Status status;
+
+    @Column(nullable = false)
+    private int reminders;
+
+    @Column(name = "finished_at")
+    private Instant finishedAt;
+
+    protected ReminderChunk() { }
+
+    public ReminderChunk(Long runId, long afterId, long lastId) {
+        this.runId = runId;
+        this.afterId = afterId;
+        this.lastId = lastId;
+        this.status = Status.PENDING;
+    }
+
+    // getters
+    public Long getId() { return id; }
+    public Long getRunId() { return runId; }
+    public long getAfterId() { return afterId; }
+    public long getLastId() { return lastId; }
+    public Status getStatus() { return status; }
+    public int getReminders() { return reminders; }
+    public Instant getFinishedAt() { return finishedAt; }
+}
@@ -0,0 +1,64 @@
+package com.example.Tenantsmicroservice.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * Reminder waiting to be delivered (SMS/notice). Written by the dues reminder job only;
+ * a sender marks sentAt once delivered. One row per tenant per run.
+ */
+@Entity
+@Table(name = "reminder_outbox", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_reminder_outbox_run_tenant", columnNames = {"run_id", "tenant_ref"})
+}, indexes = {
+    @Index(name = "idx_reminder_outbox_unsent", columnList = "sent_at, id")
+})
+public class ReminderOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "run_id", nullable = false)
+    private Long runId;
+
+    /** Tenants.id (numeric PK) */
+    @Column(name = "tenant_ref", nullable = false)
+    private Long tenantRef;
+
+    @Column(name = "tenant_id", nullable = false, length = 16)
+    private String tenantId;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(nullable = false, length = 20)
+    private String phone;
+
+    @Column(nullable = false, length = 20)
+    private String room;
+
+    /** Balance (INR) at the time the reminder was generated */
+    @Column(nullable = false)
+    private int amount;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "sent_at")
+    private Instant sentAt;
+
+    protected ReminderOutbox() { }
+
+    // getters
+    public Long getId() { return id; }
+    public Long getRunId() { return runId; }
+    public Long getTenantRef() { return tenantRef; }
+    public String getTenantId() { return tenantId; }
+    public String getName() { return name; }
+    public String getPhone() { return phone; }
+    public String getRoom() { return room; }
+    public int getAmount() { return amount; }
+    public Instant getCreatedAt() { return createdAt; }
+    public Instant getSentAt() { return sentAt; }
+}
@@ -0,0 +1,54 @@
+package com.example.Tenantsmicroservice.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * One pass of the dues reminder job. The run's ReminderChunks are planned up front and stay
+ * in the table, so a run left RUNNING by a restart is picked up where it stopped.
+ */
+@Entity
+@Table(name = "reminder_run", indexes = {
+    @Index(name = "idx_reminder_run_status", columnList = "status")
+})
+public class ReminderRun {
+
+    public enum Status { RUNNING, COMPLETED }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Status status;
+
+    @Column(name = "started_at", nullable = false)
+    private Instant startedAt;
+
+    @Column(name = "finished_at")
+    private Instant finishedAt;
+
+    @Column(name = "chunk_count", nullable = false)
+    private int chunkCount;
+
+    /** Outbox rows written by the run, filled in on completion */
+    @Column(name = "reminder_count", nullable = false)
+    private long reminderCount;
+
+    protected ReminderRun() { }
+
+    public ReminderRun(int chunkCount) {
+        this.status = Status.RUNNING;
+        this.startedAt = Instant.now();
+        this.chunkCount = chunkCount;
+    }
+
+    // getters
+    public Long getId() { return id; }
+    public Status getStatus() { return status; }
+    public Instant getStartedAt() { return startedAt; }
+    public Instant getFinishedAt() { return finishedAt; }
+    public int getChunkCount() { return chunkCount; }
+    public long getReminderCount() { return reminderCount; }
+}
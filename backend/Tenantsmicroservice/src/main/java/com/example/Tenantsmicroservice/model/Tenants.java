@@ -4,8 +4,16 @@ package com.example.Tenantsmicroservice.model;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import java.time.LocalDate;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
 
 @Entity
+@Table(name = "tenants", indexes = {
+    @Index(name = "idx_tenants_phone_digits", columnList = "phone_digits"), // phone prefix search
+    @Index(name = "idx_tenants_phone_rev", columnList = "phone_rev"),       // phone suffix search
+    @Index(name = "idx_tenants_room_key", columnList = "room_key")
+})
 public class Tenants {
 
     @Id
@@ -36,11 +44,58 @@ public class Tenants {
     @Column(name = "check_in", nullable = false)
     private LocalDate checkIn;
 
+    /** Search keys kept in sync on write: phone digits forwards and reversed, normalized room code */
+    @Column(name = "phone_digits", length = 20)
+    private String phoneDigits;
+
+    @Column(name = "phone_rev", length = 20)
+    private String phoneRev;
+
+    @Column(name = "room_key", length = 20)
+    private String roomKey;
+
+    /** Lower-cased words of the name, one indexed row each, for word-prefix search */
+    @ElementCollection
+    @CollectionTable(name = "tenant_name_token",
+            joinColumns = @JoinColumn(name = "tenant_ref"),
+            indexes = @Index(name = "idx_tenant_name_token", columnList = "token, tenant_ref"))
+    @Column(name = "token", nullable = false, length = 100)
+    private Set<String> nameTokens = new LinkedHashSet<>();
+
     /** Amount due (INR) */
     @Min(0)
     @Column(nullable = false)
     private Integer due;
 
+    @PrePersist
+    @PreUpdate
+    public void normalizeSearchColumns() {
+        this.phoneDigits = phone == null ? null : digits(phone);
+        this.phoneRev = phoneDigits == null ? null : new StringBuilder(phoneDigits).reverse().toString();
+        this.roomKey = room == null ? null : roomKey(room);
+    }
+
+    /** "+91 98765-43210" -> "919876543210" */
+    public static String digits(String s) {
+        return s.replaceAll("\\D", "");
+    }
+
+    /** "a-101 " -> "A101" */
+    public static String roomKey(String s) {
+        return s.replaceAll("[^A-Za-z0-9]", "").toUpperCase(Locale.ROOT);
+    }
+
+    /** "Ravi  Kumar-Singh" -> [ravi, kumar, singh] */
+    public static Set<String> tokenize(String s) {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String token : s.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token.length() > 100 ? token.substring(0, 100) : token);
+            }
+        }
+        return tokens;
+    }
+
     // getters/setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -49,7 +104,18 @@ public class Tenants {
     public void setTenantId(String tenantId) { this.tenantId = tenantId; }
 
     public String getName() { return name; }
-    public void setName(String name) { this.name = name; }
+    public void setName(String name) {
+        this.name = name;
+        // Updated in place so Hibernate only rewrites the tokens that changed
+        Set<String> tokens = name == null ? Set.of() : tokenize(name);
+        nameTokens.retainAll(tokens);
+        nameTokens.addAll(tokens);
+    }
+
+    public Set<String> getNameTokens() { return nameTokens; }
+
+    public String getPhoneDigits() { return phoneDigits; }
+    public String getRoomKey() { return roomKey; }
 
     public String getPhone() { return phone; }
     public void setPhone(String phone) { this.phone = phone; }
@@ -0,0 +1,197 @@
+package com.example.Tenantsmicroservice.reminders;
+
+import com.example.Tenantsmicroservice.model.ReminderChunk;
+import com.example.Tenantsmicroservice.model.ReminderRun;
+import com.example.Tenantsmicroservice.repository.ReminderChunkRepository;
+import com.example.Tenantsmicroservice.repository.ReminderRunRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Writes a reminder_outbox row for every tenant with dues. A run is planned up front as
+ * keyset chunks of tenants.reminders.chunk-size tenants, persisted as ReminderChunks; the
+ * chunks are then drained by a fixed pool of workers. Each chunk's outbox rows and its DONE
+ * mark commit together, so after a crash or restart the run resumes with the pending chunks
+ * and never emits a reminder twice.
+ */
+@Component
+public class DuesReminderJob {
+
+    private static final Logger log = LoggerFactory.getLogger(DuesReminderJob.class);
+
+    /** Id of the chunkSize-th tenant with dues after :after, i.e. the next chunk boundary. */
+    private static final String NEXT_BOUNDARY_SQL =
+            "SELECT id FROM tenants WHERE id > ? AND due > 0 ORDER BY id LIMIT 1 OFFSET ?";
+
+    private static final String EMIT_SQL = """
+            INSERT INTO reminder_outbox (run_id, tenant_ref, tenant_id, name, phone, room, amount, created_at)
+            SELECT ?, id, tenant_id, name, phone, room, due, CURRENT_TIMESTAMP
+              FROM tenants
+             WHERE id > ? AND id <= ? AND due > 0
+            """;
+
+    private static final String COMPLETE_CHUNK_SQL = """
+            UPDATE reminder_chunk SET status = 'DONE', reminders = ?, finished_at = CURRENT_TIMESTAMP
+             WHERE id = ? AND status = 'PENDING'
+            """;
+
+    private final ReminderRunRepository runs;
+    private final ReminderChunkRepository chunks;
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final int chunkSize;
+    private final int threads;
+    private final ThreadPoolExecutor pool;
+    private final AtomicBoolean busy = new AtomicBoolean();
+
+    public DuesReminderJob(
+            ReminderRunRepository runs,
+            ReminderChunkRepository chunks,
+            JdbcTemplate jdbc,
+            PlatformTransactionManager txManager,
+            @Value("${tenants.reminders.chunk-size:1000}") int chunkSize,
+            @Value("${tenants.reminders.threads:0}") int threads) {
+        this.runs = runs;
+        this.chunks = chunks;
+        this.jdbc = jdbc;
+        this.tx = new TransactionTemplate(txManager);
+        this.chunkSize = chunkSize;
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+
+        AtomicInteger seq = new AtomicInteger();
+        // One task per worker and at most one run at a time, so the queue never fills
+        this.pool = new ThreadPoolExecutor(
+                this.threads, this.threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(this.threads),
+                r -> {
+                    Thread t = new Thread(r, "dues-reminders-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
+
+    @Scheduled(cron = "${tenants.reminders.cron:0 0 9 * * *}")
+    public void scheduled() {
+        run();
+    }
+
+    /** A run interrupted by shutdown is finished in the background once the app is up. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterrupted() {
+        if (runs.findFirstByStatusOrderByIdDesc(ReminderRun.Status.RUNNING).isPresent()) {
+            Thread t = new Thread(this::run, "dues-reminders-resume");
+            t.setDaemon(true);
+            t.start();
+        }
+    }
+
+    /**
+     * Resumes the open run, or plans and processes a new one. Returns the finished run, or
+     * empty when another run is in progress or a chunk failed (it is retried on the next call).
+     */
+    public Optional<ReminderRun> run() {
+        if (!busy.compareAndSet(false, true)) {
+            return Optional.empty();
+        }
+        try {
+            ReminderRun run = runs.findFirstByStatusOrderByIdDesc(ReminderRun.Status.RUNNING)
+                    .orElseGet(this::plan);
+            if (!process(run)) {
+                return Optional.empty();
+            }
+            tx.executeWithoutResult(status -> runs.complete(run.getId(), Instant.now()));
+            ReminderRun done = runs.findById(run.getId()).orElseThrow();
+            log.info("Dues reminder run {} finished: {} reminders from {} chunks",
+                    done.getId(), done.getReminderCount(), done.getChunkCount());
+            return Optional.of(done);
+        } finally {
+            busy.set(false);
+        }
+    }
+
+    /** Walks the tenants with dues once, by primary key, and stores the chunk boundaries. */
+    private ReminderRun plan() {
+        List<long[]> bounds = new ArrayList<>();
+        Long max = jdbc.queryForObject("SELECT MAX(id) FROM tenants WHERE due > 0", Long.class);
+        if (max != null) {
+            long after = 0;
+            while (after < max) {
+                List<Long> next = jdbc.queryForList(NEXT_BOUNDARY_SQL, Long.class, after, chunkSize - 1);
+                long last = next.isEmpty() ? max : next.get(0);
+                bounds.add(new long[] { after, last });
+                after = last;
+            }
+        }
+        return tx.execute(status -> {
+            ReminderRun run = runs.save(new ReminderRun(bounds.size()));
+            List<ReminderChunk> planned = new ArrayList<>(bounds.size());
+            for (long[] b : bounds) {
+                planned.add(new ReminderChunk(run.getId(), b[0], b[1]));
+            }
+            chunks.saveAll(planned);
+            return run;
+        });
+    }
+
+    /** Drains the run's pending chunks on the worker pool; false if any chunk failed. */
+    private boolean process(ReminderRun run) {
+        Queue<ReminderChunk> pending = new ConcurrentLinkedQueue<>(
+                chunks.findByRunIdAndStatusOrderById(run.getId(), ReminderChunk.Status.PENDING));
+        int workers = Math.min(threads, pending.size());
+        List<Future<?>> futures = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            futures.add(pool.submit(() -> {
+                ReminderChunk chunk;
+                while ((chunk = pending.poll()) != null) {
+                    processChunk(chunk);
+                }
+            }));
+        }
+
+        boolean ok = true;
+        for (Future<?> f : futures) {
+            try {
+                f.get();
+            } catch (ExecutionException ex) {
+                log.warn("Dues reminder run {} left unfinished, will resume", run.getId(), ex.getCause());
+                ok = false;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return ok;
+    }
+
+    private void processChunk(ReminderChunk chunk) {
+        tx.executeWithoutResult(status -> {
+            int emitted = jdbc.update(EMIT_SQL, chunk.getRunId(), chunk.getAfterId(), chunk.getLastId());
+            if (jdbc.update(COMPLETE_CHUNK_SQL, emitted, chunk.getId()) == 0) {
+                status.setRollbackOnly(); // already done by an earlier attempt
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.Tenantsmicroservice.repository;
+
+import com.example.Tenantsmicroservice.model.LedgerEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface LedgerEntryRepository extends JpaRepository<LedgerEntry, Long> {
+
+    // --- newest-first statement pages over idx_tenant_ledger_tenant (tenant_ref, id) ---
+
+    @Query("select e from LedgerEntry e where e.tenantRef = :tenant order by e.id desc")
+    List<LedgerEntry> findFirstPage(@Param("tenant") Long tenantRef, Pageable page);
+
+    @Query("select e from LedgerEntry e where e.tenantRef = :tenant and e.id < :before order by e.id desc")
+    List<LedgerEntry> findPageBefore(@Param("tenant") Long tenantRef, @Param("before") Long beforeId, Pageable page);
+}
@@ -0,0 +1,11 @@
+package com.example.Tenantsmicroservice.repository;
+
+import com.example.Tenantsmicroservice.model.ReminderChunk;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface ReminderChunkRepository extends JpaRepository<ReminderChunk, Long> {
+
+    List<ReminderChunk> findByRunIdAndStatusOrderById(Long runId, ReminderChunk.Status status);
+}
@@ -0,0 +1,30 @@
+package com.example.Tenantsmicroservice.repository;
+
+import com.example.Tenantsmicroservice.model.ReminderRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Optional;
+
+public interface ReminderRunRepository extends JpaRepository<ReminderRun, Long> {
+
+    Optional<ReminderRun> findFirstByStatusOrderByIdDesc(ReminderRun.Status status);
+
+    /** Closes the run once no chunk is left pending; returns 0 while work remains. */
+    @Modifying(clearAutomatically = true)
+    @Query("""
+           update ReminderRun r
+              set r.status = com.example.Tenantsmicroservice.model.ReminderRun.Status.COMPLETED,
+                  r.finishedAt = :now,
+                  r.reminderCount = (select coalesce(sum(c.reminders), 0) from ReminderChunk c where c.runId = r.id)
+            where r.id = :id
+              and r.status = com.example.Tenantsmicroservice.model.ReminderRun.Status.RUNNING
+              and not exists (select c from ReminderChunk c
+                               where c.runId = r.id
+                                 and c.status = com.example.Tenantsmicroservice.model.ReminderChunk.Status.PENDING)
+           """)
+    int complete(@Param("id") Long id, @Param("now") Instant now);
+}
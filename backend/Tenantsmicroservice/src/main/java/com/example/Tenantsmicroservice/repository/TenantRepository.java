@@ -2,21 +2,60 @@
 package com.example.Tenantsmicroservice.repository;
 
 import com.example.Tenantsmicroservice.model.Tenants;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface TenantRepository extends JpaRepository<Tenants, Long> {
 
     boolean existsByTenantId(String tenantId);
 
+    /** Row-locks the tenant so ledger writes to one account are serialized. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from Tenants t where t.id = :id")
+    Optional<Tenants> findForUpdate(@Param("id") Long id);
+
+    /** Rows of (room, sum of due, tenants with due > 0); seeds the dues aggregates. */
+    @Query("select t.room, sum(t.due), sum(case when t.due > 0 then 1 else 0 end) from Tenants t group by t.room")
+    List<Object[]> sumDuesByRoom();
+
+    // --- search: index range scans on the normalized search keys, capped by the Pageable ---
+
+    List<Tenants> findByPhoneDigitsStartingWithOrderByPhoneDigits(String prefix, Pageable page);
+
+    List<Tenants> findByPhoneRevStartingWithOrderByPhoneRev(String reversedSuffix, Pageable page);
+
+    List<Tenants> findByRoomKeyOrderByName(String roomKey, Pageable page);
+
+    // --- streaming export: forward-only cursor, rows fetched in chunks, no dirty checking ---
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select t from Tenants t order by t.id")
+    Stream<Tenants> streamAll();
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
     @Query("""
            select t from Tenants t
             where lower(t.name)  like lower(concat('%', :q, '%'))
                or lower(t.phone) like lower(concat('%', :q, '%'))
                or lower(t.room)  like lower(concat('%', :q, '%'))
+            order by t.id
            """)
-    List<Tenants> search(@Param("q") String q);
+    Stream<Tenants> streamSearch(@Param("q") String q);
 }
@@ -0,0 +1,87 @@
+package com.example.Tenantsmicroservice.service;
+
+import com.example.Tenantsmicroservice.event.TenantDuesChangedEvent;
+import com.example.Tenantsmicroservice.model.LedgerEntry;
+import com.example.Tenantsmicroservice.model.Tenants;
+import com.example.Tenantsmicroservice.repository.LedgerEntryRepository;
+import com.example.Tenantsmicroservice.repository.TenantRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Append-only dues ledger. Every balance change goes through {@link #append}, which writes the
+ * entry and moves Tenants.due (the materialized running balance) while the tenant row is locked.
+ */
+@Service
+@Transactional
+public class LedgerService {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 200;
+
+    private final TenantRepository tenants;
+    private final LedgerEntryRepository entries;
+    private final ApplicationEventPublisher events;
+
+    public LedgerService(TenantRepository tenants, LedgerEntryRepository entries, ApplicationEventPublisher events) {
+        this.tenants = tenants;
+        this.entries = entries;
+        this.events = events;
+    }
+
+    /** Posts a charge or payment (positive amount) or a signed adjustment. */
+    public LedgerEntry post(Long tenantId, LedgerEntry.Type type, int amount, String note) {
+        if (type == null) {
+            throw new IllegalArgumentException("type is required");
+        }
+        if (type == LedgerEntry.Type.ADJUSTMENT ? amount == 0 : amount <= 0) {
+            throw new IllegalArgumentException(type == LedgerEntry.Type.ADJUSTMENT
+                    ? "Adjustment amount must not be zero" : "Amount must be positive");
+        }
+        Tenants t = tenants.findForUpdate(tenantId)
+                .orElseThrow(() -> new IllegalArgumentException("Tenant not found: " + tenantId));
+        int signed = type == LedgerEntry.Type.PAYMENT ? -amount : amount;
+        return append(t, type, signed, note);
+    }
+
+    /**
+     * Appends an entry for a tenant the caller has already locked (or just inserted) and updates
+     * its balance. Aggregates pick the change up after commit.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public LedgerEntry append(Tenants lockedTenant, LedgerEntry.Type type, int signedAmount, String note) {
+        int oldDue = lockedTenant.getDue() == null ? 0 : lockedTenant.getDue();
+        int newDue;
+        try {
+            newDue = Math.addExact(oldDue, signedAmount);
+        } catch (ArithmeticException ex) {
+            throw new IllegalArgumentException("Balance cannot exceed " + Integer.MAX_VALUE);
+        }
+        if (newDue < 0) {
+            throw new IllegalArgumentException("Payment exceeds the amount due (" + oldDue + ")");
+        }
+        lockedTenant.setDue(newDue);
+        LedgerEntry entry = entries.save(new LedgerEntry(lockedTenant.getId(), type, signedAmount, newDue, note));
+        String room = lockedTenant.getRoom();
+        events.publishEvent(new TenantDuesChangedEvent(room, oldDue, room, newDue));
+        return entry;
+    }
+
+    /** Newest-first statement page; pass the last entry id of the previous page as {@code before}. */
+    @Transactional(readOnly = true)
+    public List<LedgerEntry> statement(Long tenantId, Long before, Integer limit) {
+        if (!tenants.existsById(tenantId)) {
+            throw new IllegalArgumentException("Tenant not found: " + tenantId);
+        }
+        int size = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        PageRequest page = PageRequest.ofSize(size);
+        return before == null
+                ? entries.findFirstPage(tenantId, page)
+                : entries.findPageBefore(tenantId, before, page);
+    }
+}
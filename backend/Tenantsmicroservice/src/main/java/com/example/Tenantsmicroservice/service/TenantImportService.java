@@ -0,0 +1,363 @@
+package com.example.Tenantsmicroservice.service;
+
+import com.example.Tenantsmicroservice.dto.ImportReport;
+import com.example.Tenantsmicroservice.dto.TenantRequest;
+import com.example.Tenantsmicroservice.event.TenantDuesChangedEvent;
+import com.example.Tenantsmicroservice.model.Tenants;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk tenant import: the upload is read record by record (a CSV record continues past a line
+ * break inside a quoted field), each row is parsed and checked against the TenantRequest
+ * constraints, duplicates (within the upload or against existing tenant_id values) are rejected, and
+ * valid rows are inserted with one JDBC batch per tenants.import.batch-size rows, each batch
+ * in its own transaction. Bad rows are reported and never abort the rest of the import.
+ */
+@Service
+public class TenantImportService {
+
+    /** Same columns as GET /tenants/export, so an export can be re-imported as is. */
+    static final List<String> CSV_COLUMNS = List.of("TenantId", "Name", "Phone", "Room", "CheckIn", "Due");
+
+    /** Longest CSV record; keeps a stray quote from swallowing the rest of the upload. */
+    static final int MAX_RECORD_CHARS = 4096;
+
+    private static final String INSERT_SQL = """
+            INSERT INTO tenants (tenant_id, name, phone, room, check_in, due, phone_digits, phone_rev, room_key)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    /** Search keys normally maintained by the Tenants entity; see Tenants.normalizeSearchColumns */
+    private static final String NAME_TOKEN_SQL =
+            "INSERT INTO tenant_name_token (tenant_ref, token) SELECT id, ? FROM tenants WHERE tenant_id = ?";
+
+    /** Opening-balance ledger entries for a whole batch in one statement. */
+    private static final String OPENING_BALANCE_SQL = """
+            INSERT INTO tenant_ledger (tenant_ref, entry_type, amount, balance_after, note, created_at)
+            SELECT id, 'CHARGE', due, due, 'Opening balance (import)', CURRENT_TIMESTAMP
+              FROM tenants
+             WHERE tenant_id IN (:ids) AND due > 0
+            """;
+
+    private final JdbcTemplate jdbc;
+    private final NamedParameterJdbcTemplate named;
+    private final TransactionTemplate tx;
+    private final ObjectMapper json;
+    private final Validator validator;
+    private final ApplicationEventPublisher events;
+    private final int batchSize;
+
+    public TenantImportService(
+            JdbcTemplate jdbc,
+            PlatformTransactionManager txManager,
+            ObjectMapper json,
+            Validator validator,
+            ApplicationEventPublisher events,
+            @Value("${tenants.import.batch-size:1000}") int batchSize) {
+        this.jdbc = jdbc;
+        this.named = new NamedParameterJdbcTemplate(jdbc);
+        this.tx = new TransactionTemplate(txManager);
+        this.json = json;
+        this.validator = validator;
+        this.events = events;
+        this.batchSize = batchSize;
+    }
+
+    public ImportReport importCsv(InputStream in) throws IOException {
+        return run(in, false);
+    }
+
+    public ImportReport importNdjson(InputStream in) throws IOException {
+        return run(in, true);
+    }
+
+    private ImportReport run(InputStream in, boolean ndjson) throws IOException {
+        ImportReport report = new ImportReport();
+        Set<String> seen = new HashSet<>();
+        List<Row> batch = new ArrayList<>(batchSize);
+
+        RecordReader records = new RecordReader(
+                new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)), !ndjson);
+        String record;
+        if (!ndjson) {
+            checkHeader(records.next());
+        }
+        while ((record = records.next()) != null) {
+            long lineNo = records.line();
+            if (record.isBlank()) {
+                continue;
+            }
+            report.received();
+            TenantRequest req;
+            try {
+                req = ndjson ? parseJson(record) : parseCsv(record);
+            } catch (IllegalArgumentException ex) {
+                report.failed(lineNo, null, ex.getMessage());
+                continue;
+            }
+            String error = validate(req);
+            if (error != null) {
+                report.failed(lineNo, req.getTenantId(), error);
+                continue;
+            }
+            if (!seen.add(req.getTenantId())) {
+                report.failed(lineNo, req.getTenantId(), "Duplicate tenantId in upload");
+                continue;
+            }
+            batch.add(new Row(lineNo, req));
+            if (batch.size() == batchSize) {
+                flush(batch, report);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            flush(batch, report);
+        }
+        return report;
+    }
+
+    /** Dedupe against the table and insert the rest in one JDBC batch, in one transaction. */
+    private void flush(List<Row> batch, ImportReport report) {
+        Set<String> existing = new HashSet<>(named.queryForList(
+                "SELECT tenant_id FROM tenants WHERE tenant_id IN (:ids)",
+                new MapSqlParameterSource("ids", batch.stream().map(r -> r.req.getTenantId()).toList()),
+                String.class));
+        List<Row> fresh = new ArrayList<>(batch.size());
+        for (Row r : batch) {
+            if (existing.contains(r.req.getTenantId())) {
+                report.failed(r.line, r.req.getTenantId(), "TenantId already exists: " + r.req.getTenantId());
+            } else {
+                fresh.add(r);
+            }
+        }
+        if (fresh.isEmpty()) {
+            return;
+        }
+
+        try {
+            tx.executeWithoutResult(status -> insert(fresh));
+            report.imported(fresh.size());
+        } catch (DataIntegrityViolationException ex) {
+            // Lost a race with a concurrent writer: retry row by row to pin down the culprits
+            for (Row r : fresh) {
+                try {
+                    tx.executeWithoutResult(status -> insert(List.of(r)));
+                    report.imported(1);
+                } catch (DataIntegrityViolationException rowEx) {
+                    report.failed(r.line, r.req.getTenantId(), "TenantId already exists: " + r.req.getTenantId());
+                }
+            }
+        }
+    }
+
+    private void insert(List<Row> rows) {
+        jdbc.batchUpdate(INSERT_SQL, rows, rows.size(), (ps, r) -> {
+            TenantRequest t = r.req;
+            ps.setString(1, t.getTenantId());
+            ps.setString(2, t.getName());
+            ps.setString(3, t.getPhone());
+            ps.setString(4, t.getRoom());
+            ps.setDate(5, Date.valueOf(t.getCheckIn()));
+            ps.setInt(6, t.getDue() == null ? 0 : t.getDue());
+            String digits = Tenants.digits(t.getPhone());
+            ps.setString(7, digits);
+            ps.setString(8, new StringBuilder(digits).reverse().toString());
+            ps.setString(9, Tenants.roomKey(t.getRoom()));
+        });
+        List<Object[]> tokens = new ArrayList<>();
+        for (Row r : rows) {
+            for (String token : Tenants.tokenize(r.req.getName())) {
+                tokens.add(new Object[] { token, r.req.getTenantId() });
+            }
+        }
+        jdbc.batchUpdate(NAME_TOKEN_SQL, tokens);
+        named.update(OPENING_BALANCE_SQL, new MapSqlParameterSource("ids",
+                rows.stream().map(r -> r.req.getTenantId()).toList()));
+        for (Row r : rows) {
+            if (r.req.getDue() != null && r.req.getDue() > 0) {
+                events.publishEvent(new TenantDuesChangedEvent(null, 0, r.req.getRoom(), r.req.getDue()));
+            }
+        }
+    }
+
+    // --- parsing & validation ---
+
+    private static void checkHeader(String header) {
+        if (header == null) {
+            throw new IllegalArgumentException("Empty upload");
+        }
+        List<String> columns = splitCsv(header.startsWith("\uFEFF") ? header.substring(1) : header);
+        if (!columns.equals(CSV_COLUMNS)) {
+            throw new IllegalArgumentException("CSV header must be " + String.join(",", CSV_COLUMNS));
+        }
+    }
+
+    private static TenantRequest parseCsv(String line) {
+        List<String> f = splitCsv(line);
+        if (f.size() != CSV_COLUMNS.size()) {
+            throw new IllegalArgumentException("Expected " + CSV_COLUMNS.size() + " columns but got " + f.size());
+        }
+        TenantRequest t = new TenantRequest();
+        t.setTenantId(trimToNull(f.get(0)));
+        t.setName(trimToNull(f.get(1)));
+        t.setPhone(trimToNull(f.get(2)));
+        t.setRoom(trimToNull(f.get(3)));
+        try {
+            t.setCheckIn(StringUtils.hasText(f.get(4)) ? LocalDate.parse(f.get(4).trim()) : null);
+        } catch (DateTimeParseException ex) {
+            throw new IllegalArgumentException("CheckIn must be an ISO date (yyyy-MM-dd)");
+        }
+        try {
+            t.setDue(StringUtils.hasText(f.get(5)) ? Integer.valueOf(f.get(5).trim()) : 0);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Due must be a whole number");
+        }
+        return t;
+    }
+
+    private TenantRequest parseJson(String line) {
+        try {
+            return json.readValue(line, TenantRequest.class);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("Invalid JSON: " + ex.getOriginalMessage());
+        }
+    }
+
+    /** The TenantRequest constraints, as POST /tenants applies them; returns null when valid. */
+    private String validate(TenantRequest t) {
+        Set<ConstraintViolation<TenantRequest>> violations = validator.validate(t);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    /** RFC 4180 fields of one record: quoted fields may contain commas, doubled quotes and line breaks. */
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder cur = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        cur.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    cur.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(cur.toString());
+                cur.setLength(0);
+            } else {
+                cur.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(cur.toString());
+        return fields;
+    }
+
+    private static String trimToNull(String s) {
+        return StringUtils.hasText(s) ? s.trim() : null;
+    }
+
+    /**
+     * Records of the upload with the line each one starts on. In CSV mode a line that leaves a
+     * quoted field open is joined with the following lines (by "\n") until the field closes.
+     */
+    static final class RecordReader {
+        private final BufferedReader reader;
+        private final boolean csv;
+        private long lineNo;
+        private long startLine;
+
+        RecordReader(BufferedReader reader, boolean csv) {
+            this.reader = reader;
+            this.csv = csv;
+        }
+
+        String next() throws IOException {
+            String line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+            startLine = ++lineNo;
+            if (!csv || !opensQuote(line, false)) {
+                return line;
+            }
+            StringBuilder record = new StringBuilder(line);
+            boolean open = true;
+            while (open && record.length() <= MAX_RECORD_CHARS) {
+                String more = reader.readLine();
+                if (more == null) {
+                    break; // splitCsv reports the unterminated field
+                }
+                lineNo++;
+                record.append('\n').append(more);
+                open = opensQuote(more, open);
+            }
+            return record.toString();
+        }
+
+        /** 1-based line on which the last record returned by next() starts. */
+        long line() {
+            return startLine;
+        }
+
+        /** Whether a quoted field is open after {@code line}; doubled quotes cancel out. */
+        private static boolean opensQuote(String line, boolean open) {
+            for (int i = 0; i < line.length(); i++) {
+                if (line.charAt(i) == '"') {
+                    open = !open;
+                }
+            }
+            return open;
+        }
+    }
+
+    private static final class Row {
+        final long line;
+        final TenantRequest req;
+
+        Row(long line, TenantRequest req) {
+            this.line = line;
+            this.req = req;
+        }
+    }
+}
@@ -1,27 +1,232 @@
 package com.example.Tenantsmicroservice.service;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import com.example.Tenantsmicroservice.event.TenantDuesChangedEvent;
+import com.example.Tenantsmicroservice.model.LedgerEntry;
 import com.example.Tenantsmicroservice.model.Tenants;
 import com.example.Tenantsmicroservice.repository.TenantRepository;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 public class TenantService {
 
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    /** Ranked matches kept per query; pages past this are empty */
+    static final int MAX_SEARCH_RESULTS = 500;
+    private static final int ROOM_NUMBER_MAX_DIGITS = 4;
+
+    /** Fields GET /tenants can return, by JSON name, in response order */
+    private static final Map<String, String> LIST_COLUMNS = new LinkedHashMap<>();
+    static {
+        LIST_COLUMNS.put("id", "t.id");
+        LIST_COLUMNS.put("tenantId", "t.tenantId");
+        LIST_COLUMNS.put("name", "t.name");
+        LIST_COLUMNS.put("phone", "t.phone");
+        LIST_COLUMNS.put("room", "t.room");
+        LIST_COLUMNS.put("checkIn", "t.checkIn");
+        LIST_COLUMNS.put("due", "t.due");
+    }
+
+    private static final Pattern PHONE = Pattern.compile("\\+?[\\d\\s-]+");
+    private static final Pattern ROOM_CODE =
+            Pattern.compile("[A-Za-z]{1,3}[- ]?\\d{1,4}[A-Za-z]?|\\d{1,4}[- ]?[A-Za-z]{1,2}");
+
 	@Autowired
     private TenantRepository repo;
 
-    public List<Tenants> getAll(String q) {
-        if (StringUtils.hasText(q)) {
-            return repo.search(q.trim());
+    @PersistenceContext
+    private EntityManager em;
+
+    @Autowired
+    private LedgerService ledger;
+
+    @Autowired
+    private ApplicationEventPublisher events;
+
+    /**
+     * Page of tenants ordered by id, starting after the given id. Only the requested fields
+     * (all when none are given; the id always, as it is the cursor) are selected, as a tuple
+     * query, so no entities are loaded into the persistence context.
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getPage(Long after, Integer limit, List<String> fields) {
+        int size = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<String> selected = listFields(fields);
+        String jpql = "select " + String.join(", ", selected.stream().map(LIST_COLUMNS::get).toList())
+                + " from Tenants t where t.id > :after order by t.id";
+        List<Tuple> rows = em.createQuery(jpql, Tuple.class)
+                .setParameter("after", after == null ? 0L : after)
+                .setMaxResults(size)
+                .getResultList();
+
+        List<Map<String, Object>> page = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            for (int i = 0; i < selected.size(); i++) {
+                Object value = row.get(i);
+                item.put(selected.get(i), value instanceof LocalDate d ? d.toString() : value);
+            }
+            page.add(item);
         }
-        return repo.findAll();
+        return page;
+    }
+
+    private static List<String> listFields(List<String> fields) {
+        if (fields == null || fields.stream().noneMatch(StringUtils::hasText)) {
+            return new ArrayList<>(LIST_COLUMNS.keySet());
+        }
+        Set<String> requested = new HashSet<>();
+        for (String f : fields) {
+            String name = f.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!LIST_COLUMNS.containsKey(name)) {
+                throw new IllegalArgumentException("Unknown field: " + name + " (allowed: "
+                        + String.join(", ", LIST_COLUMNS.keySet()) + ")");
+            }
+            requested.add(name);
+        }
+        requested.add("id");
+        return LIST_COLUMNS.keySet().stream().filter(requested::contains).toList();
+    }
+
+    /**
+     * Ranked, capped search for the Tenants page. The input picks one index:
+     * digits (optionally with +, spaces, dashes) match phone numbers by prefix, then suffix;
+     * a room code like "A-101" or "12B" matches the room exactly; anything else matches tenants
+     * with a name word starting with each query word. Numbers of up to 4 digits are tried as a
+     * room first.
+     */
+    @Transactional(readOnly = true)
+    public List<Tenants> search(String q, Integer page, Integer size) {
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        long from = (long) Math.max(0, page == null ? 0 : page) * pageSize;
+        List<Tenants> ranked = rankedMatches(q.trim());
+        if (from >= ranked.size()) {
+            return List.of();
+        }
+        return ranked.subList((int) from, (int) Math.min(from + pageSize, ranked.size()));
+    }
+
+    private List<Tenants> rankedMatches(String q) {
+        Pageable cap = PageRequest.ofSize(MAX_SEARCH_RESULTS);
+        String digits = Tenants.digits(q);
+        if (PHONE.matcher(q).matches() && !digits.isEmpty()) {
+            if (digits.length() <= ROOM_NUMBER_MAX_DIGITS) {
+                List<Tenants> inRoom = repo.findByRoomKeyOrderByName(digits, cap);
+                if (!inRoom.isEmpty()) {
+                    return inRoom;
+                }
+            }
+            return byPhone(digits, cap);
+        }
+        if (ROOM_CODE.matcher(q).matches()) {
+            return repo.findByRoomKeyOrderByName(Tenants.roomKey(q), cap);
+        }
+        return byName(q);
+    }
+
+    /** Exact number first, then numbers starting with the digits, then numbers ending with them. */
+    private List<Tenants> byPhone(String digits, Pageable cap) {
+        Map<Long, Tenants> hits = new LinkedHashMap<>();
+        List<Tenants> byPrefix = repo.findByPhoneDigitsStartingWithOrderByPhoneDigits(digits, cap);
+        byPrefix.stream().filter(t -> digits.equals(t.getPhoneDigits())).forEach(t -> hits.put(t.getId(), t));
+        byPrefix.forEach(t -> hits.putIfAbsent(t.getId(), t));
+        String reversed = new StringBuilder(digits).reverse().toString();
+        repo.findByPhoneRevStartingWithOrderByPhoneRev(reversed, cap).forEach(t -> hits.putIfAbsent(t.getId(), t));
+        return hits.values().stream().limit(MAX_SEARCH_RESULTS).toList();
+    }
+
+    /**
+     * Every query word must start a name word; more whole-word hits rank first, then by name and
+     * id. All of it runs in the database, one token-index join per query word, so the capped
+     * result is the true top of the ranking rather than of a sample. Words are letters and
+     * digits only (see Tenants.tokenize), so the LIKE patterns need no escaping.
+     */
+    private List<Tenants> byName(String q) {
+        List<String> words = new ArrayList<>(Tenants.tokenize(q));
+        if (words.isEmpty()) {
+            return List.of();
+        }
+        StringBuilder exact = new StringBuilder();
+        StringBuilder joins = new StringBuilder();
+        StringBuilder where = new StringBuilder();
+        for (int i = 0; i < words.size(); i++) {
+            exact.append(i == 0 ? "" : " + ").append("max(case when n").append(i).append(" = :w").append(i)
+                    .append(" then 1 else 0 end)");
+            joins.append(" join t.nameTokens n").append(i);
+            where.append(i == 0 ? " where " : " and ").append("n").append(i).append(" like :p").append(i);
+        }
+        String jpql = "select t.id, " + exact + " as hits from Tenants t" + joins + where
+                + " group by t.id, lower(t.name) order by hits desc, lower(t.name), t.id";
+        TypedQuery<Tuple> query = em.createQuery(jpql, Tuple.class).setMaxResults(MAX_SEARCH_RESULTS);
+        for (int i = 0; i < words.size(); i++) {
+            query.setParameter("w" + i, words.get(i));
+            query.setParameter("p" + i, words.get(i) + "%");
+        }
+        List<Long> ids = query.getResultList().stream().map(row -> row.get(0, Long.class)).toList();
+
+        Map<Long, Tenants> byId = new HashMap<>();
+        repo.findAllById(ids).forEach(t -> byId.put(t.getId(), t));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    /**
+     * Writes matching tenants as CSV straight from a database cursor. Each row is detached once
+     * written, so memory stays flat however many rows are exported. Must run on the thread that
+     * writes the response (e.g. inside a StreamingResponseBody).
+     */
+    @Transactional(readOnly = true)
+    public void exportCsv(String q, Writer out) throws IOException {
+        out.write("TenantId,Name,Phone,Room,CheckIn,Due\n");
+        try (Stream<Tenants> rows = StringUtils.hasText(q) ? repo.streamSearch(q.trim()) : repo.streamAll()) {
+            Iterator<Tenants> it = rows.iterator();
+            while (it.hasNext()) {
+                Tenants t = it.next();
+                out.write(csv(t.getTenantId()));
+                out.write(',');
+                out.write(csv(t.getName()));
+                out.write(',');
+                out.write(csv(t.getPhone()));
+                out.write(',');
+                out.write(csv(t.getRoom()));
+                out.write(',');
+                out.write(csv(t.getCheckIn() == null ? null : t.getCheckIn().toString()));
+                out.write(',');
+                out.write(String.valueOf(t.getDue()));
+                out.write('\n');
+                em.detach(t);
+            }
+        }
+        out.flush();
+    }
+
+    private static String csv(String s) {
+        if (s == null) return "";
+        String escaped = s.replace("\"", "\"\"");
+        return "\"" + escaped + "\"";
     }
 
     public Tenants getById(Long id) {
@@ -33,21 +238,41 @@ public class TenantService {
         if (repo.existsByTenantId(t.getTenantId())) {
             throw new IllegalArgumentException("TenantId already exists: " + t.getTenantId());
         }
-        return repo.save(t);
+        // The initial due becomes the first ledger entry rather than a bare column value
+        int opening = t.getDue() == null ? 0 : t.getDue();
+        t.setDue(0);
+        Tenants saved = repo.save(t);
+        if (opening > 0) {
+            ledger.append(saved, LedgerEntry.Type.CHARGE, opening, "Opening balance");
+        }
+        return saved;
     }
 
     public Tenants update(Long id, Tenants patch) {
-        Tenants t = getById(id);
+        Tenants t = repo.findForUpdate(id)
+                .orElseThrow(() -> new IllegalArgumentException("Tenant not found: " + id));
+        String oldRoom = t.getRoom();
+        int due = t.getDue() == null ? 0 : t.getDue();
         t.setTenantId(patch.getTenantId());
         t.setName(patch.getName());
         t.setPhone(patch.getPhone());
         t.setRoom(patch.getRoom());
         t.setCheckIn(patch.getCheckIn());
-        t.setDue(patch.getDue());
+        if (!Objects.equals(oldRoom, t.getRoom())) {
+            events.publishEvent(new TenantDuesChangedEvent(oldRoom, due, t.getRoom(), due));
+        }
+        // Editing the due amount records an adjustment instead of overwriting history
+        if (patch.getDue() != null && patch.getDue() != due) {
+            ledger.append(t, LedgerEntry.Type.ADJUSTMENT, patch.getDue() - due, "Balance set to " + patch.getDue());
+        }
         return repo.save(t);
     }
 
+    /** Removes the tenant; its ledger entries are kept as history. */
     public void delete(Long id) {
-        repo.deleteById(id);
+        repo.findForUpdate(id).ifPresent(t -> {
+            repo.delete(t);
+            events.publishEvent(new TenantDuesChangedEvent(t.getRoom(), t.getDue() == null ? 0 : t.getDue(), null, 0));
+        });
     }
 }
@@ -0,0 +1,93 @@
+package com.example.Tenantsmicroservice.reminders;
+
+import com.example.Tenantsmicroservice.TenantsmicroserviceApplication;
+import com.example.Tenantsmicroservice.model.ReminderRun;
+import com.example.Tenantsmicroservice.repository.ReminderChunkRepository;
+import com.example.Tenantsmicroservice.repository.ReminderRunRepository;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One full dues reminder run over 100k tenants (two in three owing) by worker count.
+ *
+ * Run with:
+ *   mvn test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=com.example.Tenantsmicroservice.reminders.DuesReminderBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class DuesReminderBenchmark {
+
+    private static final int TENANTS = 100_000;
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbc;
+    private DuesReminderJob job;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = new SpringApplicationBuilder(TenantsmicroserviceApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("eureka.client.enabled=false", "spring.jpa.show-sql=false")
+                .run();
+        jdbc = context.getBean(JdbcTemplate.class);
+
+        List<Object[]> rows = new ArrayList<>(TENANTS);
+        Date checkIn = Date.valueOf(LocalDate.of(2024, 1, 1));
+        for (int i = 0; i < TENANTS; i++) {
+            rows.add(new Object[] { String.format("R%06d", i), "Tenant " + i, String.format("9%09d", i),
+                    "A-" + (i % 500), checkIn, i % 3 == 0 ? 0 : 1000 + i % 5000 });
+        }
+        jdbc.batchUpdate("""
+                INSERT INTO tenants (tenant_id, name, phone, room, check_in, due)
+                VALUES (?, ?, ?, ?, ?, ?)
+                """, rows);
+
+        job = new DuesReminderJob(context.getBean(ReminderRunRepository.class),
+                context.getBean(ReminderChunkRepository.class), jdbc,
+                context.getBean(PlatformTransactionManager.class), 1000, threads);
+    }
+
+    /** Drop the previous run's output so every run writes into the same table size. */
+    @Setup(Level.Invocation)
+    public void clearOutbox() {
+        jdbc.update("DELETE FROM reminder_outbox");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        job.shutdown();
+        context.close();
+    }
+
+    @Benchmark
+    public ReminderRun fullRun() {
+        return job.run().orElseThrow();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(DuesReminderBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.Tenantsmicroservice.reminders;
+
+import com.example.Tenantsmicroservice.model.ReminderChunk;
+import com.example.Tenantsmicroservice.model.ReminderRun;
+import com.example.Tenantsmicroservice.repository.ReminderChunkRepository;
+import com.example.Tenantsmicroservice.repository.ReminderRunRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Correctness and resume of the reminder run over many chunks. Run times are in DuesReminderBenchmark. */
+@SpringBootTest(properties = {"eureka.client.enabled=false", "spring.jpa.show-sql=false"})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class DuesReminderJobTest {
+
+    private static final int TENANTS = 5_000;
+    private static final int CHUNK_SIZE = 100;
+
+    @Autowired
+    private ReminderRunRepository runs;
+
+    @Autowired
+    private ReminderChunkRepository chunks;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private PlatformTransactionManager txManager;
+
+    private final List<DuesReminderJob> jobs = new ArrayList<>();
+
+    @BeforeAll
+    void seed() {
+        List<Object[]> rows = new ArrayList<>(TENANTS);
+        Date checkIn = Date.valueOf(LocalDate.of(2024, 1, 1));
+        for (int i = 0; i < TENANTS; i++) {
+            // two tenants in three owe something
+            rows.add(new Object[] { String.format("RMD%06d", i), "Tenant " + i, String.format("9%09d", i),
+                    "A-" + (i % 500), checkIn, i % 3 == 0 ? 0 : 1000 + i % 5000 });
+        }
+        jdbc.batchUpdate("""
+                INSERT INTO tenants (tenant_id, name, phone, room, check_in, due)
+                VALUES (?, ?, ?, ?, ?, ?)
+                """, rows);
+    }
+
+    @AfterEach
+    void shutdownJobs() {
+        jobs.forEach(DuesReminderJob::shutdown);
+        jobs.clear();
+    }
+
+    /** The context is cached and shared with the other tests; don't leave the seeded rows behind. */
+    @AfterAll
+    void removeSeed() {
+        jdbc.update("DELETE FROM reminder_outbox");
+        jdbc.update("DELETE FROM reminder_chunk");
+        jdbc.update("DELETE FROM reminder_run");
+        jdbc.update("DELETE FROM tenants WHERE tenant_id LIKE 'RMD%'");
+    }
+
+    @Test
+    void everyTenantWithDuesGetsExactlyOneReminder() {
+        ReminderRun run = job(0).run().orElseThrow();
+
+        long owing = jdbc.queryForObject("SELECT COUNT(*) FROM tenants WHERE due > 0", Long.class);
+        assertEquals(ReminderRun.Status.COMPLETED, run.getStatus());
+        assertEquals(owing, run.getReminderCount());
+        assertEquals(owing, outbox(run.getId()));
+        assertEquals(owing, (long) jdbc.queryForObject(
+                "SELECT COUNT(DISTINCT tenant_ref) FROM reminder_outbox WHERE run_id = ?", Long.class, run.getId()));
+    }
+
+    @Test
+    void interruptedRunResumesWithPendingChunksOnly() {
+        ReminderRun run = job(0).run().orElseThrow();
+        long total = outbox(run.getId());
+
+        // Pretend the process died after the first half of the chunks committed
+        List<ReminderChunk> planned = chunks.findByRunIdAndStatusOrderById(run.getId(), ReminderChunk.Status.DONE);
+        List<ReminderChunk> undone = planned.subList(planned.size() / 2, planned.size());
+        for (ReminderChunk c : undone) {
+            jdbc.update("DELETE FROM reminder_outbox WHERE run_id = ? AND tenant_ref > ? AND tenant_ref <= ?",
+                    run.getId(), c.getAfterId(), c.getLastId());
+            jdbc.update("UPDATE reminder_chunk SET status = 'PENDING', reminders = 0 WHERE id = ?", c.getId());
+        }
+        jdbc.update("UPDATE reminder_run SET status = 'RUNNING', finished_at = NULL WHERE id = ?", run.getId());
+        assertTrue(outbox(run.getId()) < total);
+
+        ReminderRun resumed = job(0).run().orElseThrow();
+
+        assertEquals(run.getId(), resumed.getId());
+        assertEquals(total, resumed.getReminderCount());
+        assertEquals(total, outbox(run.getId()));
+    }
+
+    @Test
+    void workerCountDoesNotChangeTheReminders() {
+        ReminderRun single = job(1).run().orElseThrow();
+        ReminderRun parallel = job(4).run().orElseThrow();
+
+        assertEquals(single.getChunkCount(), parallel.getChunkCount());
+        assertEquals(single.getReminderCount(), parallel.getReminderCount());
+        assertEquals(0L, jdbc.queryForObject("""
+                SELECT COUNT(*) FROM (
+                    SELECT tenant_ref FROM reminder_outbox WHERE run_id = ?
+                    EXCEPT SELECT tenant_ref FROM reminder_outbox WHERE run_id = ?)
+                """, Long.class, single.getId(), parallel.getId()));
+    }
+
+    private DuesReminderJob job(int threads) {
+        DuesReminderJob job = new DuesReminderJob(runs, chunks, jdbc, txManager, CHUNK_SIZE, threads);
+        jobs.add(job);
+        return job;
+    }
+
+    private long outbox(Long runId) {
+        return jdbc.queryForObject("SELECT COUNT(*) FROM reminder_outbox WHERE run_id = ?", Long.class, runId);
+    }
+}
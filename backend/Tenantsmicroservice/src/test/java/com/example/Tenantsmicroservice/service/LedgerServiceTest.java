@@ -0,0 +1,198 @@
+package com.example.Tenantsmicroservice.service;
+
+import com.example.Tenantsmicroservice.dues.DuesAggregates;
+import com.example.Tenantsmicroservice.model.LedgerEntry;
+import com.example.Tenantsmicroservice.model.Tenants;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/** Ledger postings, the running balance on Tenants.due, and the in-memory dues summary. */
+@SpringBootTest(properties = {"eureka.client.enabled=false", "spring.jpa.show-sql=false"})
+@AutoConfigureMockMvc
+class LedgerServiceTest {
+
+    private static final int WRITERS = 8;
+    private static final int POSTINGS_PER_WRITER = 100;
+
+    private static final AtomicInteger SEQ = new AtomicInteger();
+
+    @Autowired
+    private LedgerService ledger;
+
+    @Autowired
+    private TenantService tenantService;
+
+    @Autowired
+    private DuesAggregates dues;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Test
+    void everyEntryRecordsTheRunningBalance() {
+        Tenants t = tenant("LEDGER-A", 1000);
+        ledger.post(t.getId(), LedgerEntry.Type.PAYMENT, 400, "cash");
+        ledger.post(t.getId(), LedgerEntry.Type.ADJUSTMENT, -100, "discount");
+        ledger.post(t.getId(), LedgerEntry.Type.CHARGE, 50, "laundry");
+
+        List<LedgerEntry> statement = ledger.statement(t.getId(), null, null);
+        assertEquals(List.of(LedgerEntry.Type.CHARGE, LedgerEntry.Type.ADJUSTMENT, LedgerEntry.Type.PAYMENT,
+                LedgerEntry.Type.CHARGE), statement.stream().map(LedgerEntry::getType).toList());
+        assertEquals(List.of(50, -100, -400, 1000), statement.stream().map(LedgerEntry::getAmount).toList());
+        assertEquals(List.of(550, 500, 600, 1000), statement.stream().map(LedgerEntry::getBalanceAfter).toList());
+        assertEquals(550, tenantService.getById(t.getId()).getDue());
+
+        // Paging backwards from the second entry
+        List<LedgerEntry> older = ledger.statement(t.getId(), statement.get(1).getId(), 1);
+        assertEquals(List.of(statement.get(2).getId()), older.stream().map(LedgerEntry::getId).toList());
+    }
+
+    @Test
+    void invalidPostingsAreRejectedAndLeaveTheBalanceAlone() {
+        Tenants t = tenant("LEDGER-B", 100);
+
+        assertThrows(IllegalArgumentException.class, () -> ledger.post(t.getId(), LedgerEntry.Type.PAYMENT, 101, null));
+        assertThrows(IllegalArgumentException.class, () -> ledger.post(t.getId(), LedgerEntry.Type.CHARGE, 0, null));
+        assertThrows(IllegalArgumentException.class, () -> ledger.post(t.getId(), LedgerEntry.Type.ADJUSTMENT, 0, null));
+        assertThrows(IllegalArgumentException.class, () -> ledger.post(Long.MAX_VALUE, LedgerEntry.Type.CHARGE, 1, null));
+
+        assertEquals(100, tenantService.getById(t.getId()).getDue());
+        assertEquals(1, ledger.statement(t.getId(), null, null).size());
+    }
+
+    @Test
+    void balanceOverflowIsABadRequest() throws Exception {
+        Tenants t = tenant("LEDGER-C", 1);
+
+        mvc.perform(post("/tenants/" + t.getId() + "/ledger")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"type\": \"CHARGE\", \"amount\": " + Integer.MAX_VALUE + "}"))
+                .andExpect(status().isBadRequest());
+
+        assertEquals(1, tenantService.getById(t.getId()).getDue());
+    }
+
+    @Test
+    void editingTheDueThroughUpdateRecordsAnAdjustment() {
+        Tenants t = tenant("LEDGER-D", 700);
+
+        Tenants patch = copy(t);
+        patch.setDue(250);
+        tenantService.update(t.getId(), patch);
+
+        LedgerEntry latest = ledger.statement(t.getId(), null, 1).get(0);
+        assertEquals(LedgerEntry.Type.ADJUSTMENT, latest.getType());
+        assertEquals(-450, latest.getAmount());
+        assertEquals(250, latest.getBalanceAfter());
+        assertEquals("Balance set to 250", latest.getNote());
+        assertEquals(250, tenantService.getById(t.getId()).getDue());
+    }
+
+    @Test
+    void summaryFollowsPostingsRoomMovesAndDeletes() {
+        Tenants a = tenant("LEDGER-E", 300);
+        Tenants b = tenant("LEDGER-E", 0);
+        ledger.post(b.getId(), LedgerEntry.Type.CHARGE, 200, null);
+        assertArrayEquals(new long[] { 500, 2 }, dues.byRoom().get("LEDGER-E"));
+
+        ledger.post(a.getId(), LedgerEntry.Type.PAYMENT, 300, null);
+        assertArrayEquals(new long[] { 200, 1 }, dues.byRoom().get("LEDGER-E"));
+
+        Tenants moved = copy(b);
+        moved.setRoom("LEDGER-F");
+        tenantService.update(b.getId(), moved);
+        assertNull(dues.byRoom().get("LEDGER-E"));
+        assertArrayEquals(new long[] { 200, 1 }, dues.byRoom().get("LEDGER-F"));
+
+        tenantService.delete(b.getId());
+        assertNull(dues.byRoom().get("LEDGER-F"));
+    }
+
+    @Test
+    void rebuildsRacingWithPostingsNeitherLoseNorDoubleCountChanges() throws Exception {
+        List<Tenants> accounts = new ArrayList<>();
+        for (int w = 0; w < WRITERS; w++) {
+            accounts.add(tenant("LEDGER-G", 0));
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(WRITERS);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        List<Future<?>> writers = new ArrayList<>();
+        for (Tenants account : accounts) {
+            writers.add(pool.submit(() -> {
+                for (int i = 0; i < POSTINGS_PER_WRITER; i++) {
+                    ledger.post(account.getId(), LedgerEntry.Type.CHARGE, 10, null);
+                    if (i % 3 == 0) {
+                        ledger.post(account.getId(), LedgerEntry.Type.PAYMENT, 10, null);
+                    }
+                }
+                return null;
+            }));
+        }
+        ExecutorService rebuilds = Executors.newSingleThreadExecutor();
+        Future<?> rebuilder = rebuilds.submit(() -> {
+            while (writing.get()) {
+                dues.rebuild();
+            }
+        });
+
+        for (Future<?> f : writers) {
+            f.get(120, TimeUnit.SECONDS);
+        }
+        writing.set(false);
+        rebuilder.get(30, TimeUnit.SECONDS);
+        pool.shutdown();
+        rebuilds.shutdown();
+
+        assertEquals(jdbc.queryForObject("SELECT COALESCE(SUM(due), 0) FROM tenants", Long.class), dues.getTotalDue());
+        assertEquals(jdbc.queryForObject("SELECT COUNT(*) FROM tenants WHERE due > 0", Long.class), dues.getOverdueTenants());
+        long expected = (long) WRITERS * (POSTINGS_PER_WRITER - (POSTINGS_PER_WRITER + 2) / 3) * 10;
+        assertArrayEquals(new long[] { expected, WRITERS }, dues.byRoom().get("LEDGER-G"));
+    }
+
+    private Tenants tenant(String room, int due) {
+        int n = SEQ.incrementAndGet();
+        Tenants t = new Tenants();
+        t.setTenantId("LDG-" + n);
+        t.setName("Ledger Tenant " + n);
+        t.setPhone(String.format("8%09d", n));
+        t.setRoom(room);
+        t.setCheckIn(LocalDate.of(2024, 1, 1));
+        t.setDue(due);
+        return tenantService.create(t);
+    }
+
+    private static Tenants copy(Tenants t) {
+        Tenants c = new Tenants();
+        c.setTenantId(t.getTenantId());
+        c.setName(t.getName());
+        c.setPhone(t.getPhone());
+        c.setRoom(t.getRoom());
+        c.setCheckIn(t.getCheckIn());
+        return c;
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.Tenantsmicroservice.service;
+
+import com.example.Tenantsmicroservice.model.Tenants;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/** GET /tenants/export: the streamed CSV, its quoting, the q filter and the gzip variant. */
+@SpringBootTest(properties = {"eureka.client.enabled=false", "spring.jpa.show-sql=false"})
+@AutoConfigureMockMvc
+class TenantExportTest {
+
+    private static final String HEADER = "TenantId,Name,Phone,Room,CheckIn,Due\n";
+
+    private static final AtomicInteger SEQ = new AtomicInteger();
+
+    @Autowired
+    private TenantService tenantService;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Test
+    void filteredExportQuotesEveryTextColumnInIdOrder() throws Exception {
+        String room = "XPRT-" + SEQ.incrementAndGet();
+        Tenants a = tenant("Anil \"Bunty\" Rao, Jr.", room, 0);
+        Tenants b = tenant("Meera\nNair", room, 1500);
+
+        String body = export(room, false).getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        assertEquals(HEADER + row(a, "\"Anil \"\"Bunty\"\" Rao, Jr.\"", 0)
+                + row(b, "\"Meera\nNair\"", 1500), body);
+    }
+
+    @Test
+    void unfilteredExportHasEveryTenant() throws Exception {
+        String room = "XPRT-" + SEQ.incrementAndGet();
+        Tenants a = tenant("Export All", room, 0);
+
+        String body = export(null, false).getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        assertTrue(body.startsWith(HEADER), body);
+        assertTrue(body.contains(row(a, "\"Export All\"", 0)), body);
+    }
+
+    @Test
+    void gzipExportDecompressesToThePlainBytes() throws Exception {
+        String room = "XPRT-" + SEQ.incrementAndGet();
+        tenant("Gzip One", room, 10);
+        tenant("Gzip Two", room, 20);
+
+        byte[] plain = export(room, false).getResponse().getContentAsByteArray();
+        MvcResult zipped = export(room, true);
+
+        assertEquals("gzip", zipped.getResponse().getHeader(HttpHeaders.CONTENT_ENCODING));
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(zipped.getResponse().getContentAsByteArray()))) {
+            assertArrayEquals(plain, in.readAllBytes());
+        }
+    }
+
+    /** The body is written on the async thread; dispatch again to collect it. */
+    private MvcResult export(String q, boolean gzip) throws Exception {
+        MockHttpServletRequestBuilder req = get("/tenants/export").param("gzip", String.valueOf(gzip));
+        if (q != null) {
+            req.param("q", q);
+        }
+        MvcResult started = mvc.perform(req)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=tenants.csv"))
+                .andReturn();
+    }
+
+    private static String row(Tenants t, String quotedName, int due) {
+        return "\"" + t.getTenantId() + "\"," + quotedName + ",\"" + t.getPhone() + "\",\"" + t.getRoom()
+                + "\",\"2024-01-01\"," + due + "\n";
+    }
+
+    private Tenants tenant(String name, String room, int due) {
+        int n = SEQ.incrementAndGet();
+        Tenants t = new Tenants();
+        t.setTenantId("XP-" + n);
+        t.setName(name);
+        t.setPhone(String.format("5%09d", n));
+        t.setRoom(room);
+        t.setCheckIn(LocalDate.of(2024, 1, 1));
+        t.setDue(due);
+        return tenantService.create(t);
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.Tenantsmicroservice.service;
+
+import com.example.Tenantsmicroservice.dto.ImportReport;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {"eureka.client.enabled=false", "spring.jpa.show-sql=false"})
+class TenantImportServiceTest {
+
+    private static final String HEADER = "TenantId,Name,Phone,Room,CheckIn,Due\n";
+
+    @Autowired
+    private TenantImportService importer;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager txManager;
+
+    @Autowired
+    private ObjectMapper json;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ApplicationEventPublisher events;
+
+    @Test
+    void quotedFieldsMayHoldCommasQuotesAndLineBreaks() throws IOException {
+        ImportReport report = importer.importCsv(upload(HEADER
+                + "IMP-Q1,\"Doe, \"\"JD\"\"\",9000000001,A-1,2024-01-01,100\n"
+                + "IMP-Q2,\"Two\nLines\",9000000002,A-2,2024-01-01,\n"
+                + "IMP-Q3,,9000000003,A-3,2024-01-01,0\n"));
+
+        assertEquals(3, report.getReceived());
+        assertEquals(2, report.getImported());
+        assertEquals("Doe, \"JD\"", name("IMP-Q1"));
+        assertEquals("Two\nLines", name("IMP-Q2"));
+
+        // IMP-Q2 spans lines 3 and 4, so the blank name is reported on line 5
+        ImportReport.RowError error = report.getErrors().get(0);
+        assertEquals(5, error.getLine());
+        assertEquals("IMP-Q3", error.getTenantId());
+        assertTrue(error.getMessage().startsWith("name "), error.getMessage());
+    }
+
+    @Test
+    void badRowsAreReportedWithTheirLineAndTheRestImported() throws IOException {
+        ImportReport report = importer.importCsv(upload(HEADER
+                + "IMP-E1,Bad Date,9000000011,A-1,01/02/2024,0\n"
+                + "IMP-E2,Bad Due,9000000012,A-1,2024-01-01,ten\n"
+                + "IMP-E3,Short Row,9000000013\n"
+                + "IMP-E4,Negative Due,9000000014,A-1,2024-01-01,-5\n"
+                + "IMP-E5-TOO-LONG-ID,Long Id,9000000015,A-1,2024-01-01,0\n"
+                + "IMP-E6,Good Row,9000000016,A-1,2024-01-01,0\n"));
+
+        assertEquals(6, report.getReceived());
+        assertEquals(1, report.getImported());
+        assertEquals(5, report.getFailed());
+        List<ImportReport.RowError> errors = report.getErrors();
+        assertEquals(List.of(2L, 3L, 4L, 5L, 6L), errors.stream().map(ImportReport.RowError::getLine).toList());
+        assertTrue(errors.get(0).getMessage().startsWith("CheckIn must be an ISO date"));
+        assertTrue(errors.get(1).getMessage().startsWith("Due must be a whole number"));
+        assertTrue(errors.get(2).getMessage().startsWith("Expected 6 columns"));
+        assertTrue(errors.get(3).getMessage().startsWith("due "), errors.get(3).getMessage());
+        assertTrue(errors.get(4).getMessage().startsWith("tenantId "), errors.get(4).getMessage());
+        assertEquals("Good Row", name("IMP-E6"));
+    }
+
+    @Test
+    void unterminatedQuoteIsReportedOnTheLineItStarts() throws IOException {
+        ImportReport report = importer.importCsv(upload(HEADER
+                + "IMP-U1,Fine,9000000021,A-1,2024-01-01,0\n"
+                + "IMP-U2,\"Never closed,9000000022,A-1,2024-01-01,0\n"
+                + "IMP-U3,Swallowed,9000000023,A-1,2024-01-01,0\n"));
+
+        assertEquals(1, report.getImported());
+        assertEquals(1, report.getFailed());
+        assertEquals(3, report.getErrors().get(0).getLine());
+        assertEquals("Unterminated quoted field", report.getErrors().get(0).getMessage());
+    }
+
+    @Test
+    void duplicatesInTheUploadAndInTheTableAreRejected() throws IOException {
+        importer.importCsv(upload(HEADER + "IMP-D1,First,9000000031,A-1,2024-01-01,0\n"));
+
+        ImportReport report = importer.importCsv(upload(HEADER
+                + "IMP-D1,Again,9000000031,A-1,2024-01-01,0\n"
+                + "IMP-D2,Second,9000000032,A-1,2024-01-01,0\n"
+                + "IMP-D2,Second Again,9000000032,A-1,2024-01-01,0\n"));
+
+        assertEquals(1, report.getImported());
+        assertEquals(2, report.getFailed());
+        assertEquals("Duplicate tenantId in upload", report.getErrors().get(0).getMessage());
+        assertEquals(4, report.getErrors().get(0).getLine());
+        assertEquals("TenantId already exists: IMP-D1", report.getErrors().get(1).getMessage());
+        assertEquals(2, report.getErrors().get(1).getLine());
+        assertEquals("First", name("IMP-D1"));
+    }
+
+    @Test
+    void ndjsonRowsGetTheSameValidation() throws IOException {
+        ImportReport report = importer.importNdjson(upload("""
+                {"tenantId":"IMP-J1","name":"Json Row","phone":"9000000041","room":"A-1","checkIn":"2024-01-01"}
+                {"tenantId":"IMP-J2","name":" ","phone":"9000000042","room":"A-1","checkIn":"2024-01-01"}
+                {"tenantId":
+                """));
+
+        assertEquals(1, report.getImported());
+        assertEquals(2, report.getFailed());
+        assertTrue(report.getErrors().get(0).getMessage().startsWith("name "));
+        assertTrue(report.getErrors().get(1).getMessage().startsWith("Invalid JSON"));
+    }
+
+    @Test
+    void batchThatLosesARaceIsRetriedRowByRow() throws IOException {
+        // Another writer commits IMP-R2 after the dedupe query but before the batch insert
+        JdbcTemplate racing = new JdbcTemplate(dataSource) {
+            private boolean raced;
+
+            @Override
+            public <T> int[][] batchUpdate(String sql, Collection<T> batchArgs, int batchSize,
+                                           ParameterizedPreparedStatementSetter<T> pss) {
+                if (!raced && sql.contains("INSERT INTO tenants")) {
+                    raced = true;
+                    TransactionTemplate other = new TransactionTemplate(txManager);
+                    other.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+                    other.executeWithoutResult(status -> jdbc.update("""
+                            INSERT INTO tenants (tenant_id, name, phone, room, check_in, due)
+                            VALUES ('IMP-R2', 'Rival', '9000000099', 'A-1', DATE '2024-01-01', 0)
+                            """));
+                }
+                return super.batchUpdate(sql, batchArgs, batchSize, pss);
+            }
+        };
+        TenantImportService service = new TenantImportService(racing, txManager, json, validator, events, 1000);
+
+        ImportReport report = service.importCsv(upload(HEADER
+                + "IMP-R1,One,9000000051,A-1,2024-01-01,0\n"
+                + "IMP-R2,Two,9000000052,A-1,2024-01-01,0\n"
+                + "IMP-R3,Three,9000000053,A-1,2024-01-01,0\n"));
+
+        assertEquals(2, report.getImported());
+        assertEquals(1, report.getFailed());
+        assertEquals(3, report.getErrors().get(0).getLine());
+        assertEquals("TenantId already exists: IMP-R2", report.getErrors().get(0).getMessage());
+        assertEquals("One", name("IMP-R1"));
+        assertEquals("Rival", name("IMP-R2"));
+        assertEquals("Three", name("IMP-R3"));
+    }
+
+    private String name(String tenantId) {
+        return jdbc.queryForObject("SELECT name FROM tenants WHERE tenant_id = ?", String.class, tenantId);
+    }
+
+    private static InputStream upload(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
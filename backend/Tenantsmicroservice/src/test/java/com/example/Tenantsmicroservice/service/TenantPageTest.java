@@ -0,0 +1,122 @@
+package com.example.Tenantsmicroservice.service;
+
+import com.example.Tenantsmicroservice.controller.TenantController;
+import com.example.Tenantsmicroservice.model.Tenants;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/** GET /tenants: keyset pages by id, the X-Next-Cursor header, and field selection. */
+@SpringBootTest(properties = {"eureka.client.enabled=false", "spring.jpa.show-sql=false"})
+@AutoConfigureMockMvc
+class TenantPageTest {
+
+    private static final AtomicInteger SEQ = new AtomicInteger();
+
+    @Autowired
+    private TenantService tenantService;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Test
+    void cursorWalksThePagesUntilAShortPage() throws Exception {
+        List<Long> ids = tenants(5);
+        long before = ids.get(0) - 1;
+
+        mvc.perform(get("/tenants").param("cursor", String.valueOf(before)).param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id").value(List.of(ids.get(0).intValue(), ids.get(1).intValue())))
+                .andExpect(header().string(TenantController.NEXT_CURSOR_HEADER, String.valueOf(ids.get(1))));
+        mvc.perform(get("/tenants").param("cursor", String.valueOf(ids.get(1))).param("limit", "2"))
+                .andExpect(jsonPath("$[*].id").value(List.of(ids.get(2).intValue(), ids.get(3).intValue())))
+                .andExpect(header().string(TenantController.NEXT_CURSOR_HEADER, String.valueOf(ids.get(3))));
+        mvc.perform(get("/tenants").param("cursor", String.valueOf(ids.get(3))).param("limit", "2"))
+                .andExpect(jsonPath("$[*].id").value(List.of(ids.get(4).intValue())))
+                .andExpect(header().doesNotExist(TenantController.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void fullLastPageIsFollowedByAnEmptyOne() throws Exception {
+        List<Long> ids = tenants(2);
+
+        mvc.perform(get("/tenants").param("cursor", String.valueOf(ids.get(0) - 1)).param("limit", "2"))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(header().string(TenantController.NEXT_CURSOR_HEADER, String.valueOf(ids.get(1))));
+        mvc.perform(get("/tenants").param("cursor", String.valueOf(ids.get(1))).param("limit", "2"))
+                .andExpect(jsonPath("$.length()").value(0))
+                .andExpect(header().doesNotExist(TenantController.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void limitIsClampedToTheMaximumPageSize() throws Exception {
+        List<Long> ids = tenants(TenantService.MAX_PAGE_SIZE + 1);
+
+        mvc.perform(get("/tenants").param("cursor", String.valueOf(ids.get(0) - 1)).param("limit", "1000"))
+                .andExpect(jsonPath("$.length()").value(TenantService.MAX_PAGE_SIZE))
+                .andExpect(header().string(TenantController.NEXT_CURSOR_HEADER,
+                        String.valueOf(ids.get(TenantService.MAX_PAGE_SIZE - 1))));
+    }
+
+    @Test
+    void fieldsSelectOnlyThoseColumnsAndAlwaysTheId() throws Exception {
+        List<Long> ids = tenants(1);
+
+        mvc.perform(get("/tenants").param("cursor", String.valueOf(ids.get(0) - 1)).param("limit", "1")
+                        .param("fields", "due,name"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].length()").value(3))
+                .andExpect(jsonPath("$[0].id").value(ids.get(0).intValue()))
+                .andExpect(jsonPath("$[0].name").value(tenantService.getById(ids.get(0)).getName()))
+                .andExpect(jsonPath("$[0].due").value(0))
+                .andExpect(jsonPath("$[0].phone").doesNotExist());
+    }
+
+    @Test
+    void blankQueryIsTheListNotAnEmptySearch() throws Exception {
+        List<Long> ids = tenants(3);
+
+        for (String q : List.of("", "   ")) {
+            mvc.perform(get("/tenants").param("q", q).param("cursor", String.valueOf(ids.get(0) - 1)).param("limit", "2"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[*].id").value(List.of(ids.get(0).intValue(), ids.get(1).intValue())))
+                    .andExpect(header().string(TenantController.NEXT_CURSOR_HEADER, String.valueOf(ids.get(1))));
+        }
+    }
+
+    @Test
+    void unknownFieldIsABadRequest() throws Exception {
+        mvc.perform(get("/tenants").param("fields", "name,password"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("Unknown field: password")));
+    }
+
+    private List<Long> tenants(int count) {
+        List<Long> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int n = SEQ.incrementAndGet();
+            Tenants t = new Tenants();
+            t.setTenantId("PG-" + n);
+            t.setName("Page Tenant " + n);
+            t.setPhone(String.format("6%09d", n));
+            t.setRoom("P-1");
+            t.setCheckIn(LocalDate.of(2024, 1, 1));
+            t.setDue(0);
+            ids.add(tenantService.create(t).getId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.Tenantsmicroservice.service;
+
+import com.example.Tenantsmicroservice.TenantsmicroserviceApplication;
+import com.example.Tenantsmicroservice.model.Tenants;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GET /tenants?q= with {@code tenants} tenants loaded: phone prefix, room code, a rare name and
+ * a name whose words are each common but rare together.
+ *
+ * Run with:
+ *   mvn test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=com.example.Tenantsmicroservice.service.TenantSearchBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class TenantSearchBenchmark {
+
+    private static final String[] FIRST = {"Ravi", "Anita", "Suresh", "Priya", "Mohan", "Kavya", "Arjun", "Deepa"};
+    private static final String[] LAST = {"Kumar", "Sharma", "Reddy", "Nair", "Iyer", "Patel", "Singh", "Das"};
+
+    @Param({"10000", "100000"})
+    public int tenants;
+
+    private ConfigurableApplicationContext context;
+    private TenantService tenantService;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = new SpringApplicationBuilder(TenantsmicroserviceApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("eureka.client.enabled=false", "spring.jpa.show-sql=false")
+                .run();
+        tenantService = context.getBean(TenantService.class);
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+
+        List<Object[]> rows = new ArrayList<>(tenants);
+        List<Object[]> tokens = new ArrayList<>(tenants * 3);
+        Date checkIn = Date.valueOf(LocalDate.of(2024, 1, 1));
+        for (int i = 0; i < tenants; i++) {
+            String tenantId = String.format("S%06d", i);
+            String name = FIRST[i % FIRST.length] + " " + LAST[(i / FIRST.length) % LAST.length] + " " + tenantId;
+            String phone = String.format("8%09d", i);
+            String room = "B-" + (i % 2000);
+            rows.add(new Object[] { tenantId, name, phone, room, checkIn, 0,
+                    phone, new StringBuilder(phone).reverse().toString(), Tenants.roomKey(room) });
+            for (String token : Tenants.tokenize(name)) {
+                tokens.add(new Object[] { token, tenantId });
+            }
+        }
+        jdbc.batchUpdate("""
+                INSERT INTO tenants (tenant_id, name, phone, room, check_in, due, phone_digits, phone_rev, room_key)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+                """, rows);
+        jdbc.batchUpdate("INSERT INTO tenant_name_token (tenant_ref, token) SELECT id, ? FROM tenants WHERE tenant_id = ?",
+                tokens);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Tenants> phonePrefix() {
+        return tenantService.search("80000123", 0, 20);
+    }
+
+    @Benchmark
+    public List<Tenants> room() {
+        return tenantService.search("B-77", 0, 20);
+    }
+
+    @Benchmark
+    public List<Tenants> rareName() {
+        return tenantService.search("s001234", 0, 20);
+    }
+
+    @Benchmark
+    public List<Tenants> commonWordsTogether() {
+        return tenantService.search("anita sharma", 0, 20);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TenantSearchBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.Tenantsmicroservice.service;
+
+import com.example.Tenantsmicroservice.model.Tenants;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Query classification, query plans and ranking of GET /tenants?q= over a seeded table.
+ * Latency is measured by {@link TenantSearchBenchmark}.
+ */
+@SpringBootTest(properties = {
+        "eureka.client.enabled=false",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.example.Tenantsmicroservice.service.TenantSearchPlanTest$CapturedSql"})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TenantSearchPlanTest {
+
+    private static final int TENANTS = 20_000;
+    private static final String[] FIRST = {"Ravi", "Anita", "Suresh", "Priya", "Mohan", "Kavya", "Arjun", "Deepa"};
+    private static final String[] LAST = {"Kumar", "Sharma", "Reddy", "Nair", "Iyer", "Patel", "Singh", "Das"};
+
+    @Autowired
+    private TenantService tenantService;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @BeforeAll
+    void seed() {
+        List<Object[]> rows = new ArrayList<>(TENANTS);
+        List<Object[]> tokens = new ArrayList<>(TENANTS * 3);
+        Date checkIn = Date.valueOf(LocalDate.of(2024, 1, 1));
+        for (int i = 0; i < TENANTS; i++) {
+            String tenantId = String.format("S%06d", i);
+            String name = FIRST[i % FIRST.length] + " " + LAST[(i / FIRST.length) % LAST.length] + " " + tenantId;
+            String phone = String.format("8%09d", i);
+            String room = "B-" + (i % 2000);
+            rows.add(new Object[] { tenantId, name, phone, room, checkIn, 0,
+                    phone, new StringBuilder(phone).reverse().toString(), Tenants.roomKey(room) });
+            for (String token : Tenants.tokenize(name)) {
+                tokens.add(new Object[] { token, tenantId });
+            }
+        }
+        jdbc.batchUpdate("""
+                INSERT INTO tenants (tenant_id, name, phone, room, check_in, due, phone_digits, phone_rev, room_key)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+                """, rows);
+        jdbc.batchUpdate("INSERT INTO tenant_name_token (tenant_ref, token) SELECT id, ? FROM tenants WHERE tenant_id = ?",
+                tokens);
+    }
+
+    /** The context is cached and shared with the other tests; don't leave the seeded rows behind. */
+    @AfterAll
+    void removeSeed() {
+        jdbc.update("DELETE FROM tenant_name_token WHERE tenant_ref IN (SELECT id FROM tenants WHERE tenant_id LIKE 'S%')");
+        jdbc.update("DELETE FROM tenants WHERE tenant_id LIKE 'S%'");
+    }
+
+    @Test
+    void lookupsUseTheSearchIndexes() {
+        CapturedSql.STATEMENTS.clear();
+        tenantService.search("800001", 0, 20);
+        tenantService.search("B-1234", 0, 20);
+        tenantService.search("sures", 0, 20);
+
+        // The statements Hibernate actually sends, with the values the service binds
+        String phonePrefix = plan(captured("phone_digits like ?"), "800001%");
+        String phoneSuffix = plan(captured("phone_rev like ?"), "100008%");
+        String room = plan(captured("room_key=?"), "B1234");
+        String name = plan(captured("token like ?"), "sures", "sures%");
+
+        assertTrue(phonePrefix.toUpperCase(Locale.ROOT).contains("IDX_TENANTS_PHONE_DIGITS"), phonePrefix);
+        assertTrue(phoneSuffix.toUpperCase(Locale.ROOT).contains("IDX_TENANTS_PHONE_REV"), phoneSuffix);
+        assertTrue(room.toUpperCase(Locale.ROOT).contains("IDX_TENANTS_ROOM_KEY"), room);
+        assertTrue(name.toUpperCase(Locale.ROOT).contains("IDX_TENANT_NAME_TOKEN"), name);
+    }
+
+    @Test
+    void queriesAreRoutedByShape() {
+        List<Tenants> byPhonePrefix = tenantService.search("80000123", 0, 20);
+        assertEquals(10, byPhonePrefix.size()); // 8000012300 .. 8000012309
+        assertTrue(byPhonePrefix.stream().allMatch(t -> t.getPhone().startsWith("80000123")));
+
+        List<Tenants> byPhoneSuffix = tenantService.search("54321", 0, 100);
+        assertFalse(byPhoneSuffix.isEmpty());
+        assertTrue(byPhoneSuffix.stream().allMatch(t -> t.getPhone().endsWith("54321")));
+
+        List<Tenants> byRoom = tenantService.search("b-1234", 0, 100);
+        assertEquals(TENANTS / 2000, byRoom.size());
+        assertTrue(byRoom.stream().allMatch(t -> t.getRoom().equals("B-1234")));
+
+        List<Tenants> byName = tenantService.search("sur red", 0, 20);
+        assertEquals(20, byName.size());
+        assertTrue(byName.stream().allMatch(t -> t.getName().startsWith("Suresh Reddy")));
+
+        List<Tenants> exact = tenantService.search("S012345", 0, 20);
+        assertEquals(1, exact.size());
+        assertEquals("S012345", exact.get(0).getTenantId());
+    }
+
+    @Test
+    void nameSearchReturnsEveryMatchInNameOrder() {
+        // Both words are common (1 in 8 names each); only their combination is rare
+        List<Tenants> all = new ArrayList<>();
+        for (int page = 0; ; page++) {
+            List<Tenants> next = tenantService.search("kumar ravi", page, 100);
+            if (next.isEmpty()) {
+                break;
+            }
+            all.addAll(next);
+        }
+
+        long expected = jdbc.queryForObject(
+                "SELECT COUNT(*) FROM tenants WHERE name LIKE 'Ravi Kumar %'", Long.class);
+        assertEquals(expected, all.size());
+        assertTrue(all.stream().allMatch(t -> t.getName().startsWith("Ravi Kumar ")));
+        List<String> names = all.stream().map(Tenants::getName).toList();
+        assertEquals(names.stream().sorted(Comparator.comparing(n -> n.toLowerCase(Locale.ROOT))).toList(), names);
+    }
+
+    @Test
+    void wholeWordMatchesRankFirst() {
+        tenantService.create(tenant("SRANK-1", "Aaron Qwertyuiop"));
+        tenantService.create(tenant("SRANK-2", "Zoe Qwerty"));
+
+        List<Tenants> ranked = tenantService.search("qwerty", 0, 20);
+
+        assertEquals(List.of("SRANK-2", "SRANK-1"), ranked.stream().map(Tenants::getTenantId).toList());
+    }
+
+    @Test
+    void resultsArePagedAndCapped() {
+        List<Tenants> first = tenantService.search("ravi", 0, 50);
+        List<Tenants> second = tenantService.search("ravi", 1, 50);
+        assertEquals(50, first.size());
+        assertEquals(50, second.size());
+        List<Long> firstIds = first.stream().map(Tenants::getId).toList();
+        assertTrue(second.stream().map(Tenants::getId).noneMatch(firstIds::contains));
+
+        int lastPage = TenantService.MAX_SEARCH_RESULTS / 100;
+        assertTrue(tenantService.search("ravi", lastPage, 100).isEmpty());
+    }
+
+    private static Tenants tenant(String tenantId, String name) {
+        Tenants t = new Tenants();
+        t.setTenantId(tenantId);
+        t.setName(name);
+        t.setPhone("7000000000");
+        t.setRoom("C-1");
+        t.setCheckIn(LocalDate.of(2024, 1, 1));
+        return t;
+    }
+
+    private static String captured(String fragment) {
+        String wanted = fragment.replace(" ", "");
+        return CapturedSql.STATEMENTS.stream()
+                .filter(sql -> sql.toLowerCase(Locale.ROOT).replace(" ", "").contains(wanted))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("no statement containing '" + fragment + "' in "
+                        + CapturedSql.STATEMENTS));
+    }
+
+    /** EXPLAIN with the given values bound first; any remaining placeholders are the row cap. */
+    private String plan(String sql, Object... values) {
+        int placeholders = (int) sql.chars().filter(c -> c == '?').count();
+        Object[] args = new Object[placeholders];
+        for (int i = 0; i < placeholders; i++) {
+            args[i] = i < values.length ? values[i] : TenantService.MAX_SEARCH_RESULTS;
+        }
+        return String.join("\n", jdbc.queryForList("EXPLAIN " + sql, String.class, args));
+    }
+
+    /** Records the SQL Hibernate prepares so the plans are taken for the real statements. */
+    public static class CapturedSql implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
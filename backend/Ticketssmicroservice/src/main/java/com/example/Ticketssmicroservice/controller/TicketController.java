@@ -3,16 +3,26 @@ package com.example.Ticketssmicroservice.controller;
 import jakarta.validation.Valid;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.example.Ticketssmicroservice.dto.BulkStatusRequest;
+import com.example.Ticketssmicroservice.dto.BulkStatusResponse;
 import com.example.Ticketssmicroservice.dto.TicketRequest;
 import com.example.Ticketssmicroservice.dto.TicketResponse;
+import com.example.Ticketssmicroservice.dto.TicketStatsResponse;
 import com.example.Ticketssmicroservice.dto.UpdateStatusRequest;
+import com.example.Ticketssmicroservice.model.ArchivedTicket;
 import com.example.Ticketssmicroservice.model.Ticket;
 import com.example.Ticketssmicroservice.model.TicketPriority;
 import com.example.Ticketssmicroservice.model.TicketStatus;
+import com.example.Ticketssmicroservice.service.TicketArchiveService;
+import com.example.Ticketssmicroservice.service.TicketPage;
 import com.example.Ticketssmicroservice.service.TicketService;
+import com.example.Ticketssmicroservice.stats.TicketStats;
+import com.example.Ticketssmicroservice.stream.TicketStreamPublisher;
 
 import java.net.URI;
 import java.util.List;
@@ -21,13 +31,65 @@ import java.util.List;
 @RequestMapping("/tickets")
 public class TicketController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
 	@Autowired
     private TicketService service;
 
-    // GET /api/tickets?q=...
+    @Autowired
+    private TicketStreamPublisher stream;
+
+    @Autowired
+    private TicketStats stats;
+
+    @Autowired
+    private TicketArchiveService archive;
+
+    // GET /api/tickets?q=...&cursor=...&limit=...  (next page cursor in X-Next-Cursor; q results are relevance-ranked)
     @GetMapping
-    public List<TicketResponse> list(@RequestParam(value = "q", required = false) String q) {
-        return service.getAll(q).stream().map(TicketResponse::from).toList();
+    public ResponseEntity<List<TicketResponse>> list(
+            @RequestParam(value = "q", required = false) String q,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        TicketPage<Ticket> page = service.getPage(q, cursor, limit);
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok();
+        if (page.getNext() != null) {
+            ok.header(NEXT_CURSOR_HEADER, page.getNext());
+        }
+        return ok.body(page.getItems().stream().map(TicketResponse::from).toList());
+    }
+
+    // GET /api/tickets/archive?cursor=...&limit=...  (archived closed tickets, newest first)
+    @GetMapping("/archive")
+    public ResponseEntity<List<TicketResponse>> archived(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        TicketPage<ArchivedTicket> page = archive.getPage(cursor, limit);
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok();
+        if (page.getNext() != null) {
+            ok.header(NEXT_CURSOR_HEADER, page.getNext());
+        }
+        return ok.body(page.getItems().stream().map(TicketResponse::from).toList());
+    }
+
+    // GET /api/tickets/stream  (SSE "ticket" events; resumes after the Last-Event-ID header)
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        Long after = null;
+        if (lastEventId != null) {
+            try {
+                after = Long.parseLong(lastEventId.trim());
+            } catch (NumberFormatException ex) {
+                after = 0L; // unknown position: the client gets a "reset" event
+            }
+        }
+        return stream.subscribe(after);
+    }
+
+    // GET /api/tickets/stats  (counts by status and priority, served from memory)
+    @GetMapping("/stats")
+    public TicketStatsResponse stats() {
+        return TicketStatsResponse.from(stats.snapshot());
     }
 
     // GET /api/tickets/{id}
@@ -56,6 +118,12 @@ public class TicketController {
         return TicketResponse.from(service.updateStatus(id, req.getStatus()));
     }
 
+    // PATCH /api/tickets/status  { "status": "CLOSED", "ids": [..] }  or  { "status": "CLOSED", "filter": {..} }
+    @PatchMapping("/status")
+    public BulkStatusResponse updateStatuses(@Valid @RequestBody BulkStatusRequest req) {
+        return BulkStatusResponse.from(req.getStatus().name(), service.updateStatuses(req));
+    }
+
     // DELETE /api/tickets/{id}
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(@PathVariable Long id) {
@@ -0,0 +1,46 @@
+package com.example.Ticketssmicroservice.dto;
+
+import com.example.Ticketssmicroservice.model.TicketPriority;
+import com.example.Ticketssmicroservice.model.TicketStatus;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.Instant;
+import java.util.List;
+
+/** Body of PATCH /tickets/status: move either the listed ids or every ticket matching filter to status. */
+public class BulkStatusRequest {
+
+    @NotNull
+    private TicketStatus status;
+
+    private List<Long> ids;
+
+    @Valid
+    private Filter filter;
+
+    public TicketStatus getStatus() { return status; }
+    public void setStatus(TicketStatus status) { this.status = status; }
+    public List<Long> getIds() { return ids; }
+    public void setIds(List<Long> ids) { this.ids = ids; }
+    public Filter getFilter() { return filter; }
+    public void setFilter(Filter filter) { this.filter = filter; }
+
+    /** All set fields must match; unset fields are ignored. */
+    public static class Filter {
+        private TicketStatus status;
+        private TicketPriority priority;
+        private String room;
+        private Instant createdBefore;
+
+        public TicketStatus getStatus() { return status; }
+        public void setStatus(TicketStatus status) { this.status = status; }
+        public TicketPriority getPriority() { return priority; }
+        public void setPriority(TicketPriority priority) { this.priority = priority; }
+        public String getRoom() { return room; }
+        public void setRoom(String room) { this.room = room; }
+        public Instant getCreatedBefore() { return createdBefore; }
+        public void setCreatedBefore(Instant createdBefore) { this.createdBefore = createdBefore; }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.Ticketssmicroservice.dto;
+
+import com.example.Ticketssmicroservice.service.BulkStatusResult;
+
+import java.util.List;
+
+public class BulkStatusResponse {
+
+    private String status;
+    private int updated;
+    private List<Item> results;
+
+    public static BulkStatusResponse from(String status, BulkStatusResult result) {
+        BulkStatusResponse r = new BulkStatusResponse();
+        r.status = status;
+        r.updated = result.getUpdated();
+        r.results = result.getOutcomes().entrySet().stream()
+                .map(e -> new Item(e.getKey(), e.getValue().name()))
+                .toList();
+        return r;
+    }
+
+    public String getStatus() { return status; }
+    public int getUpdated() { return updated; }
+    public List<Item> getResults() { return results; }
+
+    public static class Item {
+        private final Long id;
+        private final String outcome; // UPDATED / UNCHANGED / NOT_FOUND / SKIPPED
+
+        public Item(Long id, String outcome) {
+            this.id = id;
+            this.outcome = outcome;
+        }
+
+        public Long getId() { return id; }
+        public String getOutcome() { return outcome; }
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.Ticketssmicroservice.dto;
+
+/** Payload of a "ticket" event on GET /tickets/stream. */
+public class TicketEventResponse {
+
+    private String type;      // CREATED / UPDATED / DELETED
+    private TicketResponse ticket;
+
+    public TicketEventResponse(String type, TicketResponse ticket) {
+        this.type = type;
+        this.ticket = ticket;
+    }
+
+    public String getType() { return type; }
+    public TicketResponse getTicket() { return ticket; }
+}
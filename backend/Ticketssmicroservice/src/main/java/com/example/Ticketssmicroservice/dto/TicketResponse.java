@@ -1,6 +1,11 @@
 package com.example.Ticketssmicroservice.dto;
 
+import com.example.Ticketssmicroservice.model.ArchivedTicket;
 import com.example.Ticketssmicroservice.model.Ticket;
+import com.example.Ticketssmicroservice.model.TicketPriority;
+import com.example.Ticketssmicroservice.model.TicketStatus;
+
+import java.time.Instant;
 
 public class TicketResponse {
 
@@ -14,23 +19,34 @@ public class TicketResponse {
     private String createdAt;
 
     public static TicketResponse from(Ticket t) {
+        return of(t.getId(), t.getTicketId(), t.getTitle(), t.getRoom(), t.getPriority(),
+                t.getDescription(), t.getStatus(), t.getCreatedAt());
+    }
+
+    public static TicketResponse from(ArchivedTicket a) {
+        return of(a.getId(), a.getTicketId(), a.getTitle(), a.getRoom(), a.getPriority(),
+                a.getDescription(), a.getStatus(), a.getCreatedAt());
+    }
+
+    private static TicketResponse of(Long id, String ticketId, String title, String room, TicketPriority priority,
+                                     String description, TicketStatus status, Instant createdAt) {
         TicketResponse r = new TicketResponse();
-        r.id = t.getId();
-        r.ticketId = t.getTicketId();
-        r.title = t.getTitle();
-        r.room = t.getRoom();
-        r.priority = switch (t.getPriority()) {
+        r.id = id;
+        r.ticketId = ticketId;
+        r.title = title;
+        r.room = room;
+        r.priority = switch (priority) {
             case LOW -> "Low";
             case MEDIUM -> "Medium";
             case HIGH -> "High";
         };
-        r.description = t.getDescription();
-        r.status = switch (t.getStatus()) {
+        r.description = description;
+        r.status = switch (status) {
             case OPEN -> "Open";
             case IN_PROGRESS -> "In Progress";
             case CLOSED -> "Closed";
         };
-        r.createdAt = t.getCreatedAt().toString(); // ISO
+        r.createdAt = createdAt.toString(); // ISO
         return r;
     }
 
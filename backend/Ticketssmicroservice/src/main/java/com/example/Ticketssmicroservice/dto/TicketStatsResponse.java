@@ -0,0 +1,30 @@
+package com.example.Ticketssmicroservice.dto;
+
+import com.example.Ticketssmicroservice.model.TicketPriority;
+import com.example.Ticketssmicroservice.model.TicketStatus;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+public class TicketStatsResponse {
+
+    private long total;
+    private Map<TicketStatus, Long> byStatus;
+    private Map<TicketStatus, Map<TicketPriority, Long>> byStatusAndPriority;
+
+    public static TicketStatsResponse from(Map<TicketStatus, Map<TicketPriority, Long>> counts) {
+        TicketStatsResponse r = new TicketStatsResponse();
+        r.byStatusAndPriority = counts;
+        r.byStatus = new EnumMap<>(TicketStatus.class);
+        counts.forEach((status, byPriority) -> {
+            long sum = byPriority.values().stream().mapToLong(Long::longValue).sum();
+            r.byStatus.put(status, sum);
+            r.total += sum;
+        });
+        return r;
+    }
+
+    public long getTotal() { return total; }
+    public Map<TicketStatus, Long> getByStatus() { return byStatus; }
+    public Map<TicketStatus, Map<TicketPriority, Long>> getByStatusAndPriority() { return byStatusAndPriority; }
+}
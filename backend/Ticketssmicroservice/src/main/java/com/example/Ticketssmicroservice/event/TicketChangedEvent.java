@@ -0,0 +1,46 @@
+package com.example.Ticketssmicroservice.event;
+
+import com.example.Ticketssmicroservice.model.Ticket;
+import com.example.Ticketssmicroservice.model.TicketPriority;
+import com.example.Ticketssmicroservice.model.TicketStatus;
+
+/**
+ * Published by TicketService for every ticket write. Listeners use
+ * {@code @TransactionalEventListener} so they only see committed changes.
+ */
+public class TicketChangedEvent {
+
+    public enum Type { CREATED, UPDATED, DELETED }
+
+    private final Type type;
+    private final Ticket ticket;
+    private final TicketStatus previousStatus;
+    private final TicketPriority previousPriority;
+
+    private TicketChangedEvent(Type type, Ticket ticket, TicketStatus previousStatus, TicketPriority previousPriority) {
+        this.type = type;
+        this.ticket = ticket.snapshot();
+        this.previousStatus = previousStatus;
+        this.previousPriority = previousPriority;
+    }
+
+    public static TicketChangedEvent created(Ticket t) {
+        return new TicketChangedEvent(Type.CREATED, t, null, null);
+    }
+
+    public static TicketChangedEvent updated(Ticket t, TicketStatus previousStatus, TicketPriority previousPriority) {
+        return new TicketChangedEvent(Type.UPDATED, t, previousStatus, previousPriority);
+    }
+
+    public static TicketChangedEvent deleted(Ticket t) {
+        return new TicketChangedEvent(Type.DELETED, t, t.getStatus(), t.getPriority());
+    }
+
+    public Type getType() { return type; }
+    /** Ticket as written (for DELETED: as it was before removal). */
+    public Ticket getTicket() { return ticket; }
+    /** Status before the change; null for CREATED. */
+    public TicketStatus getPreviousStatus() { return previousStatus; }
+    /** Priority before the change; null for CREATED. */
+    public TicketPriority getPreviousPriority() { return previousPriority; }
+}
@@ -0,0 +1,77 @@
+package com.example.Ticketssmicroservice.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * Closed ticket moved out of the hot tickets table by TicketArchiveService.
+ * Keeps the original primary key; rows are only ever inserted.
+ */
+@Entity
+@Table(name = "tickets_archive", indexes = {
+    @Index(name = "idx_tickets_archive_ticket_id", columnList = "ticket_id", unique = true),
+    @Index(name = "idx_tickets_archive_created_at", columnList = "created_at, id") // keyset pagination order
+})
+public class ArchivedTicket {
+
+    @Id
+    private Long id;
+
+    @Column(name = "ticket_id", nullable = false, length = 16)
+    private String ticketId;
+
+    @Column(nullable = false, length = 200)
+    private String title;
+
+    @Column(length = 20)
+    private String room;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private TicketPriority priority;
+
+    @Column(length = 2000)
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 12)
+    private TicketStatus status;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private Instant archivedAt;
+
+    protected ArchivedTicket() { }
+
+    public static ArchivedTicket of(Ticket t, Instant archivedAt) {
+        ArchivedTicket a = new ArchivedTicket();
+        a.id = t.getId();
+        a.ticketId = t.getTicketId();
+        a.title = t.getTitle();
+        a.room = t.getRoom();
+        a.priority = t.getPriority();
+        a.description = t.getDescription();
+        a.status = t.getStatus();
+        a.createdAt = t.getCreatedAt();
+        a.updatedAt = t.getUpdatedAt();
+        a.archivedAt = archivedAt;
+        return a;
+    }
+
+    // getters
+    public Long getId() { return id; }
+    public String getTicketId() { return ticketId; }
+    public String getTitle() { return title; }
+    public String getRoom() { return room; }
+    public TicketPriority getPriority() { return priority; }
+    public String getDescription() { return description; }
+    public TicketStatus getStatus() { return status; }
+    public Instant getCreatedAt() { return createdAt; }
+    public Instant getUpdatedAt() { return updatedAt; }
+    public Instant getArchivedAt() { return archivedAt; }
+}
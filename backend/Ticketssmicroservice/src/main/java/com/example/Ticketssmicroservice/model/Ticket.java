@@ -8,7 +8,7 @@ import java.time.Instant;
 @Table(name = "tickets", indexes = {
     @Index(name = "idx_tickets_ticket_id", columnList = "ticket_id", unique = true),
     @Index(name = "idx_tickets_status", columnList = "status"),
-    @Index(name = "idx_tickets_created_at", columnList = "created_at")
+    @Index(name = "idx_tickets_created_at", columnList = "created_at, id") // keyset pagination order
 })
 public class Ticket {
 
@@ -16,7 +16,7 @@ public class Ticket {
     @GeneratedValue(strategy = GenerationType.IDENTITY) // numeric PK in H2
     private Long id;
 
-    /** Human-friendly id, e.g. "M123" */
+    /** Human-friendly id, e.g. "M1234"; assigned by TicketIdGenerator */
     @Column(name = "ticket_id", nullable = false, unique = true, length = 16)
     private String ticketId;
 
@@ -56,9 +56,6 @@ public class Ticket {
         this.updatedAt = now;
         if (this.status == null) this.status = TicketStatus.OPEN;
         if (this.priority == null) this.priority = TicketPriority.MEDIUM;
-        if (this.ticketId == null || this.ticketId.isBlank()) {
-            this.ticketId = generateHumanId();
-        }
     }
 
     @PreUpdate
@@ -66,9 +63,19 @@ public class Ticket {
         this.updatedAt = Instant.now();
     }
 
-    private String generateHumanId() {
-        // simple human id "M" + random 3 digits; replace with a sequence if needed
-        return "M" + (int)(Math.random() * 1000);
+    /** Detached copy of the current field values, safe to hand to other threads after commit. */
+    public Ticket snapshot() {
+        Ticket copy = new Ticket();
+        copy.id = id;
+        copy.ticketId = ticketId;
+        copy.title = title;
+        copy.room = room;
+        copy.priority = priority;
+        copy.description = description;
+        copy.status = status;
+        copy.createdAt = createdAt;
+        copy.updatedAt = updatedAt;
+        return copy;
     }
 
     // getters & setters
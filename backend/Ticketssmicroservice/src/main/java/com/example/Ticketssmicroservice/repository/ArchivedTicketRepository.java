@@ -0,0 +1,26 @@
+package com.example.Ticketssmicroservice.repository;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.example.Ticketssmicroservice.model.ArchivedTicket;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface ArchivedTicketRepository extends JpaRepository<ArchivedTicket, Long> {
+
+    // --- keyset pagination over idx_tickets_archive_created_at (created_at desc, id desc) ---
+
+    @Query("select a from ArchivedTicket a order by a.createdAt desc, a.id desc")
+    List<ArchivedTicket> findFirstPage(Pageable page);
+
+    @Query("""
+           select a from ArchivedTicket a
+            where a.createdAt < :createdAt
+               or (a.createdAt = :createdAt and a.id < :id)
+            order by a.createdAt desc, a.id desc
+           """)
+    List<ArchivedTicket> findPageAfter(@Param("createdAt") Instant createdAt, @Param("id") Long id, Pageable page);
+}
@@ -1,17 +1,76 @@
 package com.example.Ticketssmicroservice.repository;
+import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.example.Ticketssmicroservice.model.Ticket;
+import com.example.Ticketssmicroservice.model.TicketPriority;
 import com.example.Ticketssmicroservice.model.TicketStatus;
 
+import java.time.Instant;
 import java.util.List;
 
 public interface TicketRepository extends JpaRepository<Ticket, Long> {
 
-    List<Ticket> findTop10ByOrderByCreatedAtDesc();
-
     List<Ticket> findByStatusOrderByCreatedAtDesc(TicketStatus status);
 
-    List<Ticket> findByTitleContainingIgnoreCaseOrRoomContainingIgnoreCaseOrderByCreatedAtDesc(
-            String title, String room);
+    /** Rows of (status, priority, count); seeds the in-memory dashboard counters. */
+    @Query("select t.status, t.priority, count(t) from Ticket t group by t.status, t.priority")
+    List<Object[]> countByStatusAndPriority();
+
+    // --- keyset pagination over idx_tickets_created_at (created_at desc, id desc) ---
+
+    @Query("select t from Ticket t order by t.createdAt desc, t.id desc")
+    List<Ticket> findFirstPage(Pageable page);
+
+    @Query("""
+           select t from Ticket t
+            where t.createdAt < :createdAt
+               or (t.createdAt = :createdAt and t.id < :id)
+            order by t.createdAt desc, t.id desc
+           """)
+    List<Ticket> findPageAfter(@Param("createdAt") Instant createdAt, @Param("id") Long id, Pageable page);
+
+    // --- bulk status transitions ---
+
+    @Query("""
+           select t from Ticket t
+            where (:status is null or t.status = :status)
+              and (:priority is null or t.priority = :priority)
+              and (:room is null or t.room = :room)
+              and (:createdBefore is null or t.createdAt < :createdBefore)
+            order by t.id
+           """)
+    List<Ticket> findByFilter(@Param("status") TicketStatus status, @Param("priority") TicketPriority priority,
+                              @Param("room") String room, @Param("createdBefore") Instant createdBefore,
+                              Pageable page);
+
+    /** Loads and write-locks the tickets until commit (SELECT ... FOR UPDATE). */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from Ticket t where t.id in :ids")
+    List<Ticket> lockAllById(@Param("ids") List<Long> ids);
+
+    /** One set-based UPDATE; rows already in the target status are left untouched. */
+    @Modifying(clearAutomatically = true)
+    @Query("""
+           update Ticket t
+              set t.status = :status, t.updatedAt = :now
+            where t.id in :ids and t.status <> :status
+           """)
+    int updateStatus(@Param("ids") List<Long> ids, @Param("status") TicketStatus status, @Param("now") Instant now);
+
+    // --- archival ---
+
+    /** Oldest-first closed tickets untouched since the cutoff. */
+    @Query("""
+           select t from Ticket t
+            where t.status = com.example.Ticketssmicroservice.model.TicketStatus.CLOSED
+              and t.updatedAt < :cutoff
+            order by t.id
+           """)
+    List<Ticket> findArchivable(@Param("cutoff") Instant cutoff, Pageable page);
 }
@@ -0,0 +1,274 @@
+package com.example.Ticketssmicroservice.search;
+
+import com.example.Ticketssmicroservice.event.TicketChangedEvent;
+import com.example.Ticketssmicroservice.model.Ticket;
+import com.example.Ticketssmicroservice.repository.TicketRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram index over ticket title, room and description, so {@code GET /tickets?q=}
+ * no longer runs a {@code like '%q%'} scan of the tickets table.
+ *
+ * Each query term must appear (as a substring) in at least one field. Candidates come from
+ * intersecting the trigram postings of all terms, then are verified against the stored text
+ * and ranked by field weight (title > room > description, doubled when the term starts a word),
+ * newest first on ties. Terms shorter than three characters have no trigrams; a query made only
+ * of those is answered by scanning the in-memory documents instead.
+ *
+ * Only the leading tickets.search.description-chars characters of a description are kept, and
+ * they are both indexed and matched, so a term past that point never matches by either route.
+ *
+ * Built from the database on startup and kept current from committed TicketChangedEvents.
+ */
+@Component
+public class TicketSearchIndex {
+
+    private static final int TITLE_WEIGHT = 3;
+    private static final int ROOM_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int REBUILD_BATCH = 1000;
+
+    private final TicketRepository repo;
+    /** Only this many leading description characters are searchable, to bound memory. */
+    private final int descriptionChars;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Doc> docs = new HashMap<>();
+    private final Map<String, Postings> postings = new HashMap<>();
+
+    public TicketSearchIndex(
+            TicketRepository repo,
+            @Value("${tickets.search.description-chars:256}") int descriptionChars) {
+        this.repo = repo;
+        this.descriptionChars = descriptionChars;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            docs.clear();
+            postings.clear();
+            List<Ticket> batch = repo.findFirstPage(PageRequest.ofSize(REBUILD_BATCH));
+            while (!batch.isEmpty()) {
+                batch.forEach(this::put);
+                Ticket last = batch.get(batch.size() - 1);
+                batch = repo.findPageAfter(last.getCreatedAt(), last.getId(), PageRequest.ofSize(REBUILD_BATCH));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketChanged(TicketChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            remove(event.getTicket().getId());
+            if (event.getType() != TicketChangedEvent.Type.DELETED) {
+                put(event.getTicket());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of matching tickets, best match first, skipping {@code offset} and returning at most
+     * {@code limit}.
+     */
+    public List<Long> search(String query, int offset, int limit) {
+        List<String> terms = terms(query);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        List<Hit> hits = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Postings candidates = candidates(terms);
+            if (candidates == null) {
+                for (Doc doc : docs.values()) {
+                    addIfMatches(hits, doc, terms);
+                }
+            } else {
+                for (int i = 0; i < candidates.size(); i++) {
+                    addIfMatches(hits, docs.get(candidates.get(i)), terms);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        hits.sort(Comparator.comparingInt(Hit::score).reversed()
+                .thenComparing(Hit::createdAt, Comparator.reverseOrder())
+                .thenComparing(Hit::id, Comparator.reverseOrder()));
+        return hits.stream().skip(offset).limit(limit).map(Hit::id).toList();
+    }
+
+    // --- index maintenance (caller holds the write lock) ---
+
+    private void put(Ticket t) {
+        String description = normalize(t.getDescription());
+        if (description.length() > descriptionChars) {
+            description = description.substring(0, descriptionChars);
+        }
+        Doc doc = new Doc(t.getId(), t.getCreatedAt(), normalize(t.getTitle()), normalize(t.getRoom()), description);
+        docs.put(doc.id, doc);
+        for (String gram : doc.trigrams()) {
+            postings.computeIfAbsent(gram, k -> new Postings()).add(doc.id);
+        }
+    }
+
+    private void remove(Long id) {
+        Doc doc = docs.remove(id);
+        if (doc == null) {
+            return;
+        }
+        for (String gram : doc.trigrams()) {
+            Postings p = postings.get(gram);
+            if (p != null) {
+                p.remove(id);
+                if (p.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    // --- query evaluation (caller holds the read lock) ---
+
+    /** Intersection of the postings of every query trigram; null when no term is long enough. */
+    private Postings candidates(List<String> terms) {
+        Set<String> grams = new HashSet<>();
+        for (String term : terms) {
+            addTrigrams(grams, term);
+        }
+        if (grams.isEmpty()) {
+            return null;
+        }
+
+        List<Postings> lists = new ArrayList<>(grams.size());
+        for (String gram : grams) {
+            Postings p = postings.get(gram);
+            if (p == null) {
+                return new Postings(); // some trigram occurs nowhere: no match possible
+            }
+            lists.add(p);
+        }
+        lists.sort(Comparator.comparingInt(Postings::size));
+
+        Postings smallest = lists.get(0);
+        Postings result = new Postings();
+        outer:
+        for (int i = 0; i < smallest.size(); i++) {
+            long id = smallest.get(i);
+            for (int j = 1; j < lists.size(); j++) {
+                if (!lists.get(j).contains(id)) {
+                    continue outer;
+                }
+            }
+            result.add(id);
+        }
+        return result;
+    }
+
+    private static void addIfMatches(List<Hit> hits, Doc doc, List<String> terms) {
+        if (doc == null) {
+            return;
+        }
+        int score = doc.score(terms);
+        if (score > 0) {
+            hits.add(new Hit(doc.id, doc.createdAt, score));
+        }
+    }
+
+    private static List<String> terms(String query) {
+        return Arrays.stream(normalize(query).split("\\s+"))
+                .filter(s -> !s.isEmpty())
+                .distinct()
+                .toList();
+    }
+
+    private static String normalize(String s) {
+        return s == null ? "" : s.toLowerCase(Locale.ROOT);
+    }
+
+    private static void addTrigrams(Set<String> out, String text) {
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            out.add(text.substring(i, i + 3));
+        }
+    }
+
+    private static final class Hit {
+        final Long id;
+        final Instant createdAt;
+        final int score;
+
+        Hit(Long id, Instant createdAt, int score) {
+            this.id = id;
+            this.createdAt = createdAt;
+            this.score = score;
+        }
+
+        Long id() { return id; }
+        Instant createdAt() { return createdAt; }
+        int score() { return score; }
+    }
+
+    private static final class Doc {
+        final Long id;
+        final Instant createdAt;
+        final String title;
+        final String room;
+        final String description;
+
+        Doc(Long id, Instant createdAt, String title, String room, String description) {
+            this.id = id;
+            this.createdAt = createdAt;
+            this.title = title;
+            this.room = room;
+            this.description = description;
+        }
+
+        Set<String> trigrams() {
+            Set<String> grams = new HashSet<>();
+            addTrigrams(grams, title);
+            addTrigrams(grams, room);
+            addTrigrams(grams, description);
+            return grams;
+        }
+
+        /** Sum of the best field score per term; 0 when any term matches no field. */
+        int score(List<String> terms) {
+            int total = 0;
+            for (String term : terms) {
+                int best = Math.max(fieldScore(title, term, TITLE_WEIGHT),
+                        Math.max(fieldScore(room, term, ROOM_WEIGHT), fieldScore(description, term, DESCRIPTION_WEIGHT)));
+                if (best == 0) {
+                    return 0;
+                }
+                total += best;
+            }
+            return total;
+        }
+
+        private static int fieldScore(String field, String term, int weight) {
+            int at = field.indexOf(term);
+            if (at < 0) {
+                return 0;
+            }
+            boolean wordStart = at == 0 || !Character.isLetterOrDigit(field.charAt(at - 1));
+            return wordStart ? weight * 2 : weight;
+        }
+    }
+}
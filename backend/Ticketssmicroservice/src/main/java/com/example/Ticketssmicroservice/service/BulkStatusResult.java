@@ -0,0 +1,23 @@
+package com.example.Ticketssmicroservice.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/** Per-ticket outcome of a bulk status transition, in request order. */
+public class BulkStatusResult {
+
+    /** SKIPPED: matched a filter when selected, but no longer did once locked. */
+    public enum Outcome { UPDATED, UNCHANGED, NOT_FOUND, SKIPPED }
+
+    private final Map<Long, Outcome> outcomes = new LinkedHashMap<>();
+    private int updated;
+
+    void put(Long id, Outcome outcome) {
+        if (outcomes.put(id, outcome) == null && outcome == Outcome.UPDATED) {
+            updated++;
+        }
+    }
+
+    public Map<Long, Outcome> getOutcomes() { return outcomes; }
+    public int getUpdated() { return updated; }
+}
@@ -0,0 +1,42 @@
+package com.example.Ticketssmicroservice.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque cursor for ranked search results: the number of hits already returned.
+ * Ranking is recomputed per request, so concurrent edits may shift results between pages.
+ */
+public final class SearchCursor {
+
+    private static final String PREFIX = "s:";
+
+    private final int offset;
+
+    public SearchCursor(int offset) {
+        this.offset = offset;
+    }
+
+    public int getOffset() { return offset; }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + offset).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SearchCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!raw.startsWith(PREFIX)) {
+                throw new IllegalArgumentException();
+            }
+            int offset = Integer.parseInt(raw.substring(PREFIX.length()));
+            if (offset < 0) {
+                throw new IllegalArgumentException();
+            }
+            return new SearchCursor(offset);
+        } catch (RuntimeException ex) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+}
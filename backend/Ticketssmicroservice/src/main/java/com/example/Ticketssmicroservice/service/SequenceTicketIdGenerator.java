@@ -0,0 +1,74 @@
+package com.example.Ticketssmicroservice.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Short sequential ids ("M1000", "M1001", ...) handed out from blocks reserved with one
+ * database sequence call per block. Within a block an id is a single atomic increment;
+ * instances sharing the database reserve disjoint blocks.
+ */
+@Component
+@ConditionalOnProperty(name = "tickets.id.strategy", havingValue = "sequence", matchIfMissing = true)
+public class SequenceTicketIdGenerator implements TicketIdGenerator {
+
+    private static final String SEQUENCE = "ticket_human_id_seq";
+
+    private final JdbcTemplate jdbc;
+    private final int blockSize;
+    private volatile Block block = new Block(0, 0);
+
+    public SequenceTicketIdGenerator(
+            JdbcTemplate jdbc,
+            @Value("${tickets.id.block-size:100}") int blockSize) {
+        this.jdbc = jdbc;
+        this.blockSize = blockSize;
+        // The increment is the block size: every NEXT VALUE reserves [value, value + blockSize)
+        jdbc.execute("CREATE SEQUENCE IF NOT EXISTS " + SEQUENCE
+                + " START WITH 1000 INCREMENT BY " + blockSize);
+        // IF NOT EXISTS keeps an existing sequence's increment; blocks of another size would overlap
+        long increment = Long.parseLong(jdbc.queryForObject(
+                "SELECT increment FROM information_schema.sequences WHERE UPPER(sequence_name) = ?",
+                String.class, SEQUENCE.toUpperCase(Locale.ROOT)).trim());
+        if (increment != blockSize) {
+            throw new IllegalStateException("Sequence " + SEQUENCE + " increments by " + increment
+                    + " but tickets.id.block-size is " + blockSize + "; set tickets.id.block-size=" + increment);
+        }
+    }
+
+    @Override
+    public String nextId() {
+        while (true) {
+            Block current = block;
+            long n = current.next.getAndIncrement();
+            if (n < current.end) {
+                return "M" + n;
+            }
+            refill(current);
+        }
+    }
+
+    /** Only runs once per block; threads that lose the race just retry on the new block. */
+    private synchronized void refill(Block exhausted) {
+        if (block != exhausted) {
+            return;
+        }
+        Long start = jdbc.queryForObject("SELECT NEXT VALUE FOR " + SEQUENCE, Long.class);
+        block = new Block(start, start + blockSize);
+    }
+
+    private static final class Block {
+        final AtomicLong next;
+        final long end;
+
+        Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
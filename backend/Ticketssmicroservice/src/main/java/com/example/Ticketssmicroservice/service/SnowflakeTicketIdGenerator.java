@@ -0,0 +1,52 @@
+package com.example.Ticketssmicroservice.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-ordered ids with no database round trip: 41 bits of milliseconds since 2024-01-01,
+ * 10 bits of node id and a 12 bit per-millisecond counter, printed in base 36 ("M" + ~11 chars).
+ * Every instance needs its own tickets.id.node-id (0-1023). There is no safe default: a hashed host
+ * name collides, and two nodes sharing an id hand out duplicate ids, so startup fails without one.
+ */
+@Component
+@ConditionalOnProperty(name = "tickets.id.strategy", havingValue = "snowflake")
+public class SnowflakeTicketIdGenerator implements TicketIdGenerator {
+
+    private static final long EPOCH_MILLIS = 1704067200000L; // 2024-01-01T00:00:00Z
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+
+    private final long nodeId;
+    /** (timestamp << SEQUENCE_BITS) | sequence of the last id handed out */
+    private final AtomicLong state = new AtomicLong();
+
+    public SnowflakeTicketIdGenerator(@Value("${tickets.id.node-id:-1}") long nodeId) {
+        long maxNodeId = (1L << NODE_BITS) - 1;
+        if (nodeId < 0 || nodeId > maxNodeId) {
+            throw new IllegalStateException("tickets.id.strategy=snowflake needs a tickets.id.node-id between 0 and "
+                    + maxNodeId + " that is unique per instance, got " + nodeId);
+        }
+        this.nodeId = nodeId;
+    }
+
+    @Override
+    public String nextId() {
+        while (true) {
+            long prev = state.get();
+            long now = System.currentTimeMillis() - EPOCH_MILLIS;
+            // New millisecond: restart the counter. Same millisecond (or clock moved back): bump it;
+            // an overflowing counter carries into the timestamp, i.e. borrows the next millisecond.
+            long next = now > (prev >>> SEQUENCE_BITS) ? now << SEQUENCE_BITS : prev + 1;
+            if (state.compareAndSet(prev, next)) {
+                long timestamp = next >>> SEQUENCE_BITS;
+                long sequence = next & ((1L << SEQUENCE_BITS) - 1);
+                long id = (timestamp << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | sequence;
+                return "M" + Long.toString(id, 36).toUpperCase();
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.Ticketssmicroservice.service;
+
+import com.example.Ticketssmicroservice.event.TicketChangedEvent;
+import com.example.Ticketssmicroservice.model.ArchivedTicket;
+import com.example.Ticketssmicroservice.model.Ticket;
+import com.example.Ticketssmicroservice.repository.ArchivedTicketRepository;
+import com.example.Ticketssmicroservice.repository.TicketRepository;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Moves closed tickets that have not changed for tickets.archive.max-age-days from the hot
+ * tickets table into tickets_archive, so live queries and the H2 heap only carry recent work.
+ * Each batch is copied and deleted in its own transaction; archived tickets are served by
+ * GET /tickets/archive.
+ */
+@Service
+public class TicketArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(TicketArchiveService.class);
+
+    private final TicketRepository tickets;
+    private final ArchivedTicketRepository archive;
+    private final EntityManager em;
+    private final TransactionTemplate tx;
+    private final ApplicationEventPublisher events;
+    private final Duration maxAge;
+    private final int batchSize;
+
+    public TicketArchiveService(
+            TicketRepository tickets,
+            ArchivedTicketRepository archive,
+            EntityManager em,
+            PlatformTransactionManager txManager,
+            ApplicationEventPublisher events,
+            @Value("${tickets.archive.max-age-days:180}") long maxAgeDays,
+            @Value("${tickets.archive.batch-size:500}") int batchSize) {
+        this.tickets = tickets;
+        this.archive = archive;
+        this.em = em;
+        this.tx = new TransactionTemplate(txManager);
+        this.events = events;
+        this.maxAge = Duration.ofDays(maxAgeDays);
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(cron = "${tickets.archive.cron:0 30 2 * * *}")
+    public void archiveClosed() {
+        Instant cutoff = Instant.now().minus(maxAge);
+        int total = 0;
+        int moved;
+        do {
+            moved = tx.execute(status -> archiveBatch(cutoff));
+            total += moved;
+        } while (moved == batchSize);
+        if (total > 0) {
+            log.info("Archived {} closed tickets last updated before {}", total, cutoff);
+        }
+    }
+
+    private int archiveBatch(Instant cutoff) {
+        List<Ticket> batch = tickets.findArchivable(cutoff, PageRequest.ofSize(batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        Instant now = Instant.now();
+        for (Ticket t : batch) {
+            em.persist(ArchivedTicket.of(t, now)); // persist, not save: ids are assigned, skip the merge SELECT
+        }
+        tickets.deleteAllInBatch(batch);
+        // Index, counters and stream subscribers drop the ticket once this batch commits
+        batch.forEach(t -> events.publishEvent(TicketChangedEvent.deleted(t)));
+        return batch.size();
+    }
+
+    /** Newest-first keyset page of archived tickets; same cursor format as GET /tickets. */
+    @Transactional(readOnly = true)
+    public TicketPage<ArchivedTicket> getPage(String cursor, Integer limit) {
+        int size = limit == null ? TicketService.DEFAULT_PAGE_SIZE
+                : Math.max(1, Math.min(limit, TicketService.MAX_PAGE_SIZE));
+        Pageable oneExtra = PageRequest.ofSize(size + 1);
+        TicketCursor after = StringUtils.hasText(cursor) ? TicketCursor.decode(cursor) : null;
+        List<ArchivedTicket> rows = after == null
+                ? archive.findFirstPage(oneExtra)
+                : archive.findPageAfter(after.getCreatedAt(), after.getId(), oneExtra);
+
+        if (rows.size() <= size) {
+            return new TicketPage<>(rows, null);
+        }
+        List<ArchivedTicket> items = rows.subList(0, size);
+        ArchivedTicket last = items.get(size - 1);
+        return new TicketPage<>(items, new TicketCursor(last.getCreatedAt(), last.getId()).encode());
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.Ticketssmicroservice.service;
+
+/**
+ * Source of human-friendly ticket ids (ticket_id column). Implementations must be
+ * thread-safe and must not hand out the same id twice, even across service instances.
+ * Pick one with tickets.id.strategy=sequence|snowflake.
+ */
+public interface TicketIdGenerator {
+
+    String nextId();
+}
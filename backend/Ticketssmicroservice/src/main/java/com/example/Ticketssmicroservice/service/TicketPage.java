@@ -0,0 +1,18 @@
+package com.example.Ticketssmicroservice.service;
+
+import java.util.List;
+
+/** One page of tickets (live or archived) plus the cursor for the next page (null on the last page). */
+public class TicketPage<T> {
+
+    private final List<T> items;
+    private final String next;
+
+    public TicketPage(List<T> items, String next) {
+        this.items = items;
+        this.next = next;
+    }
+
+    public List<T> getItems() { return items; }
+    public String getNext() { return next; }
+}
@@ -1,31 +1,88 @@
 package com.example.Ticketssmicroservice.service;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import com.example.Ticketssmicroservice.dto.BulkStatusRequest;
+import com.example.Ticketssmicroservice.event.TicketChangedEvent;
 import com.example.Ticketssmicroservice.model.Ticket;
 import com.example.Ticketssmicroservice.model.TicketStatus;
 import com.example.Ticketssmicroservice.repository.TicketRepository;
+import com.example.Ticketssmicroservice.search.TicketSearchIndex;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class TicketService {
 
+    public static final int DEFAULT_PAGE_SIZE = 10;
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final int MAX_BULK_SIZE = 10_000;
+    /** Keeps IN lists well below database parameter limits. */
+    private static final int BULK_CHUNK = 1000;
+
     private final TicketRepository repo;
+    private final TicketIdGenerator ids;
+    private final TicketSearchIndex searchIndex;
+    private final ApplicationEventPublisher events;
 
-    public TicketService(TicketRepository repo) {
+    public TicketService(TicketRepository repo, TicketIdGenerator ids,
+                         TicketSearchIndex searchIndex, ApplicationEventPublisher events) {
         this.repo = repo;
+        this.ids = ids;
+        this.searchIndex = searchIndex;
+        this.events = events;
     }
 
-    public List<Ticket> getAll(String q) {
+    /**
+     * Without q: newest-first keyset page; pass the previous page's cursor to continue, cost is
+     * independent of depth. With q: ranked matches from the in-memory search index.
+     */
+    @Transactional(readOnly = true)
+    public TicketPage<Ticket> getPage(String q, String cursor, Integer limit) {
+        int size = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
         if (StringUtils.hasText(q)) {
-            String s = q.trim();
-            return repo.findByTitleContainingIgnoreCaseOrRoomContainingIgnoreCaseOrderByCreatedAtDesc(s, s);
+            return search(q.trim(), cursor, size);
         }
-        return repo.findTop10ByOrderByCreatedAtDesc();
+
+        Pageable oneExtra = PageRequest.ofSize(size + 1); // the extra row tells us whether there is a next page
+        TicketCursor after = StringUtils.hasText(cursor) ? TicketCursor.decode(cursor) : null;
+        List<Ticket> rows = after == null
+                ? repo.findFirstPage(oneExtra)
+                : repo.findPageAfter(after.getCreatedAt(), after.getId(), oneExtra);
+
+        if (rows.size() <= size) {
+            return new TicketPage<>(rows, null);
+        }
+        List<Ticket> items = rows.subList(0, size);
+        Ticket last = items.get(size - 1);
+        return new TicketPage<>(items, new TicketCursor(last.getCreatedAt(), last.getId()).encode());
+    }
+
+    private TicketPage<Ticket> search(String q, String cursor, int size) {
+        int offset = StringUtils.hasText(cursor) ? SearchCursor.decode(cursor).getOffset() : 0;
+        List<Long> ranked = searchIndex.search(q, offset, size + 1);
+        List<Long> pageIds = ranked.subList(0, Math.min(size, ranked.size()));
+
+        // One IN query for the page, then restore the index's ranking order
+        Map<Long, Ticket> byId = repo.findAllById(pageIds).stream()
+                .collect(Collectors.toMap(Ticket::getId, Function.identity()));
+        List<Ticket> items = pageIds.stream().map(byId::get).filter(Objects::nonNull).toList();
+
+        String next = ranked.size() > size ? new SearchCursor(offset + size).encode() : null;
+        return new TicketPage<>(items, next);
     }
 
     public Ticket getById(Long id) {
@@ -34,17 +91,113 @@ public class TicketService {
 
     public Ticket create(Ticket t) {
         // status/priority & timestamps handled in @PrePersist
-        return repo.save(t);
+        if (!StringUtils.hasText(t.getTicketId())) {
+            t.setTicketId(ids.nextId());
+        }
+        Ticket saved = repo.save(t);
+        events.publishEvent(TicketChangedEvent.created(saved));
+        return saved;
     }
 
     public Ticket updateStatus(Long id, TicketStatus newStatus) {
         Ticket t = getById(id);
+        TicketStatus previous = t.getStatus();
         t.setStatus(newStatus);
-        return repo.save(t);
+        Ticket saved = repo.saveAndFlush(t); // flush so the event carries the @PreUpdate timestamp
+        events.publishEvent(TicketChangedEvent.updated(saved, previous, saved.getPriority()));
+        return saved;
+    }
+
+    /**
+     * Applies one status transition to many tickets with a SELECT and a set-based UPDATE per
+     * chunk of ids, instead of a load + save per ticket. The SELECT locks the chunk's rows, so
+     * no other write can slip in before the UPDATE and the events carry the true previous status.
+     * A filter is matched again on the locked rows: tickets changed since the unlocked lookup so
+     * that they no longer match are reported as SKIPPED and left alone.
+     */
+    public BulkStatusResult updateStatuses(BulkStatusRequest req) {
+        boolean byIds = req.getIds() != null && !req.getIds().isEmpty();
+        if (byIds == (req.getFilter() != null)) {
+            throw new IllegalArgumentException("Provide either ids or filter");
+        }
+
+        List<Long> ids;
+        BulkStatusRequest.Filter filter = null;
+        if (byIds) {
+            ids = new ArrayList<>(new LinkedHashSet<>(req.getIds()));
+            if (ids.size() > MAX_BULK_SIZE) {
+                throw new IllegalArgumentException("At most " + MAX_BULK_SIZE + " ids per request");
+            }
+        } else {
+            BulkStatusRequest.Filter f = req.getFilter();
+            if (f.getStatus() == null && f.getPriority() == null && !StringUtils.hasText(f.getRoom())
+                    && f.getCreatedBefore() == null) {
+                throw new IllegalArgumentException("Filter needs at least one of status, priority, room, createdBefore");
+            }
+            List<Ticket> matches = repo.findByFilter(f.getStatus(), f.getPriority(),
+                    StringUtils.hasText(f.getRoom()) ? f.getRoom().trim() : null, f.getCreatedBefore(),
+                    PageRequest.ofSize(MAX_BULK_SIZE + 1));
+            if (matches.size() > MAX_BULK_SIZE) {
+                throw new IllegalArgumentException("Filter matches more than " + MAX_BULK_SIZE + " tickets; narrow it");
+            }
+            ids = matches.stream().map(Ticket::getId).toList();
+            filter = f;
+        }
+
+        TicketStatus target = req.getStatus();
+        Instant now = Instant.now();
+        BulkStatusResult result = new BulkStatusResult();
+        for (int from = 0; from < ids.size(); from += BULK_CHUNK) {
+            List<Long> chunk = ids.subList(from, Math.min(from + BULK_CHUNK, ids.size()));
+            Map<Long, Ticket> current = repo.lockAllById(chunk).stream()
+                    .collect(Collectors.toMap(Ticket::getId, Function.identity()));
+            List<Long> toUpdate = new ArrayList<>();
+            for (Long id : chunk) {
+                Ticket t = current.get(id);
+                if (t == null) {
+                    result.put(id, BulkStatusResult.Outcome.NOT_FOUND);
+                } else if (filter != null && !matches(filter, t)) {
+                    result.put(id, BulkStatusResult.Outcome.SKIPPED);
+                } else if (t.getStatus() == target) {
+                    result.put(id, BulkStatusResult.Outcome.UNCHANGED);
+                } else {
+                    toUpdate.add(id);
+                }
+            }
+            if (toUpdate.isEmpty()) {
+                continue;
+            }
+
+            int written = repo.updateStatus(toUpdate, target, now); // clears the persistence context: `current` is detached
+            if (written != toUpdate.size()) {
+                // Cannot happen while the rows are locked; never report or announce writes that did not happen
+                throw new IllegalStateException("Bulk status update wrote " + written + " of " + toUpdate.size() + " tickets");
+            }
+            for (Long id : toUpdate) {
+                Ticket t = current.get(id);
+                TicketStatus previous = t.getStatus();
+                t.setStatus(target);
+                t.setUpdatedAt(now);
+                result.put(id, BulkStatusResult.Outcome.UPDATED);
+                events.publishEvent(TicketChangedEvent.updated(t, previous, t.getPriority()));
+            }
+        }
+        return result;
+    }
+
+    /** Same conditions as TicketRepository.findByFilter. */
+    private static boolean matches(BulkStatusRequest.Filter f, Ticket t) {
+        return (f.getStatus() == null || f.getStatus() == t.getStatus())
+                && (f.getPriority() == null || f.getPriority() == t.getPriority())
+                && (!StringUtils.hasText(f.getRoom()) || f.getRoom().trim().equals(t.getRoom()))
+                && (f.getCreatedBefore() == null || t.getCreatedAt().isBefore(f.getCreatedBefore()));
     }
 
     public void delete(Long id) {
-        repo.deleteById(id);
+        repo.findById(id).ifPresent(t -> {
+            repo.delete(t);
+            events.publishEvent(TicketChangedEvent.deleted(t));
+        });
     }
 }
 
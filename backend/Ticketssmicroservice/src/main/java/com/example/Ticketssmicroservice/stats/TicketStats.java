@@ -0,0 +1,124 @@
+package com.example.Ticketssmicroservice.stats;
+
+import com.example.Ticketssmicroservice.event.TicketChangedEvent;
+import com.example.Ticketssmicroservice.model.Ticket;
+import com.example.Ticketssmicroservice.model.TicketPriority;
+import com.example.Ticketssmicroservice.model.TicketStatus;
+import com.example.Ticketssmicroservice.repository.TicketRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Ticket counts by status x priority, kept in a LongAdder matrix so dashboard reads cost
+ * the same whatever the table size. Seeded with one GROUP BY on startup, then adjusted
+ * from committed TicketChangedEvents.
+ *
+ * A rebuild must neither drop a change nor count it twice, so it is serialised with commits:
+ * every ticket write holds the lock (shared) from just before its commit until its change is
+ * applied, and the rebuild takes it exclusively around the GROUP BY and the swap.
+ */
+@Component
+public class TicketStats {
+
+    private static final TicketStatus[] STATUSES = TicketStatus.values();
+    private static final TicketPriority[] PRIORITIES = TicketPriority.values();
+
+    private final TicketRepository repo;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile LongAdder[][] counts = emptyMatrix();
+
+    public TicketStats(TicketRepository repo) {
+        this.repo = repo;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            LongAdder[][] fresh = emptyMatrix();
+            for (Object[] row : repo.countByStatusAndPriority()) {
+                TicketStatus status = (TicketStatus) row[0];
+                TicketPriority priority = (TicketPriority) row[1];
+                fresh[status.ordinal()][priority.ordinal()].add((Long) row[2]);
+            }
+            counts = fresh;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Takes the shared lock once per writing transaction; released after completion, i.e. after onTicketChanged. */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void holdUntilApplied(TicketChangedEvent event) {
+        if (TransactionSynchronizationManager.hasResource(lock)) {
+            return;
+        }
+        lock.readLock().lock();
+        TransactionSynchronizationManager.bindResource(lock, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(lock);
+                lock.readLock().unlock();
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketChanged(TicketChangedEvent event) {
+        Ticket t = event.getTicket();
+        lock.readLock().lock(); // re-entrant: a committing transaction already holds it
+        try {
+            switch (event.getType()) {
+                case CREATED -> cell(t.getStatus(), t.getPriority()).increment();
+                case UPDATED -> {
+                    if (event.getPreviousStatus() != t.getStatus() || event.getPreviousPriority() != t.getPriority()) {
+                        cell(event.getPreviousStatus(), event.getPreviousPriority()).decrement();
+                        cell(t.getStatus(), t.getPriority()).increment();
+                    }
+                }
+                case DELETED -> cell(event.getPreviousStatus(), event.getPreviousPriority()).decrement();
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** status -> priority -> count, every combination present (zero when empty). */
+    public Map<TicketStatus, Map<TicketPriority, Long>> snapshot() {
+        LongAdder[][] current = counts;
+        Map<TicketStatus, Map<TicketPriority, Long>> result = new EnumMap<>(TicketStatus.class);
+        for (TicketStatus s : STATUSES) {
+            Map<TicketPriority, Long> byPriority = new EnumMap<>(TicketPriority.class);
+            for (TicketPriority p : PRIORITIES) {
+                byPriority.put(p, current[s.ordinal()][p.ordinal()].sum());
+            }
+            result.put(s, byPriority);
+        }
+        return result;
+    }
+
+    private LongAdder cell(TicketStatus status, TicketPriority priority) {
+        return counts[status.ordinal()][priority.ordinal()];
+    }
+
+    private static LongAdder[][] emptyMatrix() {
+        LongAdder[][] m = new LongAdder[STATUSES.length][PRIORITIES.length];
+        for (int s = 0; s < STATUSES.length; s++) {
+            for (int p = 0; p < PRIORITIES.length; p++) {
+                m[s][p] = new LongAdder();
+            }
+        }
+        return m;
+    }
+}
@@ -0,0 +1,211 @@
+package com.example.Ticketssmicroservice.stream;
+
+import com.example.Ticketssmicroservice.dto.TicketEventResponse;
+import com.example.Ticketssmicroservice.dto.TicketResponse;
+import com.example.Ticketssmicroservice.event.TicketChangedEvent;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fans committed ticket changes out to SSE subscribers of GET /tickets/stream.
+ *
+ * - Every change gets an increasing event id; the last {@code tickets.stream.replay-size}
+ *   events are kept so a reconnecting client resumes from its Last-Event-ID. A client that
+ *   fell further behind gets a "reset" event and should reload the list.
+ * - Each subscriber has a pending buffer keyed by ticket id, drained every
+ *   {@code tickets.stream.flush-interval}: a burst of changes to one ticket is sent once,
+ *   as its latest state.
+ * - The buffer holds at most {@code tickets.stream.subscriber-buffer} tickets. A subscriber
+ *   that cannot keep up is disconnected rather than buffered without limit; it reconnects
+ *   and replays from its last event id. A replay that alone would overflow the buffer is
+ *   replaced by a "reset", since disconnecting would only make the client replay it again.
+ */
+@Component
+public class TicketStreamPublisher {
+
+    static final String TICKET_EVENT = "ticket";
+    static final String RESET_EVENT = "reset";
+
+    private final int replaySize;
+    private final int subscriberBuffer;
+    private final long heartbeatMillis;
+
+    /** Guards nextId and replay so subscribe() sees no gap or duplicate against publish(). */
+    private final Object lock = new Object();
+    private final ArrayDeque<StreamEvent> replay = new ArrayDeque<>();
+    // Seeded from the clock so ids keep increasing across restarts
+    private long nextId = System.currentTimeMillis() * 1000;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "ticket-stream-flusher");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public TicketStreamPublisher(
+            @Value("${tickets.stream.replay-size:1000}") int replaySize,
+            @Value("${tickets.stream.subscriber-buffer:256}") int subscriberBuffer,
+            @Value("${tickets.stream.flush-interval:PT0.2S}") Duration flushInterval,
+            @Value("${tickets.stream.heartbeat-interval:PT15S}") Duration heartbeatInterval) {
+        this.replaySize = replaySize;
+        this.subscriberBuffer = subscriberBuffer;
+        this.heartbeatMillis = heartbeatInterval.toMillis();
+        long period = flushInterval.toMillis();
+        flusher.scheduleWithFixedDelay(this::flushAll, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /** Opens a stream; events after {@code lastEventId} are replayed first when still retained. */
+    public SseEmitter subscribe(Long lastEventId) {
+        SseEmitter emitter = newEmitter();
+        Subscriber sub = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(sub));
+        emitter.onTimeout(() -> subscribers.remove(sub));
+        emitter.onError(e -> subscribers.remove(sub));
+
+        synchronized (lock) {
+            if (lastEventId != null) {
+                long oldestRetained = replay.isEmpty() ? nextId + 1 : replay.peekFirst().id;
+                if (lastEventId < oldestRetained - 1 || lastEventId > nextId) {
+                    sub.reset = true; // missed events we no longer have (or an id from elsewhere)
+                } else {
+                    for (StreamEvent e : replay) {
+                        if (e.id > lastEventId && !sub.offer(e)) {
+                            sub.dropPending();
+                            sub.reset = true; // too far behind to catch up by replay
+                            break;
+                        }
+                    }
+                }
+            }
+            subscribers.add(sub);
+        }
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketChanged(TicketChangedEvent event) {
+        TicketEventResponse payload = new TicketEventResponse(
+                event.getType().name(), TicketResponse.from(event.getTicket()));
+        synchronized (lock) {
+            StreamEvent e = new StreamEvent(++nextId, event.getTicket().getId(), payload);
+            replay.addLast(e);
+            if (replay.size() > replaySize) {
+                replay.removeFirst();
+            }
+            for (Subscriber sub : subscribers) {
+                if (!sub.offer(e)) {
+                    sub.overflowed = true;
+                }
+            }
+        }
+    }
+
+    SseEmitter newEmitter() {
+        return new SseEmitter(0L); // no timeout; heartbeats keep proxies from idling out
+    }
+
+    void flushAll() {
+        long now = System.currentTimeMillis();
+        for (Subscriber sub : subscribers) {
+            try {
+                sub.flush(now);
+            } catch (IOException | RuntimeException ex) {
+                // Also e.g. a payload that fails to convert: end the response so the client reconnects
+                subscribers.remove(sub);
+                sub.emitter.completeWithError(ex);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdownNow();
+        subscribers.forEach(s -> s.emitter.complete());
+        subscribers.clear();
+    }
+
+    private static final class StreamEvent {
+        final long id;
+        final Long ticketId;
+        final TicketEventResponse payload;
+
+        StreamEvent(long id, Long ticketId, TicketEventResponse payload) {
+            this.id = id;
+            this.ticketId = ticketId;
+            this.payload = payload;
+        }
+    }
+
+    private final class Subscriber {
+        final SseEmitter emitter;
+        /** Pending events by ticket id; a newer change to the same ticket replaces the older one. */
+        final LinkedHashMap<Long, StreamEvent> pending = new LinkedHashMap<>();
+        volatile boolean overflowed;
+        volatile boolean reset;
+        long lastSentAt = System.currentTimeMillis();
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        synchronized boolean offer(StreamEvent e) {
+            pending.remove(e.ticketId); // re-insert at the tail to keep id order
+            pending.put(e.ticketId, e);
+            return pending.size() <= subscriberBuffer;
+        }
+
+        synchronized void dropPending() {
+            pending.clear();
+        }
+
+        void flush(long now) throws IOException {
+            if (overflowed) {
+                subscribers.remove(this);
+                emitter.complete();
+                return;
+            }
+            if (reset) {
+                reset = false;
+                emitter.send(SseEmitter.event().name(RESET_EVENT).data("{}"));
+                lastSentAt = now;
+            }
+
+            List<StreamEvent> batch;
+            synchronized (this) {
+                if (pending.isEmpty()) {
+                    batch = List.of();
+                } else {
+                    batch = new ArrayList<>(pending.values());
+                    pending.clear();
+                }
+            }
+            for (StreamEvent e : batch) {
+                emitter.send(SseEmitter.event()
+                        .id(Long.toString(e.id))
+                        .name(TICKET_EVENT)
+                        .data(e.payload));
+            }
+            if (!batch.isEmpty()) {
+                lastSentAt = now;
+            } else if (now - lastSentAt >= heartbeatMillis) {
+                emitter.send(SseEmitter.event().comment("keep-alive"));
+                lastSentAt = now;
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.Ticketssmicroservice.search;
+
+import com.example.Ticketssmicroservice.model.Ticket;
+import com.example.Ticketssmicroservice.model.TicketStatus;
+import com.example.Ticketssmicroservice.service.TicketService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = {
+        "eureka.client.enabled=false",
+        "spring.jpa.show-sql=false",
+        "tickets.search.description-chars=40"})
+class TicketSearchIndexTest {
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private TicketSearchIndex index;
+
+    @Test
+    void writesAreVisibleToSearchAndDeletesRemoveTheTicket() {
+        Ticket t = ticketService.create(ticket("Leaking quokkafaucet", "Q-101", "drips all night"));
+        assertEquals(List.of(t.getId()), index.search("quokkafaucet", 0, 10));
+        assertEquals(List.of(t.getId()), index.search("q-101 drips", 0, 10));
+
+        ticketService.updateStatus(t.getId(), TicketStatus.IN_PROGRESS);
+        assertEquals(List.of(t.getId()), index.search("quokkafaucet", 0, 10));
+
+        ticketService.delete(t.getId());
+        assertEquals(List.of(), index.search("quokkafaucet", 0, 10));
+        assertEquals(List.of(), index.search("q-101 drips", 0, 10));
+    }
+
+    @Test
+    void rebuildMatchesTheIncrementallyMaintainedIndex() {
+        Ticket t = ticketService.create(ticket("Broken wombatlamp", "W-7", "flickers"));
+
+        index.rebuild();
+
+        assertEquals(List.of(t.getId()), index.search("wombatlamp", 0, 10));
+    }
+
+    @Test
+    void onlyTheIndexedDescriptionPrefixIsSearchable() {
+        // 40 searchable characters: "numbatpipe" ends at 40, "numbatvalve" starts at 41
+        String description = "x".repeat(30) + "numbatpipe numbatvalve";
+        Ticket t = ticketService.create(ticket("Plumbing", "N-1", description));
+
+        assertEquals(List.of(t.getId()), index.search("numbatpipe", 0, 10));
+        // Long term (trigram route) and short term (scan route) agree past the boundary
+        assertEquals(List.of(), index.search("numbatvalve", 0, 10));
+        assertEquals(List.of(), index.search("numbatpipe va", 0, 10));
+    }
+
+    @Test
+    void titleMatchesRankAboveDescriptionMatches() {
+        Ticket inDescription = ticketService.create(ticket("Noise", "K-1", "the koalafan rattles"));
+        Ticket inTitle = ticketService.create(ticket("Koalafan rattles", "K-2", "noise"));
+
+        assertEquals(List.of(inTitle.getId(), inDescription.getId()), index.search("koalafan", 0, 10));
+    }
+
+    private static Ticket ticket(String title, String room, String description) {
+        Ticket t = new Ticket();
+        t.setTitle(title);
+        t.setRoom(room);
+        t.setDescription(description);
+        return t;
+    }
+}
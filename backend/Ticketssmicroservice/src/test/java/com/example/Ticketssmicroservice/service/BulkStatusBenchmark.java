@@ -0,0 +1,92 @@
+package com.example.Ticketssmicroservice.service;
+
+import com.example.Ticketssmicroservice.TicketssmicroserviceApplication;
+import com.example.Ticketssmicroservice.dto.BulkStatusRequest;
+import com.example.Ticketssmicroservice.model.Ticket;
+import com.example.Ticketssmicroservice.model.TicketStatus;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of moving batchSize tickets to a new status: one bulk call vs one updateStatus per
+ * ticket. Divide the reported time by batchSize for the per-ticket cost.
+ *
+ * Run with:
+ *   mvn test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=com.example.Ticketssmicroservice.service.BulkStatusBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class BulkStatusBenchmark {
+
+    @Param({"1", "100", "10000"})
+    public int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private TicketService tickets;
+    private List<Long> ids;
+    private boolean closed;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = new SpringApplicationBuilder(TicketssmicroserviceApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("eureka.client.enabled=false", "spring.jpa.show-sql=false")
+                .run();
+        tickets = context.getBean(TicketService.class);
+        ids = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            Ticket t = new Ticket();
+            t.setTitle("Benchmark ticket " + i);
+            t.setRoom("B" + (i % 100));
+            ids.add(tickets.create(t).getId());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /** Alternates the target so every invocation really changes every row. */
+    private TicketStatus nextStatus() {
+        closed = !closed;
+        return closed ? TicketStatus.CLOSED : TicketStatus.OPEN;
+    }
+
+    @Benchmark
+    public BulkStatusResult bulk() {
+        BulkStatusRequest req = new BulkStatusRequest();
+        req.setStatus(nextStatus());
+        req.setIds(ids);
+        return tickets.updateStatuses(req);
+    }
+
+    @Benchmark
+    public int oneByOne() {
+        TicketStatus status = nextStatus();
+        for (Long id : ids) {
+            tickets.updateStatus(id, status);
+        }
+        return ids.size();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BulkStatusBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.Ticketssmicroservice.service;
+
+import com.example.Ticketssmicroservice.dto.BulkStatusRequest;
+import com.example.Ticketssmicroservice.model.Ticket;
+import com.example.Ticketssmicroservice.model.TicketPriority;
+import com.example.Ticketssmicroservice.model.TicketStatus;
+import com.example.Ticketssmicroservice.repository.TicketRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * A filtered bulk transition must not touch a ticket that stopped matching between the unlocked
+ * lookup and the row lock. The lock is preceded by a committed write from another transaction.
+ */
+@SpringBootTest(properties = {"eureka.client.enabled=false", "spring.jpa.show-sql=false"})
+class BulkStatusFilterRaceTest {
+
+    @Autowired
+    private TicketService ticketService;
+
+    @MockitoSpyBean
+    private TicketRepository repo;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private PlatformTransactionManager txManager;
+
+    @Test
+    void ticketMovedOutOfTheFilterBeforeTheLockIsSkipped() {
+        Ticket stays = ticketService.create(ticket("BR-1"));
+        Ticket moves = ticketService.create(ticket("BR-1"));
+
+        TransactionTemplate rival = new TransactionTemplate(txManager);
+        rival.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        AtomicBoolean once = new AtomicBoolean();
+        doAnswer(inv -> {
+            if (once.compareAndSet(false, true)) {
+                rival.executeWithoutResult(s ->
+                        jdbc.update("UPDATE tickets SET room = 'BR-2' WHERE id = ?", moves.getId()));
+            }
+            return inv.callRealMethod();
+        }).when(repo).lockAllById(anyList());
+
+        BulkStatusRequest req = new BulkStatusRequest();
+        req.setStatus(TicketStatus.CLOSED);
+        BulkStatusRequest.Filter filter = new BulkStatusRequest.Filter();
+        filter.setRoom("BR-1");
+        req.setFilter(filter);
+        BulkStatusResult result = ticketService.updateStatuses(req);
+
+        assertEquals(Map.of(
+                stays.getId(), BulkStatusResult.Outcome.UPDATED,
+                moves.getId(), BulkStatusResult.Outcome.SKIPPED), result.getOutcomes());
+        assertEquals(1, result.getUpdated());
+        assertEquals(TicketStatus.CLOSED, repo.findById(stays.getId()).orElseThrow().getStatus());
+        assertEquals(TicketStatus.OPEN, repo.findById(moves.getId()).orElseThrow().getStatus());
+    }
+
+    private static Ticket ticket(String room) {
+        Ticket t = new Ticket();
+        t.setTitle("Bulk race");
+        t.setRoom(room);
+        t.setPriority(TicketPriority.MEDIUM);
+        return t;
+    }
+}
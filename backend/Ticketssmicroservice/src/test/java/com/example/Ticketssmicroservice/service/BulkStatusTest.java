@@ -0,0 +1,85 @@
+package com.example.Ticketssmicroservice.service;
+
+import com.example.Ticketssmicroservice.dto.BulkStatusRequest;
+import com.example.Ticketssmicroservice.model.Ticket;
+import com.example.Ticketssmicroservice.model.TicketPriority;
+import com.example.Ticketssmicroservice.model.TicketStatus;
+import com.example.Ticketssmicroservice.repository.TicketRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = {"eureka.client.enabled=false", "spring.jpa.show-sql=false"})
+class BulkStatusTest {
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private TicketRepository repo;
+
+    @Test
+    void reportsEachTicketsOutcomeAndPersistsTheTransition() {
+        Ticket open = ticketService.create(ticket("Bulk open"));
+        Ticket closed = ticketService.updateStatus(ticketService.create(ticket("Bulk closed")).getId(), TicketStatus.CLOSED);
+        long missing = Long.MAX_VALUE;
+
+        BulkStatusRequest req = new BulkStatusRequest();
+        req.setStatus(TicketStatus.CLOSED);
+        req.setIds(List.of(open.getId(), closed.getId(), missing, open.getId()));
+        BulkStatusResult result = ticketService.updateStatuses(req);
+
+        assertEquals(Map.of(
+                open.getId(), BulkStatusResult.Outcome.UPDATED,
+                closed.getId(), BulkStatusResult.Outcome.UNCHANGED,
+                missing, BulkStatusResult.Outcome.NOT_FOUND), result.getOutcomes());
+        assertEquals(1, result.getUpdated());
+        assertEquals(TicketStatus.CLOSED, repo.findById(open.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void filterWithoutAnyCriterionIsRejected() {
+        BulkStatusRequest req = new BulkStatusRequest();
+        req.setStatus(TicketStatus.CLOSED);
+        BulkStatusRequest.Filter filter = new BulkStatusRequest.Filter();
+        filter.setRoom("  ");
+        req.setFilter(filter);
+
+        assertThrows(IllegalArgumentException.class, () -> ticketService.updateStatuses(req));
+    }
+
+    @Test
+    void filterSelectsOnlyMatchingTickets() {
+        Ticket match = ticketService.create(ticket("Bulk filter", "BF-1", TicketPriority.HIGH));
+        Ticket other = ticketService.create(ticket("Bulk filter", "BF-2", TicketPriority.HIGH));
+
+        BulkStatusRequest req = new BulkStatusRequest();
+        req.setStatus(TicketStatus.IN_PROGRESS);
+        BulkStatusRequest.Filter filter = new BulkStatusRequest.Filter();
+        filter.setRoom("BF-1");
+        req.setFilter(filter);
+        BulkStatusResult result = ticketService.updateStatuses(req);
+
+        assertEquals(Map.of(match.getId(), BulkStatusResult.Outcome.UPDATED), result.getOutcomes());
+        assertEquals(TicketStatus.OPEN, repo.findById(other.getId()).orElseThrow().getStatus());
+    }
+
+    private static Ticket ticket(String title) {
+        return ticket(title, "BS-1", TicketPriority.MEDIUM);
+    }
+
+    private static Ticket ticket(String title, String room, TicketPriority priority) {
+        Ticket t = new Ticket();
+        t.setTitle(title);
+        t.setRoom(room);
+        t.setPriority(priority);
+        t.setDescription("bulk status test");
+        return t;
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.Ticketssmicroservice.service;
+
+import com.example.Ticketssmicroservice.controller.TicketController;
+import com.example.Ticketssmicroservice.event.TicketChangedEvent;
+import com.example.Ticketssmicroservice.model.Ticket;
+import com.example.Ticketssmicroservice.model.TicketPriority;
+import com.example.Ticketssmicroservice.model.TicketStatus;
+import com.example.Ticketssmicroservice.repository.ArchivedTicketRepository;
+import com.example.Ticketssmicroservice.repository.TicketRepository;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/** Archival of old closed tickets into tickets_archive and the GET /tickets/archive pages. */
+@SpringBootTest(properties = {"eureka.client.enabled=false", "spring.jpa.show-sql=false"})
+@AutoConfigureMockMvc
+@RecordApplicationEvents
+class TicketArchiveServiceTest {
+
+    @Autowired
+    private TicketArchiveService archiveService;
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private TicketRepository tickets;
+
+    @Autowired
+    private ArchivedTicketRepository archive;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @Test
+    void onlyClosedTicketsOlderThanTheCutoffAreMoved() {
+        Ticket oldClosed = closed("Archive old closed", 400);
+        Ticket recentClosed = closed("Archive recent closed", 0);
+        Ticket oldOpen = ticketService.create(ticket("Archive old open"));
+        age(oldOpen.getId(), 400);
+
+        archiveService.archiveClosed();
+
+        assertFalse(tickets.existsById(oldClosed.getId()));
+        assertEquals(oldClosed.getTicketId(), archive.findById(oldClosed.getId()).orElseThrow().getTicketId());
+        assertTrue(tickets.existsById(recentClosed.getId()));
+        assertTrue(tickets.existsById(oldOpen.getId()));
+        assertFalse(archive.existsById(recentClosed.getId()));
+        assertFalse(archive.existsById(oldOpen.getId()));
+
+        List<Long> deleted = events.stream(TicketChangedEvent.class)
+                .filter(e -> e.getType() == TicketChangedEvent.Type.DELETED)
+                .map(e -> e.getTicket().getId())
+                .toList();
+        assertTrue(deleted.contains(oldClosed.getId()), deleted.toString());
+        assertFalse(deleted.contains(recentClosed.getId()), deleted.toString());
+        assertFalse(deleted.contains(oldOpen.getId()), deleted.toString());
+    }
+
+    @Test
+    void archiveIsPagedNewestFirstWithTheCursor() throws Exception {
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            expected.add(closed("Archive page " + i, 300 + i).getId()); // created further back each time
+        }
+        archiveService.archiveClosed();
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            MockHttpServletRequestBuilder req = get("/tickets/archive").param("limit", "2");
+            if (cursor != null) {
+                req.param("cursor", cursor);
+            }
+            MvcResult page = mvc.perform(req).andExpect(status().isOk()).andReturn();
+            List<Number> ids = JsonPath.read(page.getResponse().getContentAsString(), "$[*].id");
+            assertTrue(ids.size() <= 2);
+            ids.forEach(id -> seen.add(id.longValue()));
+            cursor = page.getResponse().getHeader(TicketController.NEXT_CURSOR_HEADER);
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(archive.count(), seen.size());
+        assertEquals(seen.size(), new HashSet<>(seen).size());
+        assertTrue(pages > 2);
+        assertEquals(expected, seen.stream().filter(expected::contains).toList());
+    }
+
+    @Test
+    void malformedArchiveCursorIsABadRequest() throws Exception {
+        mvc.perform(get("/tickets/archive").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    /** A closed ticket last touched (and created) the given number of days ago. */
+    private Ticket closed(String title, int daysAgo) {
+        Ticket t = ticketService.create(ticket(title));
+        ticketService.updateStatus(t.getId(), TicketStatus.CLOSED);
+        if (daysAgo > 0) {
+            age(t.getId(), daysAgo);
+        }
+        return t;
+    }
+
+    private void age(Long id, int daysAgo) {
+        Timestamp then = Timestamp.from(Instant.now().minus(Duration.ofDays(daysAgo)));
+        jdbc.update("UPDATE tickets SET created_at = ?, updated_at = ? WHERE id = ?", then, then, id);
+    }
+
+    private static Ticket ticket(String title) {
+        Ticket t = new Ticket();
+        t.setTitle(title);
+        t.setRoom("AR-1");
+        t.setPriority(TicketPriority.LOW);
+        t.setDescription("archive test");
+        return t;
+    }
+}
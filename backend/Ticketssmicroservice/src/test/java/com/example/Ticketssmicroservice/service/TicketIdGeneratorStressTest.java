@@ -0,0 +1,108 @@
+package com.example.Ticketssmicroservice.service;
+
+import com.example.Ticketssmicroservice.model.Ticket;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {"eureka.client.enabled=false", "spring.jpa.show-sql=false"})
+class TicketIdGeneratorStressTest {
+
+    private static final int THREADS = 16;
+    private static final int TOTAL = 100_000;
+
+    @Autowired
+    private TicketIdGenerator ids;
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void sequenceGeneratorNeverRepeatsUnderContention() throws Exception {
+        assertUnique(ids);
+    }
+
+    @Test
+    void sequenceGeneratorRefusesABlockSizeTheSequenceWasNotCreatedWith() {
+        // The context created the sequence with the configured block size of 100
+        assertThrows(IllegalStateException.class, () -> new SequenceTicketIdGenerator(jdbc, 50));
+        new SequenceTicketIdGenerator(jdbc, 100);
+    }
+
+    @Test
+    void snowflakeGeneratorNeverRepeatsUnderContention() throws Exception {
+        assertUnique(new SnowflakeTicketIdGenerator(7));
+    }
+
+    @Test
+    void snowflakeGeneratorRefusesToStartWithoutAValidNodeId() {
+        assertThrows(IllegalStateException.class, () -> new SnowflakeTicketIdGenerator(-1));
+        assertThrows(IllegalStateException.class, () -> new SnowflakeTicketIdGenerator(1024));
+    }
+
+    @Test
+    void concurrentCreatesGetDistinctTicketIds() throws Exception {
+        Long before = jdbc.queryForObject("SELECT COUNT(*) FROM tickets", Long.class);
+        runConcurrently(TOTAL, i -> {
+            Ticket t = new Ticket();
+            t.setTitle("Stress " + i);
+            t.setRoom("R" + (i % 50));
+            t.setDescription("generated by " + getClass().getSimpleName());
+            ticketService.create(t);
+        });
+
+        Long rows = jdbc.queryForObject("SELECT COUNT(*) FROM tickets", Long.class);
+        Long distinct = jdbc.queryForObject("SELECT COUNT(DISTINCT ticket_id) FROM tickets", Long.class);
+        assertEquals(before + TOTAL, rows);
+        assertEquals(rows, distinct);
+    }
+
+    private static void assertUnique(TicketIdGenerator generator) throws Exception {
+        Set<String> seen = ConcurrentHashMap.newKeySet(TOTAL);
+        runConcurrently(TOTAL, i -> {
+            String id = generator.nextId();
+            assertTrue(id.length() <= 16, id);
+            seen.add(id);
+        });
+        assertEquals(TOTAL, seen.size());
+    }
+
+    private static void runConcurrently(int total, IntTask task) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int offset = t;
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = offset; i < total; i += THREADS) {
+                    task.run(i);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> f : futures) {
+            f.get(5, TimeUnit.MINUTES);
+        }
+        pool.shutdown();
+    }
+
+    @FunctionalInterface
+    private interface IntTask {
+        void run(int i);
+    }
+}
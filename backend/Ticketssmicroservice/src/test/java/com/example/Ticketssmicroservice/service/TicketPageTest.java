@@ -0,0 +1,118 @@
+package com.example.Ticketssmicroservice.service;
+
+import com.example.Ticketssmicroservice.controller.TicketController;
+import com.example.Ticketssmicroservice.model.Ticket;
+import com.example.Ticketssmicroservice.model.TicketPriority;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * GET /tickets without q: newest-first keyset pages and the X-Next-Cursor header. The tickets
+ * are backdated to 2001 and the walk starts from a cursor just after them, so rows written by
+ * other tests never show up on these pages.
+ */
+@SpringBootTest(properties = {"eureka.client.enabled=false", "spring.jpa.show-sql=false"})
+@AutoConfigureMockMvc
+class TicketPageTest {
+
+    private static final Instant BASE = Instant.parse("2001-01-01T00:00:00Z");
+    private static final String START = new TicketCursor(BASE.plusSeconds(86_400), Long.MAX_VALUE).encode();
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private MockMvc mvc;
+
+    private final List<Long> created = new ArrayList<>();
+
+    /** Deleted through the service so the search index and counters forget them too. */
+    @AfterEach
+    void removeTickets() {
+        created.forEach(ticketService::delete);
+        created.clear();
+    }
+
+    @Test
+    void cursorWalksNewestFirstUntilTheLastPage() throws Exception {
+        List<Long> ids = tickets(5); // ids.get(4) is the newest
+
+        String second = mvc.perform(get("/tickets").param("cursor", START).param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id").value(List.of(ids.get(4).intValue(), ids.get(3).intValue())))
+                .andExpect(header().exists(TicketController.NEXT_CURSOR_HEADER))
+                .andReturn().getResponse().getHeader(TicketController.NEXT_CURSOR_HEADER);
+        String third = mvc.perform(get("/tickets").param("cursor", second).param("limit", "2"))
+                .andExpect(jsonPath("$[*].id").value(List.of(ids.get(2).intValue(), ids.get(1).intValue())))
+                .andExpect(header().exists(TicketController.NEXT_CURSOR_HEADER))
+                .andReturn().getResponse().getHeader(TicketController.NEXT_CURSOR_HEADER);
+        mvc.perform(get("/tickets").param("cursor", third).param("limit", "2"))
+                .andExpect(jsonPath("$[*].id").value(List.of(ids.get(0).intValue())))
+                .andExpect(header().doesNotExist(TicketController.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void exactlyFullLastPageHasNoNextCursor() throws Exception {
+        tickets(2);
+
+        mvc.perform(get("/tickets").param("cursor", START).param("limit", "2"))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(header().doesNotExist(TicketController.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void limitDefaultsAndIsClamped() throws Exception {
+        tickets(TicketService.MAX_PAGE_SIZE + 1);
+
+        mvc.perform(get("/tickets").param("cursor", START))
+                .andExpect(jsonPath("$.length()").value(TicketService.DEFAULT_PAGE_SIZE))
+                .andExpect(header().exists(TicketController.NEXT_CURSOR_HEADER));
+        mvc.perform(get("/tickets").param("cursor", START).param("limit", "1000"))
+                .andExpect(jsonPath("$.length()").value(TicketService.MAX_PAGE_SIZE))
+                .andExpect(header().exists(TicketController.NEXT_CURSOR_HEADER));
+        mvc.perform(get("/tickets").param("cursor", START).param("limit", "0"))
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    void malformedCursorIsABadRequest() throws Exception {
+        mvc.perform(get("/tickets").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("Invalid cursor")));
+    }
+
+    /** Tickets created one second apart in 2001, oldest first. */
+    private List<Long> tickets(int count) {
+        List<Long> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Ticket t = new Ticket();
+            t.setTitle("Page ticket " + i);
+            t.setRoom("PG-1");
+            t.setPriority(TicketPriority.LOW);
+            Long id = ticketService.create(t).getId();
+            jdbc.update("UPDATE tickets SET created_at = ? WHERE id = ?", Timestamp.from(BASE.plusSeconds(i)), id);
+            ids.add(id);
+            created.add(id);
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.Ticketssmicroservice.stats;
+
+import com.example.Ticketssmicroservice.model.Ticket;
+import com.example.Ticketssmicroservice.model.TicketPriority;
+import com.example.Ticketssmicroservice.model.TicketStatus;
+import com.example.Ticketssmicroservice.repository.TicketRepository;
+import com.example.Ticketssmicroservice.service.TicketService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = {"eureka.client.enabled=false", "spring.jpa.show-sql=false"})
+class TicketStatsTest {
+
+    private static final int WRITERS = 8;
+    private static final int TICKETS_PER_WRITER = 300;
+
+    @Autowired
+    private TicketStats stats;
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private TicketRepository repo;
+
+    @Test
+    void countsFollowCreatesUpdatesAndDeletes() {
+        Ticket t = ticketService.create(ticket(TicketPriority.LOW));
+        ticketService.updateStatus(t.getId(), TicketStatus.IN_PROGRESS);
+        Ticket gone = ticketService.create(ticket(TicketPriority.HIGH));
+        ticketService.delete(gone.getId());
+
+        assertEquals(database(), stats.snapshot());
+    }
+
+    @Test
+    void rebuildsRacingWithWritesNeitherLoseNorDoubleCountChanges() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(WRITERS);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        List<Future<?>> writers = new ArrayList<>();
+        for (int w = 0; w < WRITERS; w++) {
+            int writer = w;
+            writers.add(pool.submit(() -> {
+                for (int i = 0; i < TICKETS_PER_WRITER; i++) {
+                    Ticket t = ticketService.create(ticket(TicketPriority.values()[(writer + i) % 3]));
+                    if (i % 3 == 0) {
+                        ticketService.updateStatus(t.getId(), TicketStatus.CLOSED);
+                    } else if (i % 5 == 0) {
+                        ticketService.delete(t.getId());
+                    }
+                }
+                return null;
+            }));
+        }
+        ExecutorService rebuilds = Executors.newSingleThreadExecutor();
+        Future<?> rebuilder = rebuilds.submit(() -> {
+            while (writing.get()) {
+                stats.rebuild();
+            }
+        });
+
+        for (Future<?> f : writers) {
+            f.get(120, TimeUnit.SECONDS);
+        }
+        writing.set(false);
+        rebuilder.get(30, TimeUnit.SECONDS);
+        pool.shutdown();
+        rebuilds.shutdown();
+
+        assertEquals(database(), stats.snapshot());
+    }
+
+    private Map<TicketStatus, Map<TicketPriority, Long>> database() {
+        Map<TicketStatus, Map<TicketPriority, Long>> counts = new EnumMap<>(TicketStatus.class);
+        for (TicketStatus s : TicketStatus.values()) {
+            Map<TicketPriority, Long> byPriority = new EnumMap<>(TicketPriority.class);
+            for (TicketPriority p : TicketPriority.values()) {
+                byPriority.put(p, 0L);
+            }
+            counts.put(s, byPriority);
+        }
+        for (Object[] row : repo.countByStatusAndPriority()) {
+            counts.get((TicketStatus) row[0]).put((TicketPriority) row[1], (Long) row[2]);
+        }
+        return counts;
+    }
+
+    private static Ticket ticket(TicketPriority priority) {
+        Ticket t = new Ticket();
+        t.setTitle("Stats");
+        t.setRoom("ST-1");
+        t.setPriority(priority);
+        t.setDescription("stats test");
+        return t;
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.Ticketssmicroservice.stream;
+
+import com.example.Ticketssmicroservice.event.TicketChangedEvent;
+import com.example.Ticketssmicroservice.model.Ticket;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TicketStreamPublisherTest {
+
+    private TicketStreamPublisher publisher;
+
+    @AfterEach
+    void shutdown() {
+        publisher.shutdown();
+    }
+
+    @Test
+    void reconnectingClientReceivesOnlyTheEventsAfterItsLastEventId() {
+        publisher = publisher(100, 10);
+        RecordingEmitter live = subscribe(null);
+        publish(1L, 2L, 3L);
+        publisher.flushAll();
+        List<String> ids = live.ticketEventIds();
+        assertEquals(3, ids.size());
+
+        RecordingEmitter resumed = subscribe(Long.parseLong(ids.get(0)));
+        publisher.flushAll();
+
+        assertEquals(ids.subList(1, 3), resumed.ticketEventIds());
+        assertFalse(resumed.sent.contains(TicketStreamPublisher.RESET_EVENT));
+    }
+
+    @Test
+    void clientBehindTheReplayWindowIsReset() {
+        publisher = publisher(2, 10);
+        RecordingEmitter live = subscribe(null);
+        publish(1L, 2L, 3L, 4L);
+        publisher.flushAll();
+        long first = Long.parseLong(live.ticketEventIds().get(0));
+
+        RecordingEmitter stale = subscribe(first);
+        publisher.flushAll();
+
+        assertEquals(List.of(TicketStreamPublisher.RESET_EVENT), stale.sent);
+    }
+
+    @Test
+    void replayLargerThanTheBufferIsReplacedByAResetInsteadOfADisconnect() {
+        publisher = publisher(100, 2);
+        RecordingEmitter live = subscribe(null);
+        publish(1L);
+        publisher.flushAll();
+        long first = Long.parseLong(live.ticketEventIds().get(0));
+        publish(2L, 3L, 4L);
+        publisher.flushAll();
+
+        RecordingEmitter behind = subscribe(first);
+        publisher.flushAll();
+        assertEquals(List.of(TicketStreamPublisher.RESET_EVENT), behind.sent);
+        assertFalse(behind.completed);
+
+        // Still subscribed: later changes arrive normally
+        publish(5L);
+        publisher.flushAll();
+        assertEquals(1, behind.ticketEventIds().size());
+    }
+
+    @Test
+    void liveSubscriberThatOverflowsIsDisconnected() {
+        publisher = publisher(100, 2);
+        RecordingEmitter slow = subscribe(null);
+
+        publish(1L, 2L, 3L);
+        publisher.flushAll();
+
+        assertTrue(slow.completed);
+        assertTrue(slow.ticketEventIds().isEmpty());
+    }
+
+    @Test
+    void burstOfChangesToOneTicketIsSentOnceAsItsLatestState() {
+        publisher = publisher(100, 10);
+        RecordingEmitter live = subscribe(null);
+
+        publish(7L, 7L, 7L);
+        publisher.flushAll();
+
+        assertEquals(1, live.ticketEventIds().size());
+    }
+
+    @Test
+    void subscriberWhoseSendFailsIsRemovedAndItsResponseEnded() {
+        publisher = publisher(100, 10);
+        RecordingEmitter broken = subscribe(null);
+        broken.failure = new IllegalArgumentException("no converter");
+
+        publish(1L);
+        publisher.flushAll();
+        assertTrue(broken.failed instanceof IllegalArgumentException);
+
+        // No longer flushed
+        broken.failure = null;
+        publish(2L);
+        publisher.flushAll();
+        assertTrue(broken.sent.isEmpty());
+    }
+
+    private TicketStreamPublisher publisher(int replaySize, int subscriberBuffer) {
+        // Flushes are driven by the test
+        return new TicketStreamPublisher(replaySize, subscriberBuffer, Duration.ofHours(1), Duration.ofHours(1)) {
+            @Override
+            SseEmitter newEmitter() {
+                return new RecordingEmitter();
+            }
+        };
+    }
+
+    private RecordingEmitter subscribe(Long lastEventId) {
+        return (RecordingEmitter) publisher.subscribe(lastEventId);
+    }
+
+    private void publish(Long... ticketIds) {
+        for (Long id : ticketIds) {
+            Ticket t = new Ticket();
+            ReflectionTestUtils.setField(t, "id", id);
+            t.setTitle("Ticket " + id);
+            publisher.onTicketChanged(TicketChangedEvent.created(t));
+        }
+    }
+
+    /** Records "ticket#<id>" or the event name of every event sent; comments are ignored. */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private static final Pattern ID = Pattern.compile("^id:(\\d+)$", Pattern.MULTILINE);
+        private static final Pattern NAME = Pattern.compile("^event:(\\w+)$", Pattern.MULTILINE);
+
+        final List<String> sent = new CopyOnWriteArrayList<>();
+        volatile boolean completed;
+        volatile Throwable failed;
+        /** Thrown from send() when set. */
+        volatile RuntimeException failure;
+
+        RecordingEmitter() {
+            super(0L);
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            if (failure != null) {
+                throw failure;
+            }
+            String text = builder.build().stream()
+                    .map(d -> d.getData() instanceof String s ? s : "")
+                    .collect(Collectors.joining());
+            Matcher name = NAME.matcher(text);
+            if (!name.find()) {
+                return; // keep-alive comment
+            }
+            Matcher id = ID.matcher(text);
+            sent.add(id.find() ? name.group(1) + "#" + id.group(1) : name.group(1));
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        @Override
+        public void completeWithError(Throwable ex) {
+            failed = ex;
+        }
+
+        List<String> ticketEventIds() {
+            return sent.stream()
+                    .filter(e -> e.startsWith(TicketStreamPublisher.TICKET_EVENT + "#"))
+                    .map(e -> e.substring(e.indexOf('#') + 1))
+                    .toList();
+        }
+    }
+}
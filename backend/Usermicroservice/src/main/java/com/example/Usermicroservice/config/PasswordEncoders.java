@@ -0,0 +1,110 @@
+package com.example.Usermicroservice.config;
+
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Builds the {id}-prefixed delegating encoder. New hashes use the configured algorithm/cost;
+ * every supported format (and legacy un-prefixed BCrypt) still verifies, so stored hashes
+ * can be upgraded on the next successful login.
+ */
+public final class PasswordEncoders {
+
+    public static final String BCRYPT = "bcrypt";
+    public static final String ARGON2 = "argon2";
+    public static final String PBKDF2 = "pbkdf2";
+
+    /** Iterations of PBKDF2 hashes written before the count was stored in the hash (the old default). */
+    static final int LEGACY_PBKDF2_ITERATIONS = 310000;
+
+    private PasswordEncoders() { }
+
+    public static PasswordEncoder delegating(
+            String algorithm,
+            int bcryptStrength,
+            int pbkdf2Iterations,
+            int argon2MemoryKb,
+            int argon2Iterations) {
+        String id = algorithm.trim().toLowerCase();
+        PasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+        Map<String, PasswordEncoder> encoders = Map.of(
+                BCRYPT, bcrypt,
+                ARGON2, new Argon2PasswordEncoder(16, 32, 1, argon2MemoryKb, argon2Iterations),
+                PBKDF2, new IterationTaggedPbkdf2(pbkdf2Iterations));
+        if (!encoders.containsKey(id)) {
+            throw new IllegalArgumentException("Unsupported auth.password.algorithm: " + algorithm);
+        }
+
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(id, encoders);
+        // Hashes stored before the {id} prefix was introduced are plain BCrypt
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+        return delegating;
+    }
+
+    /**
+     * PBKDF2-HMAC-SHA256 that stores its iteration count as "{pbkdf2}i=N$hash", because
+     * Pbkdf2PasswordEncoder neither records the count nor implements upgradeEncoding. Hashes
+     * with fewer iterations than configured still verify and report that they need an upgrade.
+     */
+    static final class IterationTaggedPbkdf2 implements PasswordEncoder {
+
+        private static final String TAG = "i=";
+
+        private final int iterations;
+        private final Map<Integer, Pbkdf2PasswordEncoder> byIterations = new ConcurrentHashMap<>();
+
+        IterationTaggedPbkdf2(int iterations) {
+            this.iterations = iterations;
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return TAG + iterations + "$" + encoder(iterations).encode(rawPassword);
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            if (encodedPassword == null) {
+                return false;
+            }
+            int stored = iterationsOf(encodedPassword);
+            if (stored <= 0) {
+                return false;
+            }
+            return encoder(stored).matches(rawPassword, hashOf(encodedPassword));
+        }
+
+        @Override
+        public boolean upgradeEncoding(String encodedPassword) {
+            return encodedPassword != null && iterationsOf(encodedPassword) < iterations;
+        }
+
+        private Pbkdf2PasswordEncoder encoder(int n) {
+            return byIterations.computeIfAbsent(n, k -> new Pbkdf2PasswordEncoder("", 16, k,
+                    Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256));
+        }
+
+        /** Stored iteration count; untagged hashes predate the tag. -1 if the tag is malformed. */
+        private static int iterationsOf(String encoded) {
+            if (!encoded.startsWith(TAG)) {
+                return LEGACY_PBKDF2_ITERATIONS;
+            }
+            int end = encoded.indexOf('$');
+            try {
+                return end < 0 ? -1 : Integer.parseInt(encoded.substring(TAG.length(), end));
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+
+        private static String hashOf(String encoded) {
+            return encoded.startsWith(TAG) ? encoded.substring(encoded.indexOf('$') + 1) : encoded;
+        }
+    }
+}
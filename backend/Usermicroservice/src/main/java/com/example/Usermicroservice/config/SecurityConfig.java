@@ -72,6 +72,7 @@
 
 package com.example.Usermicroservice.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.Customizer;
@@ -79,7 +80,6 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.provisioning.InMemoryUserDetailsManager;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -90,7 +90,7 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import com.example.Usermicroservice.exception.RestAccessDeniedHandler;
 import com.example.Usermicroservice.exception.RestAuthenticationEntryPoint;
 import com.example.Usermicroservice.jwt.JwtAuthFilter;
-import com.example.Usermicroservice.jwt.JwtService;
+import com.example.Usermicroservice.jwt.JwtAuthenticationCache;
 
 import static org.springframework.security.config.http.SessionCreationPolicy.STATELESS;
 
@@ -98,7 +98,7 @@ import static org.springframework.security.config.http.SessionCreationPolicy.STA
 public class SecurityConfig {
 
     @Bean
-    public SecurityFilterChain api(HttpSecurity http, JwtService jwtService) throws Exception {
+    public SecurityFilterChain api(HttpSecurity http, JwtAuthenticationCache authCache) throws Exception {
         http
             .csrf(csrf -> csrf.disable())
             .sessionManagement(sm -> sm.sessionCreationPolicy(STATELESS))
@@ -109,6 +109,7 @@ public class SecurityConfig {
                     "/swagger-ui/**", "/swagger-ui.html",
                     "/h2-console/**",
                     "/api/auth/**",
+                    "/.well-known/jwks.json",
                     "/ping"
                 ).permitAll()
                 .anyRequest().authenticated()
@@ -122,7 +123,7 @@ public class SecurityConfig {
             );
 
         // JWT verification filter for protected endpoints
-        http.addFilterBefore(new JwtAuthFilter(jwtService), UsernamePasswordAuthenticationFilter.class);
+        http.addFilterBefore(new JwtAuthFilter(authCache), UsernamePasswordAuthenticationFilter.class);
 
         // DO NOT enable httpBasic() to avoid browser popup
         // .httpBasic(Customizer.withDefaults());
@@ -141,8 +142,14 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${auth.password.algorithm:bcrypt}") String algorithm,
+            @Value("${auth.password.bcrypt-strength:10}") int bcryptStrength,
+            @Value("${auth.password.pbkdf2-iterations:310000}") int pbkdf2Iterations,
+            @Value("${auth.password.argon2-memory-kb:19456}") int argon2MemoryKb,
+            @Value("${auth.password.argon2-iterations:2}") int argon2Iterations) {
+        return PasswordEncoders.delegating(
+                algorithm, bcryptStrength, pbkdf2Iterations, argon2MemoryKb, argon2Iterations);
     }
 
     // CORS: open for dev; restrict origins in prod
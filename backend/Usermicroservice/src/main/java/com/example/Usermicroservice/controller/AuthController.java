@@ -3,9 +3,11 @@ package com.example.Usermicroservice.controller;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
 import com.example.Usermicroservice.dto.AuthResponse;
 import com.example.Usermicroservice.dto.LoginRequest;
+import com.example.Usermicroservice.dto.RefreshRequest;
 import com.example.Usermicroservice.dto.RegisterRequest;
 import com.example.Usermicroservice.service.AuthService;
 
@@ -30,4 +32,19 @@ public class AuthController {
     public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest req) {
         return ResponseEntity.ok(service.login(req));
     }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponse> refresh(@Valid @RequestBody RefreshRequest req) {
+        return ResponseEntity.ok(service.refresh(req.getRefreshToken()));
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(
+            @RequestHeader(value = "Authorization", required = false) String authHeader,
+            @RequestBody(required = false) RefreshRequest req) {
+        String accessToken = StringUtils.hasText(authHeader) && authHeader.startsWith("Bearer ")
+                ? authHeader.substring(7) : null;
+        service.logout(accessToken, req != null ? req.getRefreshToken() : null);
+        return ResponseEntity.noContent().build();
+    }
 }
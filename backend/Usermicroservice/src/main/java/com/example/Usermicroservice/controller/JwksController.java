@@ -0,0 +1,29 @@
+package com.example.Usermicroservice.controller;
+
+import com.example.Usermicroservice.jwt.SigningKeyRing;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.Map;
+
+@RestController
+public class JwksController {
+
+    private final SigningKeyRing keyRing;
+
+    public JwksController(SigningKeyRing keyRing) {
+        this.keyRing = keyRing;
+    }
+
+    // GET /.well-known/jwks.json -> public keys for offline token verification
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, Object>> jwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic())
+                .body(keyRing.jwks());
+    }
+}
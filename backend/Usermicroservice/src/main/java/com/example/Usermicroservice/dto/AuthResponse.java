@@ -3,13 +3,18 @@ package com.example.Usermicroservice.dto;
 public class AuthResponse {
 
     private String token;
+    private String refreshToken;
+    private long expiresIn; // access token lifetime, seconds
     private String name;
     private String email;
     private String phone;
     private String role;
 
-    public AuthResponse(String token, String name, String email, String phone, String role) {
+    public AuthResponse(String token, String refreshToken, long expiresIn,
+                        String name, String email, String phone, String role) {
         this.token = token;
+        this.refreshToken = refreshToken;
+        this.expiresIn = expiresIn;
         this.name = name;
         this.email = email;
         this.phone = phone;
@@ -18,6 +23,8 @@ public class AuthResponse {
 
     // getters
     public String getToken() { return token; }
+    public String getRefreshToken() { return refreshToken; }
+    public long getExpiresIn() { return expiresIn; }
     public String getName() { return name; }
     public String getEmail() { return email; }
     public String getPhone() { return phone; }
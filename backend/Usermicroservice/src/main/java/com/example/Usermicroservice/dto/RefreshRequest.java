@@ -0,0 +1,13 @@
+package com.example.Usermicroservice.dto;
+
+import jakarta.validation.constraints.*;
+
+public class RefreshRequest {
+
+    @NotBlank @Size(max = 200)
+    private String refreshToken;
+
+    // getters/setters
+    public String getRefreshToken() { return refreshToken; }
+    public void setRefreshToken(String refreshToken) { this.refreshToken = refreshToken; }
+}
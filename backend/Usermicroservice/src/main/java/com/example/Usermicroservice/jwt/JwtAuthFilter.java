@@ -1,28 +1,22 @@
 package com.example.Usermicroservice.jwt;
 
-import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Collection;
-import java.util.List;
-import java.util.stream.Collectors;
 
 public class JwtAuthFilter extends OncePerRequestFilter {
 
-    private final JwtService jwtService;
+    private final JwtAuthenticationCache authCache;
 
-    public JwtAuthFilter(JwtService jwtService) {
-        this.jwtService = jwtService;
+    public JwtAuthFilter(JwtAuthenticationCache authCache) {
+        this.authCache = authCache;
     }
 
     @Override
@@ -41,27 +35,8 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         String token = header.substring(7);
 
         try {
-            Claims claims = jwtService.parseClaims(token);
-            String username = claims.getSubject();
-
-            // Authorities expected as array/string list under "roles" claim
-            Object rolesClaim = claims.get("roles");
-            Collection<SimpleGrantedAuthority> authorities = List.of();
-
-            if (rolesClaim instanceof Collection<?> roles) {
-                authorities = roles.stream()
-                        .map(String::valueOf)
-                        .map(SimpleGrantedAuthority::new)
-                        .collect(Collectors.toList());
-            } else if (rolesClaim instanceof String s) {
-                authorities = List.of(new SimpleGrantedAuthority(s));
-            }
-
-            
-            UsernamePasswordAuthenticationToken auth =
-                    new UsernamePasswordAuthenticationToken(username, null, authorities);
-
-            SecurityContextHolder.getContext().setAuthentication(auth);
+            // Repeat requests with the same token skip parsing and signature checks
+            SecurityContextHolder.getContext().setAuthentication(authCache.authenticate(token));
 
         } catch (JwtException ex) {
             // Invalid token -> clear context; let entry point produce 401 JSON
@@ -71,4 +46,3 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 }
-
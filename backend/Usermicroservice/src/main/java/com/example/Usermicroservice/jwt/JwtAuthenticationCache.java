@@ -0,0 +1,114 @@
+package com.example.Usermicroservice.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded cache of verified token contents (subject, authorities, jti, expiry). A hit skips
+ * base64 decoding, signature verification, JSON parsing and authority building; entries are
+ * dropped once the token expires. Each call still gets its own Authentication, since those
+ * are mutable (details, authenticated flag) and must not be shared between requests.
+ */
+@Component
+public class JwtAuthenticationCache {
+
+    private final JwtService jwtService;
+    private final TokenRevocationList revocations;
+    private final int maxSize;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public JwtAuthenticationCache(
+            JwtService jwtService,
+            TokenRevocationList revocations,
+            @Value("${auth.jwt.cache.max-size:10000}") int maxSize) {
+        this.jwtService = jwtService;
+        this.revocations = revocations;
+        this.maxSize = maxSize;
+    }
+
+    /** Returns a new Authentication for a token, parsing it only on a cache miss. Throws on invalid. */
+    public Authentication authenticate(String token) throws JwtException {
+        long now = System.currentTimeMillis();
+        Entry cached = entries.get(token);
+        if (cached != null) {
+            if (revocations.isRevoked(cached.jti)) {
+                entries.remove(token, cached);
+                throw new JwtException("Token has been revoked");
+            }
+            if (now < cached.expiresAtMillis) {
+                return cached.toAuthentication();
+            }
+            entries.remove(token, cached);
+        }
+
+        Claims claims = jwtService.parseClaims(token);
+        Entry parsed = new Entry(claims.getSubject(), authorities(claims), claims.getId(),
+                claims.getExpiration() == null ? 0 : claims.getExpiration().getTime());
+
+        if (claims.getExpiration() != null) {
+            if (entries.size() >= maxSize) {
+                evict(now);
+            }
+            entries.put(token, parsed);
+        }
+        return parsed.toAuthentication();
+    }
+
+    private static List<SimpleGrantedAuthority> authorities(Claims claims) {
+        // Authorities expected as array/string list under "roles" claim
+        Object rolesClaim = claims.get("roles");
+        if (rolesClaim instanceof Collection<?> roles) {
+            return roles.stream()
+                    .map(String::valueOf)
+                    .map(SimpleGrantedAuthority::new)
+                    .toList();
+        } else if (rolesClaim instanceof String s) {
+            return List.of(new SimpleGrantedAuthority(s));
+        }
+        return List.of();
+    }
+
+    private synchronized void evict(long now) {
+        if (entries.size() < maxSize) {
+            return; // another thread already made room
+        }
+        entries.values().removeIf(e -> now >= e.expiresAtMillis);
+
+        // Still full of live tokens: drop an arbitrary tenth, they are simply re-parsed on next use
+        int excess = entries.size() - maxSize + Math.max(1, maxSize / 10);
+        Iterator<String> it = entries.keySet().iterator();
+        while (excess-- > 0 && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    /** Immutable token contents; safe to share between threads. */
+    private static final class Entry {
+        final String subject;
+        final List<SimpleGrantedAuthority> authorities;
+        final String jti;
+        final long expiresAtMillis;
+
+        Entry(String subject, List<SimpleGrantedAuthority> authorities, String jti, long expiresAtMillis) {
+            this.subject = subject;
+            this.authorities = List.copyOf(authorities);
+            this.jti = jti;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+
+        Authentication toAuthentication() {
+            return new UsernamePasswordAuthenticationToken(subject, null, authorities);
+        }
+    }
+}
@@ -10,38 +10,80 @@ import java.security.Key;
 import java.time.Instant;
 import java.util.Date;
 import java.util.Map;
+import java.util.UUID;
 
 @Service
 public class JwtService {
 
-    private final Key key;
+    private final SigningKeyRing keyRing;
+    private final TokenRevocationList revocations;
     private final long expirationMinutes;
+    private final JwtParser parser;
 
     public JwtService(
             @Value("${auth.jwt.secret}") String secret,
-            @Value("${auth.jwt.expiration-minutes}") long expirationMinutes) {
-        this.key = Keys.hmacShaKeyFor(secret.getBytes());
+            @Value("${auth.jwt.expiration-minutes}") long expirationMinutes,
+            SigningKeyRing keyRing,
+            TokenRevocationList revocations) {
+        this.keyRing = keyRing;
+        this.revocations = revocations;
         this.expirationMinutes = expirationMinutes;
+        // HS256 tokens issued before the switch to RS256 keep verifying until they expire
+        Key legacyHmacKey = Keys.hmacShaKeyFor(secret.getBytes());
+        // Built once: the parser is immutable and thread-safe
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        String alg = header.getAlgorithm();
+                        if (SignatureAlgorithm.RS256.getValue().equals(alg)) {
+                            Key key = keyRing.publicKey(header.getKeyId());
+                            if (key == null) {
+                                throw new UnsupportedJwtException("Unknown key id: " + header.getKeyId());
+                            }
+                            return key;
+                        }
+                        if (SignatureAlgorithm.HS256.getValue().equals(alg)) {
+                            return legacyHmacKey;
+                        }
+                        throw new UnsupportedJwtException("Unsupported signing algorithm: " + alg);
+                    }
+                })
+                .build();
     }
 
     public String issueToken(String subjectEmail, Map<String, Object> claims) {
         Instant now = Instant.now();
         Instant exp = now.plusSeconds(expirationMinutes * 60);
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
+                .setId(UUID.randomUUID().toString()) // jti, used for revocation
                 .setSubject(subjectEmail)
                 .addClaims(claims)
                 .setIssuedAt(Date.from(now))
-                .setExpiration(Date.from(exp))
-                .signWith(key, SignatureAlgorithm.HS256)
-                .compact();
+                .setExpiration(Date.from(exp));
+        return keyRing.sign(builder).compact();
     }
 
-    /** Parse claims and validate signature/expiry. Throws on invalid. */
+    public long getExpirationMinutes() {
+        return expirationMinutes;
+    }
+
+    /** Parse claims and validate signature/expiry/revocation. Throws on invalid. */
     public Claims parseClaims(String token) throws JwtException {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        if (revocations.isRevoked(claims.getId())) {
+            throw new JwtException("Token has been revoked");
+        }
+        return claims;
+    }
+
+    /** Revoke an access token until it expires. Invalid tokens are ignored. */
+    public void revoke(String token) {
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            revocations.revoke(claims.getId(), claims.getExpiration().getTime());
+        } catch (JwtException ex) {
+            // already unusable
+        }
     }
 }
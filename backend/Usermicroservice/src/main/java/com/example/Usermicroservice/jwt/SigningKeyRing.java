@@ -0,0 +1,261 @@
+package com.example.Usermicroservice.jwt;
+
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * RS256 signing keys with key ids, kept in auth.jwt.key-dir. Every instance reads the same
+ * directory (a shared volume), so all of them sign with the newest key and verify tokens signed
+ * by any of them, and keys survive restarts. Rotated-out keys stay published until every token
+ * they signed has expired, then any instance deletes them.
+ */
+@Component
+public class SigningKeyRing {
+
+    private static final Logger log = LoggerFactory.getLogger(SigningKeyRing.class);
+    private static final String SUFFIX = ".key";
+    /** kids are UUIDs; anything else in a token header is never looked up on disk */
+    private static final Pattern KID = Pattern.compile("[0-9a-f-]{36}");
+
+    private final Path keyDir;
+    private final long rotationIntervalMillis;
+    private final long retentionMillis;
+    private volatile Keys keys;
+
+    public SigningKeyRing(
+            @Value("${auth.jwt.expiration-minutes}") long expirationMinutes,
+            @Value("${auth.jwt.key-rotation-interval:PT24H}") Duration rotationInterval,
+            @Value("${auth.jwt.key-reload-interval:PT30S}") Duration reloadInterval,
+            @Value("${auth.jwt.key-dir:data/jwt-keys}") Path keyDir) {
+        this.keyDir = keyDir;
+        this.rotationIntervalMillis = rotationInterval.toMillis();
+        // A peer may keep signing with a retired key until its next reload
+        this.retentionMillis = Duration.ofMinutes(expirationMinutes).plus(reloadInterval).toMillis();
+        try {
+            Files.createDirectories(keyDir);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create auth.jwt.key-dir " + keyDir, e);
+        }
+        refresh();
+    }
+
+    /** Picks up keys written by other instances and generates a new key once the newest is due. */
+    @Scheduled(
+            initialDelayString = "${auth.jwt.key-reload-interval:PT30S}",
+            fixedDelayString = "${auth.jwt.key-reload-interval:PT30S}")
+    public synchronized void refresh() {
+        reload();
+        StoredKey newest = keys.signing;
+        if (newest == null || System.currentTimeMillis() - newest.createdMillis >= rotationIntervalMillis) {
+            rotate();
+        }
+    }
+
+    /** Generate a fresh signing key and retire the previous one, for every instance. */
+    public synchronized void rotate() {
+        KeyPair pair = generateRsaKeyPair();
+        String kid = UUID.randomUUID().toString();
+        Properties p = new Properties();
+        p.setProperty("created", String.valueOf(System.currentTimeMillis()));
+        p.setProperty("private", Base64.getEncoder().encodeToString(pair.getPrivate().getEncoded()));
+        p.setProperty("public", Base64.getEncoder().encodeToString(pair.getPublic().getEncoded()));
+
+        Path tmp = keyDir.resolve("." + kid + ".tmp");
+        try {
+            try (Writer out = Files.newBufferedWriter(tmp, StandardCharsets.US_ASCII)) {
+                p.store(out, null);
+            }
+            restrictToOwner(tmp);
+            // Other instances must never see a half-written key
+            Files.move(tmp, keyDir.resolve(kid + SUFFIX), StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write signing key to " + keyDir, e);
+        }
+        reload();
+    }
+
+    /** Sign with the current key and stamp its kid in the header. */
+    public JwtBuilder sign(JwtBuilder builder) {
+        StoredKey key = keys.signing; // one read so kid and key always match
+        return builder
+                .setHeaderParam("kid", key.kid)
+                .signWith(key.privateKey, SignatureAlgorithm.RS256);
+    }
+
+    /** Public key for a kid, or null if unknown/expired. A kid just written by a peer is loaded on demand. */
+    public PublicKey publicKey(String kid) {
+        if (kid == null) {
+            return null;
+        }
+        StoredKey k = keys.verification.get(kid);
+        if (k == null && KID.matcher(kid).matches() && Files.exists(keyDir.resolve(kid + SUFFIX))) {
+            synchronized (this) {
+                reload();
+            }
+            k = keys.verification.get(kid);
+        }
+        return k == null ? null : k.publicKey;
+    }
+
+    /** JWK set (RFC 7517) of every key that may still verify a live token. */
+    public Map<String, Object> jwks() {
+        List<Map<String, Object>> list = new ArrayList<>();
+        keys.verification.forEach((kid, k) -> {
+            Map<String, Object> jwk = new LinkedHashMap<>();
+            jwk.put("kty", "RSA");
+            jwk.put("use", "sig");
+            jwk.put("alg", "RS256");
+            jwk.put("kid", kid);
+            jwk.put("n", base64Url(k.publicKey.getModulus()));
+            jwk.put("e", base64Url(k.publicKey.getPublicExponent()));
+            list.add(jwk);
+        });
+        return Map.of("keys", list);
+    }
+
+    /**
+     * Rebuilds the key set from the directory. Keys are ordered by creation; each one is retired
+     * by its successor and kept for a token lifetime after that. The newest key signs.
+     */
+    private void reload() {
+        List<StoredKey> stored = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(keyDir, "*" + SUFFIX)) {
+            for (Path file : files) {
+                StoredKey k = read(file);
+                if (k != null) {
+                    stored.add(k);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read signing keys from " + keyDir, e);
+        }
+        stored.sort(Comparator.comparingLong((StoredKey k) -> k.createdMillis).thenComparing(k -> k.kid));
+
+        long now = System.currentTimeMillis();
+        Map<String, StoredKey> verification = new LinkedHashMap<>();
+        for (int i = 0; i < stored.size(); i++) {
+            StoredKey k = stored.get(i);
+            boolean expired = i < stored.size() - 1 && stored.get(i + 1).createdMillis + retentionMillis < now;
+            if (expired) {
+                delete(k);
+            } else {
+                verification.put(k.kid, k);
+            }
+        }
+        keys = new Keys(stored.isEmpty() ? null : stored.get(stored.size() - 1), verification);
+    }
+
+    private StoredKey read(Path file) {
+        String name = file.getFileName().toString();
+        String kid = name.substring(0, name.length() - SUFFIX.length());
+        StoredKey known = keys == null ? null : keys.verification.get(kid);
+        if (known != null) {
+            return known; // key files never change once written
+        }
+        try (Reader in = Files.newBufferedReader(file, StandardCharsets.US_ASCII)) {
+            Properties p = new Properties();
+            p.load(in);
+            KeyFactory rsa = KeyFactory.getInstance("RSA");
+            PrivateKey privateKey = rsa.generatePrivate(
+                    new PKCS8EncodedKeySpec(Base64.getDecoder().decode(p.getProperty("private"))));
+            RSAPublicKey publicKey = (RSAPublicKey) rsa.generatePublic(
+                    new X509EncodedKeySpec(Base64.getDecoder().decode(p.getProperty("public"))));
+            return new StoredKey(kid, Long.parseLong(p.getProperty("created")), privateKey, publicKey, file);
+        } catch (NoSuchFileException e) {
+            return null; // deleted by another instance meanwhile
+        } catch (Exception e) {
+            log.warn("Skipping unreadable signing key {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    private static void delete(StoredKey k) {
+        try {
+            Files.deleteIfExists(k.file);
+        } catch (IOException e) {
+            log.warn("Cannot delete expired signing key {}: {}", k.file, e.getMessage());
+        }
+    }
+
+    private static void restrictToOwner(Path file) throws IOException {
+        try {
+            Files.setPosixFilePermissions(file, PosixFilePermissions.fromString("rw-------"));
+        } catch (UnsupportedOperationException e) {
+            // not a POSIX file system; rely on the directory's permissions
+        }
+    }
+
+    private static String base64Url(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            // drop the sign byte: JWK integers are unsigned big-endian
+            byte[] unsigned = new byte[bytes.length - 1];
+            System.arraycopy(bytes, 1, unsigned, 0, unsigned.length);
+            bytes = unsigned;
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static KeyPair generateRsaKeyPair() {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            return generator.generateKeyPair();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("RSA not available", e);
+        }
+    }
+
+    /** Immutable view of the directory as of the last reload. */
+    private static final class Keys {
+        final StoredKey signing;
+        final Map<String, StoredKey> verification;
+
+        Keys(StoredKey signing, Map<String, StoredKey> verification) {
+            this.signing = signing;
+            this.verification = Collections.unmodifiableMap(verification);
+        }
+    }
+
+    private static final class StoredKey {
+        final String kid;
+        final long createdMillis;
+        final PrivateKey privateKey;
+        final RSAPublicKey publicKey;
+        final Path file;
+
+        StoredKey(String kid, long createdMillis, PrivateKey privateKey, RSAPublicKey publicKey, Path file) {
+            this.kid = kid;
+            this.createdMillis = createdMillis;
+            this.privateKey = privateKey;
+            this.publicKey = publicKey;
+            this.file = file;
+        }
+    }
+}
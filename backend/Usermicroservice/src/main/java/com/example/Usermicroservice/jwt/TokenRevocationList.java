@@ -0,0 +1,32 @@
+package com.example.Usermicroservice.jwt;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory set of revoked access-token ids (jti). Lookups are O(1); an entry is dropped
+ * as soon as the token it revokes would have expired anyway, so the set stays small.
+ */
+@Component
+public class TokenRevocationList {
+
+    private final ConcurrentHashMap<String, Long> revoked = new ConcurrentHashMap<>();
+
+    public void revoke(String jti, long expiresAtMillis) {
+        if (jti != null && expiresAtMillis > System.currentTimeMillis()) {
+            revoked.put(jti, expiresAtMillis);
+        }
+    }
+
+    public boolean isRevoked(String jti) {
+        return jti != null && revoked.containsKey(jti);
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        revoked.values().removeIf(exp -> exp <= now);
+    }
+}
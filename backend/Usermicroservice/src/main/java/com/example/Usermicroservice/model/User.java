@@ -6,11 +6,14 @@ import jakarta.validation.constraints.*;
 
 @Entity
 @Table(name = "users", indexes = {
-    @Index(name = "idx_users_email", columnList = "email", unique = true),
-    @Index(name = "idx_users_phone", columnList = "phone", unique = true)
+    @Index(name = User.EMAIL_INDEX, columnList = "email", unique = true),
+    @Index(name = User.PHONE_INDEX, columnList = "phone", unique = true)
 })
 public class User {
 
+    public static final String EMAIL_INDEX = "idx_users_email";
+    public static final String PHONE_INDEX = "idx_users_phone";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY) // numeric PK in H2
     private Long id;
@@ -23,12 +26,12 @@ public class User {
     @NotBlank
     @Email
     @Size(max = 200)
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false) // uniqueness enforced by idx_users_email
     private String email;
 
     @NotBlank
     @Pattern(regexp = "^[6-9]\\d{9}$")  // matches your Yup rule
-    @Column(nullable = false, unique = true, length = 10)
+    @Column(nullable = false, length = 10) // uniqueness enforced by idx_users_phone
     private String phone;
 
     @NotBlank
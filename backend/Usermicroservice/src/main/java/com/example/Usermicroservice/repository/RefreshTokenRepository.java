@@ -0,0 +1,35 @@
+package com.example.Usermicroservice.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.example.Usermicroservice.model.RefreshToken;
+
+import java.time.Instant;
+import java.util.Optional;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    /** Returns 1 only for the caller that actually consumed the token. */
+    @Modifying
+    @Query("update RefreshToken r set r.revoked = true where r.id = :id and r.revoked = false")
+    int consume(@Param("id") Long id);
+
+    @Modifying
+    @Query("update RefreshToken r set r.revoked = true where r.familyId = :familyId and r.revoked = false")
+    int revokeFamily(@Param("familyId") String familyId);
+
+    @Modifying
+    @Query("delete from RefreshToken r where r.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+
+    /** Families without a usable token left (logged out or revoked for reuse). */
+    @Modifying
+    @Query("delete from RefreshToken r where r.revoked = true and not exists "
+            + "(select l.id from RefreshToken l where l.familyId = r.familyId and l.revoked = false)")
+    int deleteDeadFamilies();
+}
@@ -5,26 +5,33 @@ import com.example.Usermicroservice.dto.AuthResponse;
 import com.example.Usermicroservice.dto.LoginRequest;
 import com.example.Usermicroservice.dto.RegisterRequest;
 import com.example.Usermicroservice.jwt.JwtService;
+import com.example.Usermicroservice.model.RefreshToken;
 import com.example.Usermicroservice.model.User;
 import com.example.Usermicroservice.repository.UserRepository;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.Locale;
 import java.util.Map;
 
 @Service
 public class AuthService {
 
     private final UserRepository users;
-    private final PasswordEncoder encoder;
+    private final PasswordHasher hasher;
     private final JwtService jwtService;
+    private final RefreshTokenService refreshTokens;
 
-    public AuthService(UserRepository users, PasswordEncoder encoder, JwtService jwtService) {
+    public AuthService(UserRepository users, PasswordHasher hasher, JwtService jwtService,
+                       RefreshTokenService refreshTokens) {
         this.users = users;
-        this.encoder = encoder;
+        this.hasher = hasher;
         this.jwtService = jwtService;
+        this.refreshTokens = refreshTokens;
     }
 
     /** Registers a new user, returns JWT + profile in AuthResponse */
@@ -32,29 +39,22 @@ public class AuthService {
         String email = req.getEmail().trim().toLowerCase();
         String phone = req.getPhone().trim();
 
-        if (users.existsByEmail(email)) {
-            throw new ResponseStatusException(HttpStatus.CONFLICT, "Email already registered");
-        }
-        if (users.existsByPhone(phone)) {
-            throw new ResponseStatusException(HttpStatus.CONFLICT, "Phone already registered");
-        }
-
         User u = new User();
         u.setName(req.getName().trim());
         u.setEmail(email);
         u.setPhone(phone);
-        u.setPasswordHash(encoder.encode(req.getPassword()));
+        u.setPasswordHash(hasher.encode(req.getPassword()));
         // Default role; change as needed (e.g., "USER", "ADMIN", "OWNER")
         u.setRole("OWNER");
 
-        u = users.save(u);
-
-        String token = jwtService.issueToken(
-            u.getEmail(),
-            Map.of("role", u.getRole())
-        );
+        // Single INSERT: the unique indexes decide duplicates, no exists-then-save race
+        try {
+            u = users.saveAndFlush(u);
+        } catch (DataIntegrityViolationException ex) {
+            throw duplicateOf(ex);
+        }
 
-        return new AuthResponse(token, u.getName(), u.getEmail(), u.getPhone(), u.getRole());
+        return issueTokens(u, null);
     }
 
     /** Authenticates an existing user, returns JWT + profile in AuthResponse */
@@ -62,15 +62,82 @@ public class AuthService {
         User u = users.findByEmail(req.getEmail().trim().toLowerCase())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid credentials"));
 
-        if (!encoder.matches(req.getPassword(), u.getPasswordHash())) {
+        if (!hasher.matches(req.getPassword(), u.getPasswordHash())) {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid credentials");
         }
 
+        // Re-hash with the configured algorithm/cost while we still hold the plain password
+        if (hasher.needsUpgrade(u.getPasswordHash())) {
+            u.setPasswordHash(hasher.encode(req.getPassword()));
+            u = users.save(u);
+        }
+
+        return issueTokens(u, null);
+    }
+
+    /** Rotates a refresh token into a new access/refresh pair; no password hashing involved. */
+    @Transactional(noRollbackFor = ResponseStatusException.class)
+    public AuthResponse refresh(String refreshToken) {
+        RefreshToken consumed = refreshTokens.consume(refreshToken);
+        User u = users.findById(consumed.getUserId())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid refresh token"));
+        return issueTokens(u, consumed.getFamilyId());
+    }
+
+    /** Revokes the access token (until it expires) and the refresh session, if given. */
+    @Transactional
+    public void logout(String accessToken, String refreshToken) {
+        if (accessToken != null) {
+            jwtService.revoke(accessToken);
+        }
+        if (refreshToken != null) {
+            refreshTokens.revoke(refreshToken);
+        }
+    }
+
+    private AuthResponse issueTokens(User u, String familyId) {
         String token = jwtService.issueToken(
             u.getEmail(),
             Map.of("role", u.getRole())
         );
+        String refreshToken = refreshTokens.issue(u.getId(), familyId);
+
+        return new AuthResponse(token, refreshToken, jwtService.getExpirationMinutes() * 60,
+                u.getName(), u.getEmail(), u.getPhone(), u.getRole());
+    }
+
+    /** Map a unique-index violation on users to the matching 409. */
+    private static RuntimeException duplicateOf(DataIntegrityViolationException ex) {
+        String constraint = violatedConstraint(ex);
+        if (isIndex(constraint, User.EMAIL_INDEX)) {
+            return new ResponseStatusException(HttpStatus.CONFLICT, "Email already registered");
+        }
+        if (isIndex(constraint, User.PHONE_INDEX)) {
+            return new ResponseStatusException(HttpStatus.CONFLICT, "Phone already registered");
+        }
+        return ex;
+    }
 
-        return new AuthResponse(token, u.getName(), u.getEmail(), u.getPhone(), u.getRole());
+    /** Constraint name Hibernate extracted from the driver error, or null. */
+    private static String violatedConstraint(Throwable ex) {
+        for (Throwable t = ex; t != null; t = t.getCause()) {
+            if (t instanceof ConstraintViolationException cve) {
+                return cve.getConstraintName();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Constraint names come back schema-qualified and in the database's case, and H2 names the
+     * backing index of a unique constraint "<name>_INDEX_<n>".
+     */
+    private static boolean isIndex(String constraint, String index) {
+        if (constraint == null) {
+            return false;
+        }
+        String name = constraint.replace("\"", "").toLowerCase(Locale.ROOT);
+        name = name.substring(name.lastIndexOf('.') + 1);
+        return name.equals(index) || name.startsWith(index + "_index_");
     }
 }
@@ -0,0 +1,111 @@
+package com.example.Usermicroservice.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs password hashing/verification on a dedicated CPU-sized pool with a bounded queue,
+ * so a login spike cannot occupy every Tomcat thread. When the queue is full the request
+ * is rejected immediately with 503 instead of piling up.
+ */
+@Component
+public class PasswordHasher {
+
+    private final PasswordEncoder encoder;
+    private final ThreadPoolExecutor pool;
+    private final long maxWaitMillis;
+    private final Timer encodeTimer;
+    private final Timer matchTimer;
+    private final Counter rejected;
+
+    public PasswordHasher(
+            PasswordEncoder encoder,
+            MeterRegistry registry,
+            @Value("${auth.password.pool-size:0}") int poolSize,
+            @Value("${auth.password.queue-capacity:64}") int queueCapacity,
+            @Value("${auth.password.max-wait:PT5S}") Duration maxWait) {
+        this.encoder = encoder;
+        this.maxWaitMillis = maxWait.toMillis();
+
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        AtomicInteger seq = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "password-hasher-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("auth.password.queue.depth", pool, p -> p.getQueue().size())
+                .description("Password hash tasks waiting for a worker")
+                .register(registry);
+        Gauge.builder("auth.password.active", pool, ThreadPoolExecutor::getActiveCount)
+                .description("Password hash tasks currently running")
+                .register(registry);
+        this.encodeTimer = Timer.builder("auth.password.hash").tag("op", "encode").register(registry);
+        this.matchTimer = Timer.builder("auth.password.hash").tag("op", "matches").register(registry);
+        this.rejected = Counter.builder("auth.password.rejected")
+                .description("Hash requests rejected because the pool was saturated")
+                .register(registry);
+    }
+
+    public String encode(String rawPassword) {
+        return run(() -> encoder.encode(rawPassword), encodeTimer);
+    }
+
+    public boolean matches(String rawPassword, String passwordHash) {
+        return run(() -> encoder.matches(rawPassword, passwordHash), matchTimer);
+    }
+
+    /** True when the stored hash uses an older algorithm or a lower cost than configured. */
+    public boolean needsUpgrade(String passwordHash) {
+        return encoder.upgradeEncoding(passwordHash);
+    }
+
+    private <T> T run(Callable<T> task, Timer timer) {
+        Future<T> future;
+        try {
+            future = pool.submit(() -> timer.recordCallable(task));
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many sign-in requests, please retry");
+        }
+
+        try {
+            return future.get(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            future.cancel(true);
+            rejected.increment();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many sign-in requests, please retry");
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Request interrupted");
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.Usermicroservice.service;
+
+import com.example.Usermicroservice.model.RefreshToken;
+import com.example.Usermicroservice.repository.RefreshTokenRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Rotating refresh tokens. Each use consumes the token and issues a successor in the same
+ * family; presenting an already consumed token revokes the whole family (token theft).
+ * Only SHA-256 hashes are stored, so a refresh costs one indexed lookup and no password hash.
+ */
+@Service
+@Transactional(noRollbackFor = ResponseStatusException.class)
+public class RefreshTokenService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final RefreshTokenRepository repo;
+    private final long refreshExpirationDays;
+
+    public RefreshTokenService(
+            RefreshTokenRepository repo,
+            @Value("${auth.jwt.refresh-expiration-days:30}") long refreshExpirationDays) {
+        this.repo = repo;
+        this.refreshExpirationDays = refreshExpirationDays;
+    }
+
+    /** Issue a refresh token for the user; a null family starts a new login session. */
+    public String issue(Long userId, String familyId) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String raw = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        RefreshToken t = new RefreshToken();
+        t.setTokenHash(hash(raw));
+        t.setFamilyId(familyId != null ? familyId : UUID.randomUUID().toString());
+        t.setUserId(userId);
+        t.setExpiresAt(Instant.now().plusSeconds(refreshExpirationDays * 24 * 3600));
+        repo.save(t);
+        return raw;
+    }
+
+    /** Consume a refresh token so it can be rotated. Throws 401 if invalid, expired or reused. */
+    public RefreshToken consume(String rawToken) {
+        RefreshToken t = repo.findByTokenHash(hash(rawToken))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid refresh token"));
+
+        if (t.getExpiresAt().isBefore(Instant.now())) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Refresh token expired");
+        }
+        // Conditional update: only one of two concurrent uses can win
+        if (t.isRevoked() || repo.consume(t.getId()) == 0) {
+            repo.revokeFamily(t.getFamilyId());
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Refresh token already used");
+        }
+        return t;
+    }
+
+    /** Revoke the session the refresh token belongs to. Unknown tokens are ignored. */
+    public void revoke(String rawToken) {
+        repo.findByTokenHash(hash(rawToken))
+                .ifPresent(t -> repo.revokeFamily(t.getFamilyId()));
+    }
+
+    /**
+     * Deletes rows that can no longer matter: expired tokens, and whole families in which every
+     * token is consumed or revoked. Consumed tokens of a live family are kept until they expire,
+     * because presenting one again is how reuse is detected.
+     */
+    @Scheduled(
+            initialDelayString = "${auth.jwt.refresh-purge-interval:PT1H}",
+            fixedDelayString = "${auth.jwt.refresh-purge-interval:PT1H}")
+    public int purge() {
+        return repo.deleteExpired(Instant.now()) + repo.deleteDeadFamilies();
+    }
+
+    static String hash(String raw) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(raw.getBytes(StandardCharsets.US_ASCII));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
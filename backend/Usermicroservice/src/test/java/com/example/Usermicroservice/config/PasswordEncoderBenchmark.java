@@ -0,0 +1,62 @@
+package com.example.Usermicroservice.config;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verify latency (with p99 from SampleTime) for each candidate auth.password.* setting
+ * on the current hardware, to pick a cost that holds the login latency target.
+ *
+ * Run with:
+ *   mvn test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=com.example.Usermicroservice.config.PasswordEncoderBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class PasswordEncoderBenchmark {
+
+    /** algorithm:cost, where cost is BCrypt strength, PBKDF2 iterations or Argon2 memory (KiB). */
+    @Param({
+            "bcrypt:10", "bcrypt:11", "bcrypt:12",
+            "pbkdf2:310000", "pbkdf2:600000",
+            "argon2:19456", "argon2:65536"
+    })
+    public String setting;
+
+    private PasswordEncoder encoder;
+    private String hash;
+
+    @Setup
+    public void setup() {
+        String[] parts = setting.split(":");
+        String algorithm = parts[0];
+        int cost = Integer.parseInt(parts[1]);
+        encoder = PasswordEncoders.delegating(
+                algorithm,
+                PasswordEncoders.BCRYPT.equals(algorithm) ? cost : 10,
+                PasswordEncoders.PBKDF2.equals(algorithm) ? cost : 310000,
+                PasswordEncoders.ARGON2.equals(algorithm) ? cost : 19456,
+                2);
+        hash = encoder.encode("correct horse battery staple");
+    }
+
+    @Benchmark
+    public boolean verify() {
+        return encoder.matches("correct horse battery staple", hash);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PasswordEncoderBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
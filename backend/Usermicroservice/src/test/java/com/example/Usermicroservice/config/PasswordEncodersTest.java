@@ -0,0 +1,47 @@
+package com.example.Usermicroservice.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PasswordEncodersTest {
+
+    @Test
+    void raisingPbkdf2IterationsUpgradesOlderHashes() {
+        PasswordEncoder before = pbkdf2(1000);
+        PasswordEncoder after = pbkdf2(2000);
+        String hash = before.encode("secret");
+
+        assertTrue(hash.startsWith("{pbkdf2}i=1000$"), hash);
+        assertFalse(before.upgradeEncoding(hash));
+        assertTrue(after.matches("secret", hash));
+        assertFalse(after.matches("wrong", hash));
+        assertTrue(after.upgradeEncoding(hash));
+        assertFalse(after.upgradeEncoding(after.encode("secret")));
+    }
+
+    @Test
+    void untaggedPbkdf2HashesVerifyWithTheLegacyIterationCount() {
+        String legacy = "{pbkdf2}" + new Pbkdf2PasswordEncoder("", 16, PasswordEncoders.LEGACY_PBKDF2_ITERATIONS,
+                Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256).encode("secret");
+
+        assertTrue(pbkdf2(PasswordEncoders.LEGACY_PBKDF2_ITERATIONS).matches("secret", legacy));
+        assertFalse(pbkdf2(PasswordEncoders.LEGACY_PBKDF2_ITERATIONS).upgradeEncoding(legacy));
+        assertTrue(pbkdf2(PasswordEncoders.LEGACY_PBKDF2_ITERATIONS + 1).upgradeEncoding(legacy));
+    }
+
+    @Test
+    void switchingAlgorithmUpgradesOnLogin() {
+        String bcrypt = PasswordEncoders.delegating(PasswordEncoders.BCRYPT, 4, 1000, 19456, 2).encode("secret");
+
+        assertTrue(pbkdf2(1000).matches("secret", bcrypt));
+        assertTrue(pbkdf2(1000).upgradeEncoding(bcrypt));
+    }
+
+    private static PasswordEncoder pbkdf2(int iterations) {
+        return PasswordEncoders.delegating(PasswordEncoders.PBKDF2, 4, iterations, 19456, 2);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.Usermicroservice.jwt;
+
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JwtAuthenticationCacheTest {
+
+    private static final String SECRET =
+            "i-am-a-long-secret-key-of-this-new-module-microservices-hope-to-complete-it-successfully";
+
+    @TempDir
+    static Path keyDir;
+
+    private final TokenRevocationList revocations = new TokenRevocationList();
+    private JwtService jwtService;
+    private JwtAuthenticationCache cache;
+
+    @BeforeEach
+    void setUp() {
+        SigningKeyRing keyRing = new SigningKeyRing(60, Duration.ofHours(24), Duration.ofSeconds(30), keyDir);
+        jwtService = new JwtService(SECRET, 60, keyRing, revocations);
+        cache = new JwtAuthenticationCache(jwtService, revocations, 100);
+    }
+
+    @Test
+    void everyRequestGetsItsOwnAuthentication() {
+        String token = jwtService.issueToken("a@example.com", Map.of("roles", List.of("ADMIN")));
+
+        Authentication first = cache.authenticate(token);
+        ((UsernamePasswordAuthenticationToken) first).setDetails("request-1");
+        Authentication second = cache.authenticate(token);
+
+        assertNotSame(first, second);
+        assertNull(second.getDetails());
+        assertEquals("a@example.com", second.getName());
+        assertEquals("ADMIN", second.getAuthorities().iterator().next().getAuthority());
+    }
+
+    @Test
+    void revokedTokenIsRejectedEvenWhenCached() {
+        String token = jwtService.issueToken("b@example.com", Map.of());
+        cache.authenticate(token);
+
+        jwtService.revoke(token);
+
+        assertThrows(JwtException.class, () -> cache.authenticate(token));
+    }
+}
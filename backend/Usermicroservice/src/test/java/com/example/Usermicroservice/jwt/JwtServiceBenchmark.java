@@ -0,0 +1,63 @@
+package com.example.Usermicroservice.jwt;
+
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.core.Authentication;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of token authentication: full parse vs cached lookup.
+ *
+ * Run with:
+ *   mvn test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=com.example.Usermicroservice.jwt.JwtServiceBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private static final String SECRET =
+            "i-am-a-long-secret-key-of-this-new-module-microservices-hope-to-complete-it-successfully";
+
+    private JwtService jwtService;
+    private JwtAuthenticationCache authCache;
+    private String token;
+
+    @Setup
+    public void setup() throws IOException {
+        TokenRevocationList revocations = new TokenRevocationList();
+        jwtService = new JwtService(SECRET, 60, new SigningKeyRing(60, Duration.ofHours(24), Duration.ofSeconds(30),
+                Files.createTempDirectory("jwt-keys")), revocations);
+        authCache = new JwtAuthenticationCache(jwtService, revocations, 10_000);
+        token = jwtService.issueToken("bench@example.com", Map.of("role", "OWNER"));
+        authCache.authenticate(token); // prime the cache
+    }
+
+    @Benchmark
+    public Claims coldParse() {
+        return jwtService.parseClaims(token);
+    }
+
+    @Benchmark
+    public Authentication cachedLookup() {
+        return authCache.authenticate(token);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtServiceBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.Usermicroservice.jwt;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class SigningKeyRingTest {
+
+    private static final String SECRET =
+            "i-am-a-long-secret-key-of-this-new-module-microservices-hope-to-complete-it-successfully";
+
+    @TempDir
+    Path keyDir;
+
+    @Test
+    void instancesSharingTheDirectorySignWithTheSameKey() throws IOException {
+        SigningKeyRing first = ring(Duration.ofMinutes(15));
+        SigningKeyRing second = ring(Duration.ofMinutes(15));
+
+        assertEquals(1, keyFiles());
+        assertEquals(kid(first), kid(second));
+    }
+
+    @Test
+    void tokensSignedByAPeerAfterItRotatesVerifyEverywhere() throws IOException {
+        SigningKeyRing first = ring(Duration.ofMinutes(15));
+        SigningKeyRing second = ring(Duration.ofMinutes(15));
+        JwtService verifier = service(first);
+
+        second.rotate();
+        String token = service(second).issueToken("peer@example.com", Map.of());
+
+        assertNotEquals(kid(first), kid(second));
+        Claims claims = verifier.parseClaims(token);
+        assertEquals("peer@example.com", claims.getSubject());
+    }
+
+    @Test
+    void tokensSurviveARestart() {
+        String token = service(ring(Duration.ofMinutes(15))).issueToken("a@example.com", Map.of());
+
+        SigningKeyRing restarted = ring(Duration.ofMinutes(15));
+
+        assertEquals("a@example.com", service(restarted).parseClaims(token).getSubject());
+    }
+
+    @Test
+    void retiredKeysArePublishedUntilTheirTokensExpireThenDeleted() throws Exception {
+        SigningKeyRing longLived = ring(Duration.ofMinutes(15));
+        longLived.rotate();
+        assertEquals(2, ((List<?>) longLived.jwks().get("keys")).size());
+
+        // Zero token lifetime and reload interval: a retired key is dead as soon as it is replaced
+        SigningKeyRing shortLived = new SigningKeyRing(0, Duration.ofHours(24), Duration.ZERO, keyDir);
+        Thread.sleep(5);
+        shortLived.refresh();
+
+        assertEquals(1, keyFiles());
+        assertEquals(1, ((List<?>) shortLived.jwks().get("keys")).size());
+        assertNotNull(shortLived.publicKey(kid(shortLived)));
+    }
+
+    private SigningKeyRing ring(Duration tokenLifetime) {
+        return new SigningKeyRing(tokenLifetime.toMinutes(), Duration.ofHours(24), Duration.ofSeconds(30), keyDir);
+    }
+
+    private static JwtService service(SigningKeyRing ring) {
+        return new JwtService(SECRET, 15, ring, new TokenRevocationList());
+    }
+
+    private static String kid(SigningKeyRing ring) throws IOException {
+        String token = ring.sign(Jwts.builder().setSubject("x")).compact();
+        byte[] header = Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.')));
+        return new ObjectMapper().readTree(header).path("kid").asText();
+    }
+
+    private long keyFiles() throws IOException {
+        try (Stream<Path> files = Files.list(keyDir)) {
+            return files.filter(f -> f.toString().endsWith(".key")).count();
+        }
+    }
+}
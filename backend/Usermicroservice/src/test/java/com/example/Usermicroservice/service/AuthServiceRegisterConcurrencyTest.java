@@ -0,0 +1,74 @@
+package com.example.Usermicroservice.service;
+
+import com.example.Usermicroservice.dto.RegisterRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = "eureka.client.enabled=false")
+class AuthServiceRegisterConcurrencyTest {
+
+    @Autowired
+    private AuthService authService;
+
+    @Test
+    void parallelDuplicateRegistrationsLetExactlyOneSucceed() throws Exception {
+        int threads = 16;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                try {
+                    authService.register(request("race@example.com", "9876500001"));
+                    created.incrementAndGet();
+                } catch (ResponseStatusException ex) {
+                    if (ex.getStatusCode() == HttpStatus.CONFLICT) conflicts.incrementAndGet();
+                    else throw ex;
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> f : futures) {
+            f.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        assertEquals(1, created.get());
+        assertEquals(threads - 1, conflicts.get());
+    }
+
+    @Test
+    void duplicatePhoneIsReportedAsPhoneConflict() {
+        authService.register(request("first@example.com", "9876500002"));
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> authService.register(request("second@example.com", "9876500002")));
+        assertEquals(HttpStatus.CONFLICT, ex.getStatusCode());
+        assertEquals("Phone already registered", ex.getReason());
+    }
+
+    private static RegisterRequest request(String email, String phone) {
+        RegisterRequest req = new RegisterRequest();
+        req.setName("Race Tester");
+        req.setEmail(email);
+        req.setPhone(phone);
+        req.setPassword("secret123");
+        return req;
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.Usermicroservice.service;
+
+import com.example.Usermicroservice.dto.AuthResponse;
+import com.example.Usermicroservice.dto.RegisterRequest;
+import com.example.Usermicroservice.jwt.JwtService;
+import com.example.Usermicroservice.model.RefreshToken;
+import com.example.Usermicroservice.repository.RefreshTokenRepository;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "eureka.client.enabled=false")
+@AutoConfigureMockMvc
+class RefreshTokenServiceTest {
+
+    private static final AtomicInteger USERS = new AtomicInteger();
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private RefreshTokenService refreshTokens;
+
+    @Autowired
+    private RefreshTokenRepository repo;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Test
+    void refreshRotatesTheTokenWithinTheSameFamily() {
+        AuthResponse login = register();
+
+        AuthResponse rotated = authService.refresh(login.getRefreshToken());
+
+        assertNotEquals(login.getRefreshToken(), rotated.getRefreshToken());
+        assertEquals(familyOf(login), familyOf(rotated));
+        assertEquals(login.getEmail(), jwtService.parseClaims(rotated.getToken()).getSubject());
+        assertEquals(HttpStatus.UNAUTHORIZED, refreshFails(login.getRefreshToken()).getStatusCode());
+    }
+
+    @Test
+    void reusingAConsumedTokenRevokesTheWholeFamily() {
+        AuthResponse login = register();
+        AuthResponse rotated = authService.refresh(login.getRefreshToken());
+
+        // An attacker replays the stolen original after the user has already rotated it
+        assertEquals("Refresh token already used", refreshFails(login.getRefreshToken()).getReason());
+
+        assertEquals(HttpStatus.UNAUTHORIZED, refreshFails(rotated.getRefreshToken()).getStatusCode());
+        assertTrue(repo.findByTokenHash(hashOf(rotated)).orElseThrow().isRevoked());
+    }
+
+    @Test
+    void logoutRevokesTheAccessTokenAndTheRefreshSession() throws Exception {
+        AuthResponse login = register();
+
+        mvc.perform(post("/api/auth/logout")
+                        .header("Authorization", "Bearer " + login.getToken())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"refreshToken\":\"" + login.getRefreshToken() + "\"}"))
+                .andExpect(status().isNoContent());
+
+        assertThrows(JwtException.class, () -> jwtService.parseClaims(login.getToken()));
+        assertEquals(HttpStatus.UNAUTHORIZED, refreshFails(login.getRefreshToken()).getStatusCode());
+    }
+
+    @Test
+    void purgeDropsExpiredAndDeadFamiliesButKeepsReuseEvidence() {
+        AuthResponse live = authService.refresh(register().getRefreshToken());
+        AuthResponse loggedOut = register();
+        authService.logout(null, loggedOut.getRefreshToken());
+        AuthResponse expired = register();
+        RefreshToken e = repo.findByTokenHash(hashOf(expired)).orElseThrow();
+        e.setExpiresAt(Instant.now().minusSeconds(1));
+        repo.save(e);
+
+        refreshTokens.purge();
+
+        String liveFamily = familyOf(live);
+        assertEquals(2, repo.findAll().stream().filter(t -> t.getFamilyId().equals(liveFamily)).count());
+        assertTrue(repo.findByTokenHash(hashOf(loggedOut)).isEmpty());
+        assertTrue(repo.findByTokenHash(hashOf(expired)).isEmpty());
+    }
+
+    private AuthResponse register() {
+        int n = USERS.incrementAndGet();
+        RegisterRequest req = new RegisterRequest();
+        req.setName("Refresh Tester");
+        req.setEmail("refresh" + n + "@example.com");
+        req.setPhone(String.format("97000%05d", n));
+        req.setPassword("secret123");
+        return authService.register(req);
+    }
+
+    private ResponseStatusException refreshFails(String refreshToken) {
+        return assertThrows(ResponseStatusException.class, () -> authService.refresh(refreshToken));
+    }
+
+    private String familyOf(AuthResponse auth) {
+        return repo.findByTokenHash(hashOf(auth)).orElseThrow().getFamilyId();
+    }
+
+    private static String hashOf(AuthResponse auth) {
+        return RefreshTokenService.hash(auth.getRefreshToken());
+    }
+}
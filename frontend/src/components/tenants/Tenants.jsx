@@ -4,12 +4,15 @@ import { useEffect, useMemo, useState } from "react";
 import { useDispatch, useSelector } from "react-redux";
 import {
   fetchTenants,
+  fetchMoreTenants,
   createTenant,
   updateTenant,
   deleteTenant,
   exportTenantsCsv,
   selectTenants,
   selectTenantsLoading,
+  selectTenantsLoadingMore,
+  selectTenantsHasMore,
   selectTenantsSaving,
   selectTenantsExporting,
   selectTenantsError,
@@ -20,6 +23,8 @@ export default function Tenants() {
   const dispatch = useDispatch();
   const tenants = useSelector(selectTenants);
   const loading = useSelector(selectTenantsLoading);
+  const loadingMore = useSelector(selectTenantsLoadingMore);
+  const hasMore = useSelector(selectTenantsHasMore);
   const saving = useSelector(selectTenantsSaving);
   const exporting = useSelector(selectTenantsExporting);
   const error = useSelector(selectTenantsError);
@@ -290,6 +295,13 @@ export default function Tenants() {
           </tbody>
         </table>
       )}
+      {!loading && hasMore ? (
+        <div className="actions" style={{ padding: 8 }}>
+          <button className="btn outline" onClick={() => dispatch(fetchMoreTenants())} disabled={loadingMore}>
+            {loadingMore ? "Loading..." : "Load more"}
+          </button>
+        </div>
+      ) : null}
     </div>
   );
 }
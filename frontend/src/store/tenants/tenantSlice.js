@@ -6,6 +6,10 @@ import axios from "axios";
 // ---- Gateway base URL ----
 const API_BASE = "http://localhost:8086/tenantsmicroservice/tenants";
 
+// Unfiltered list: rows per "Load more" page, and only the columns the table renders
+const LIST_PAGE_LIMIT = 50;
+const LIST_FIELDS = "tenantId,name,phone,room,checkIn,due";
+
 // ---- Axios instance with token interceptor ----
 const axiosInstance = axios.create({
   baseURL: API_BASE,
@@ -51,20 +55,50 @@ function normalizeTenant(item) {
 
 // -------- Thunks --------
 
-// Fetch tenants (optional search query `q`)
+// GET one page of the unfiltered list; the next page's cursor comes back in X-Next-Cursor
+async function fetchListPage(cursor) {
+  const params = { limit: LIST_PAGE_LIMIT, fields: LIST_FIELDS };
+  if (cursor) params.cursor = cursor;
+  const res = await axiosInstance.get("", { params });
+  const data = Array.isArray(res.data) ? res.data : [];
+  return { items: data.map(normalizeTenant), nextCursor: res.headers["x-next-cursor"] || null };
+}
+
+// Fetch tenants (optional search query `q`); without q only the first page is loaded
 export const fetchTenants = createAsyncThunk(
   "tenants/fetchAll",
   async ({ q } = {}, { rejectWithValue }) => {
     try {
-      const res = await axiosInstance.get("", { params: q ? { q } : {} });
-      const data = Array.isArray(res.data) ? res.data : [];
-      return data.map(normalizeTenant);
+      if (q) {
+        const res = await axiosInstance.get("", { params: { q } });
+        const data = Array.isArray(res.data) ? res.data : [];
+        return { items: data.map(normalizeTenant), nextCursor: null };
+      }
+      return await fetchListPage(null);
     } catch (err) {
       return rejectWithValue(err.response?.data?.message || "Failed to load tenants");
     }
   }
 );
 
+// Append the next page of the unfiltered list ("Load more")
+export const fetchMoreTenants = createAsyncThunk(
+  "tenants/fetchMore",
+  async (_, { getState, rejectWithValue }) => {
+    try {
+      return await fetchListPage(getState().tenants.nextCursor);
+    } catch (err) {
+      return rejectWithValue(err.response?.data?.message || "Failed to load more tenants");
+    }
+  },
+  {
+    condition: (_, { getState }) => {
+      const { nextCursor, loading, loadingMore } = getState().tenants;
+      return Boolean(nextCursor) && !loading && !loadingMore;
+    },
+  }
+);
+
 // Fetch single tenant by id
 export const fetchTenantById = createAsyncThunk(
   "tenants/fetchById",
@@ -157,6 +191,8 @@ const tenantsSlice = createSlice({
     items: [],
     current: null,
     loading: false,     // list loading
+    loadingMore: false, // next list page
+    nextCursor: null,   // X-Next-Cursor of the last list page; null when there are no more
     saving: false,      // create/update/delete
     exporting: false,   // CSV export
     error: null,
@@ -176,11 +212,14 @@ const tenantsSlice = createSlice({
       .addCase(fetchTenants.pending, (state, action) => {
         state.loading = true;
         state.error = null;
+        state.nextCursor = null;
         state.lastQuery = action.meta.arg?.q ?? "";
       })
       .addCase(fetchTenants.fulfilled, (state, action) => {
         state.loading = false;
-        state.items = action.payload?.length ? action.payload : FALLBACK_TENANTS;
+        const { items, nextCursor } = action.payload;
+        state.items = items.length ? items : FALLBACK_TENANTS;
+        state.nextCursor = nextCursor;
       })
       .addCase(fetchTenants.rejected, (state, action) => {
         state.loading = false;
@@ -188,6 +227,22 @@ const tenantsSlice = createSlice({
         if (!state.items?.length) state.items = FALLBACK_TENANTS;
       })
 
+      // Load more
+      .addCase(fetchMoreTenants.pending, (state) => {
+        state.loadingMore = true;
+        state.error = null;
+      })
+      .addCase(fetchMoreTenants.fulfilled, (state, action) => {
+        state.loadingMore = false;
+        const seen = new Set(state.items.map((t) => t.id));
+        state.items.push(...action.payload.items.filter((t) => !seen.has(t.id)));
+        state.nextCursor = action.payload.nextCursor;
+      })
+      .addCase(fetchMoreTenants.rejected, (state, action) => {
+        state.loadingMore = false;
+        state.error = action.payload || "Failed to load more tenants";
+      })
+
       // Fetch one
       .addCase(fetchTenantById.pending, (state) => {
         state.loading = true;
@@ -273,6 +328,8 @@ export const { clearTenantsError, setCurrentTenant } = tenantsSlice.actions;
 // Selectors
 export const selectTenants = (state) => state.tenants.items;
 export const selectTenantsLoading = (state) => state.tenants.loading;
+export const selectTenantsLoadingMore = (state) => state.tenants.loadingMore;
+export const selectTenantsHasMore = (state) => Boolean(state.tenants.nextCursor);
 export const selectTenantsSaving = (state) => state.tenants.saving;
 export const selectTenantsExporting = (state) => state.tenants.exporting;
 export const selectTenantsError = (state) => state.tenants.error;